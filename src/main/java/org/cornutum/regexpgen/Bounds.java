@@ -80,16 +80,7 @@ public class Bounds implements Comparable<Bounds>
    */
   public boolean intersects( int rangeMin, int rangeMax)
     {
-    boolean intersects;
-    try
-      {
-      intersects = clippedTo( "", rangeMin, rangeMax) != null;
-      }
-    catch( IllegalArgumentException e)
-      {
-      intersects = false;
-      }
-    return intersects;
+    return getMinValue() <= rangeMax && getMaxValue() >= rangeMin;
     }
 
   /**
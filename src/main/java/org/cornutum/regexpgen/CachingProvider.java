@@ -0,0 +1,232 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen;
+
+import org.cornutum.regexpgen.util.ToString;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link Provider} that caches the {@link RegExpGen} instances returned by another {@link Provider}.
+ * <P/>
+ * Generators are cached by regular expression, by {@link MatchOptions} values, and by whether matching or
+ * not matching strings are generated. When the cache is full, the least-recently used generator is evicted.
+ * A CachingProvider can be shared by multiple threads. Cached generators are shared by all callers, so they
+ * must not be modified.
+ * <P/>
+ * For example, to reuse the generators built for each request:
+ * <PRE>
+ * private static final Provider CACHED = CachingProvider.caching( Provider.forEcmaScript(), 1024);
+ * ...
+ * RegExpGen generator = generateRegExp( CACHED).matching( regexp);
+ * </PRE>
+ */
+public class CachingProvider implements Provider
+  {
+  /**
+   * Returns a new CachingProvider that caches at most the given number of generators returned by the given provider.
+   */
+  public static CachingProvider caching( Provider provider, int maxSize)
+    {
+    return new CachingProvider( provider, maxSize);
+    }
+
+  /**
+   * Creates a new CachingProvider instance.
+   */
+  public CachingProvider( Provider provider, int maxSize)
+    {
+    if( maxSize <= 0)
+      {
+      throw new IllegalArgumentException( "Cache size must be > 0");
+      }
+    provider_ = Objects.requireNonNull( provider, "Provider must be defined");
+    maxSize_ = maxSize;
+    generators_ = new Cache();
+    }
+
+  /**
+   * Returns a {@link RegExpGen} that generates strings containing characters that match the given
+   * regular expression, using the given options.
+   */
+  public RegExpGen matching( String regexp, MatchOptions options)
+    {
+    return getGenerator( true, regexp, options).get();
+    }
+
+  /**
+   * Returns a {@link RegExpGen} that generates strings that do NOT match the given regular
+   * expression, using the given options.
+   * <P/>
+   * For some regular expressions, no result is possible. For example, there is no string that
+   * does not match ".*". For such expressions, this method returns {@link Optional#empty}.
+   */
+  public Optional<RegExpGen> notMatching( String regexp, MatchOptions options) throws UnsupportedOperationException
+    {
+    return getGenerator( false, regexp, options);
+    }
+
+  /**
+   * Returns the generator for the given request, reusing a cached generator if possible.
+   */
+  private Optional<RegExpGen> getGenerator( boolean matching, String regexp, MatchOptions callerOptions)
+    {
+    // Use a private copy of the caller's options, which may be changed later.
+    MatchOptions options = MatchOptionsBuilder.options( callerOptions).build();
+    List<Object> key =
+      Arrays.asList(
+        matching,
+        regexp,
+        options.isExactMatch(),
+        options.getAnyPrintableChars(),
+        options.getSpaceChars(),
+        options.getLengthDistribution(),
+        options.isOptimized());
+
+    Optional<RegExpGen> generator;
+    synchronized( generators_)
+      {
+      generator = generators_.get( key);
+      }
+
+    if( generator != null)
+      {
+      hits_.increment();
+      }
+    else
+      {
+      // Build a new generator outside the lock, so that other callers are not blocked...
+      misses_.increment();
+      Optional<RegExpGen> created =
+        matching
+        ? Optional.of( provider_.matching( regexp, options))
+        : provider_.notMatching( regexp, options);
+
+      // ... but if another caller got there first, use the generator already cached.
+      synchronized( generators_)
+        {
+        generator = generators_.putIfAbsent( key, created);
+        }
+      if( generator == null)
+        {
+        generator = created;
+        }
+      }
+
+    return generator;
+    }
+
+  /**
+   * Returns the provider for generators added to this cache.
+   */
+  public Provider getProvider()
+    {
+    return provider_;
+    }
+
+  /**
+   * Returns the maximum number of generators cached.
+   */
+  public int getMaxSize()
+    {
+    return maxSize_;
+    }
+
+  /**
+   * Returns the number of generators currently cached.
+   */
+  public int size()
+    {
+    synchronized( generators_)
+      {
+      return generators_.size();
+      }
+    }
+
+  /**
+   * Returns the number of requests that returned a cached generator.
+   */
+  public long getHits()
+    {
+    return hits_.sum();
+    }
+
+  /**
+   * Returns the number of requests that created a new generator.
+   */
+  public long getMisses()
+    {
+    return misses_.sum();
+    }
+
+  /**
+   * Returns the number of generators evicted from this cache.
+   */
+  public long getEvictions()
+    {
+    return evictions_.sum();
+    }
+
+  /**
+   * Removes all cached generators.
+   */
+  public void clear()
+    {
+    synchronized( generators_)
+      {
+      generators_.clear();
+      }
+    }
+
+  public String toString()
+    {
+    return
+      ToString.getBuilder( this)
+      .append( "size", size())
+      .append( "hits", getHits())
+      .append( "misses", getMisses())
+      .append( "evictions", getEvictions())
+      .toString();
+    }
+
+  private final Provider provider_;
+  private final int maxSize_;
+  private final Cache generators_;
+  private final LongAdder hits_ = new LongAdder();
+  private final LongAdder misses_ = new LongAdder();
+  private final LongAdder evictions_ = new LongAdder();
+
+  /**
+   * Maps a request to its cached generator, in order of least-recent access.
+   */
+  private class Cache extends LinkedHashMap<List<Object>,Optional<RegExpGen>>
+    {
+    Cache()
+      {
+      super( 16, 0.75f, true);
+      }
+
+    protected boolean removeEldestEntry( Map.Entry<List<Object>,Optional<RegExpGen>> eldest)
+      {
+      boolean evicted = size() > maxSize_;
+      if( evicted)
+        {
+        evictions_.increment();
+        }
+      return evicted;
+      }
+
+    private static final long serialVersionUID = 1L;
+    }
+  }
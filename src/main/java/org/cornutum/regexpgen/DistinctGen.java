@@ -0,0 +1,208 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen;
+
+import org.cornutum.regexpgen.util.BloomFilter;
+import org.cornutum.regexpgen.util.ToString;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Generates distinct strings that match a regular expression.
+ * <P/>
+ * Strings already generated are remembered using a {@link BloomFilter}, which needs only a few bits per string.
+ * Every string returned is different from all previous ones. But a false positive from the filter can cause a
+ * new string to be rejected, so some matching strings may never be returned.
+ * <P/>
+ * When a new string can't be found within the {@link #withRetries retry limit}, the language of matching strings
+ * is assumed to be exhausted and an {@link IllegalStateException} is thrown. The {@link #getDuplicateRate
+ * duplicate rate} shows how close the language is to being exhausted: if strings are drawn uniformly from
+ * a language of size <I>N</I>, the rate is approximately <I>count / N</I>.
+ */
+public class DistinctGen
+  {
+  /**
+   * Creates a new DistinctGen instance.
+   */
+  public DistinctGen( RegExpGen generator, RandomGen random)
+    {
+    generator_ = Objects.requireNonNull( generator, "Generator must be defined");
+    random_ = Objects.requireNonNull( random, "Random generator must be defined");
+    }
+
+  /**
+   * Changes the length bounds for generated strings. If null, generated strings are unbounded.
+   */
+  public DistinctGen withLength( Bounds length)
+    {
+    length_ = length == null? new Bounds() : length;
+    return this;
+    }
+
+  /**
+   * Changes the expected number of distinct strings generated. Can't be changed after generation has started.
+   */
+  public DistinctGen withExpected( long expected)
+    {
+    if( expected <= 0)
+      {
+      throw new IllegalArgumentException( "Expected count must be > 0");
+      }
+    checkNotStarted();
+    expected_ = expected;
+    return this;
+    }
+
+  /**
+   * Changes the maximum rate at which new strings are falsely rejected as duplicates, while no more than the
+   * {@link #withExpected expected number} of strings are generated. Can't be changed after generation has started.
+   */
+  public DistinctGen withFalsePositiveRate( double falsePositiveRate)
+    {
+    if( !(falsePositiveRate > 0 && falsePositiveRate < 1))
+      {
+      throw new IllegalArgumentException( "False positive rate must be > 0 and < 1");
+      }
+    checkNotStarted();
+    falsePositiveRate_ = falsePositiveRate;
+    return this;
+    }
+
+  /**
+   * Changes the maximum number of consecutive duplicates generated before the language of matching strings
+   * is assumed to be exhausted.
+   */
+  public DistinctGen withRetries( int retries)
+    {
+    if( retries < 0)
+      {
+      throw new IllegalArgumentException( "Retries must be non-negative");
+      }
+    retries_ = retries;
+    return this;
+    }
+
+  /**
+   * Returns a new random string that is different from all strings previously generated.
+   */
+  public String next()
+    {
+    BloomFilter seen = getSeen();
+    String generated = null;
+    for( int tries = 0; generated == null; tries++)
+      {
+      if( tries > retries_)
+        {
+        throw
+          new IllegalStateException(
+            String.format(
+              "No new match for %s found after %s tries -- %s distinct strings generated, duplicate rate=%.3f",
+              generator_.getSource(),
+              tries,
+              getCount(),
+              getDuplicateRate()));
+        }
+
+      String candidate = generator_.generate( random_, length_);
+      boolean added = seen.add( candidate);
+      duplicateRate_ += ((added? 0.0 : 1.0) - duplicateRate_) * RATE_WEIGHT;
+      if( added)
+        {
+        generated = candidate;
+        }
+      else
+        {
+        duplicates_++;
+        }
+      }
+
+    return generated;
+    }
+
+  /**
+   * Returns an infinite stream of distinct strings.
+   */
+  public Stream<String> stream()
+    {
+    return Stream.generate( this::next);
+    }
+
+  /**
+   * Returns the number of distinct strings generated.
+   */
+  public long getCount()
+    {
+    return seen_ == null? 0 : seen_.getCount();
+    }
+
+  /**
+   * Returns the number of duplicate strings rejected.
+   */
+  public long getDuplicates()
+    {
+    return duplicates_;
+    }
+
+  /**
+   * Returns the recent fraction of generated strings rejected as duplicates. A rate approaching 1.0 means that
+   * the language of matching strings is nearly exhausted.
+   */
+  public double getDuplicateRate()
+    {
+    return duplicateRate_;
+    }
+
+  /**
+   * Returns the filter used to remember generated strings.
+   */
+  private BloomFilter getSeen()
+    {
+    if( seen_ == null)
+      {
+      seen_ = new BloomFilter( expected_, falsePositiveRate_);
+      }
+    return seen_;
+    }
+
+  /**
+   * Reports a failure if generation has already started.
+   */
+  private void checkNotStarted()
+    {
+    if( seen_ != null)
+      {
+      throw new IllegalStateException( "Filter can't be changed after generation has started");
+      }
+    }
+
+  public String toString()
+    {
+    return
+      ToString.getBuilder( this)
+      .append( generator_.getSource())
+      .append( "count", getCount())
+      .append( "duplicates", getDuplicates())
+      .toString();
+    }
+
+  private final RegExpGen generator_;
+  private final RandomGen random_;
+  private Bounds length_ = new Bounds();
+  private long expected_ = 1000000;
+  private double falsePositiveRate_ = 0.001;
+  private int retries_ = 100;
+  private BloomFilter seen_;
+  private long duplicates_;
+  private double duplicateRate_;
+
+  /**
+   * The weight of the latest result in the moving average duplicate rate.
+   */
+  private static final double RATE_WEIGHT = 1.0 / 64;
+  }
@@ -0,0 +1,25 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen;
+
+/**
+ * Generates random lengths for unbounded quantifiers, such as "*", "+", or "{n,}".
+ * <P/>
+ * When a quantifier has no upper bound, the number generated is added to its lower bound. For example,
+ * given "a{2,}", a value of 3 results in 5 occurrences of "a". Implementations should precompute any
+ * tables needed so that each value is generated in constant time.
+ *
+ * @see org.cornutum.regexpgen.random.LengthDistributions
+ */
+public interface LengthDistribution
+  {
+  /**
+   * Returns the next random number of additional occurrences.
+   */
+  public int next( RandomGen random);
+  }
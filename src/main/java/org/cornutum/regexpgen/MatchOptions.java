@@ -34,6 +34,24 @@ public interface MatchOptions
    */
   public boolean isExactMatch();
 
+  /**
+   * Returns the distribution of lengths generated for unbounded quantifiers. If null, lengths are
+   * generated by the {@link RandomGen}.
+   */
+  default LengthDistribution getLengthDistribution()
+    {
+    return null;
+    }
+
+  /**
+   * Returns if generators are optimized after parsing. An optimized generator matches the same strings using
+   * fewer subexpressions.
+   */
+  default boolean isOptimized()
+    {
+    return true;
+    }
+
   /**
    * @deprecated Provides {@link GenOptions} for backward-compatibility only
    */
@@ -55,6 +55,8 @@ public class MatchOptionsBuilder
       options_.setAnyPrintableChars( other.getAnyPrintableChars());
       options_.setSpaceChars( other.getSpaceChars());
       options_.setExactMatch( other.isExactMatch());
+      options_.setLengthDistribution( other.getLengthDistribution());
+      options_.setOptimized( other.isOptimized());
       }
     }      
 
@@ -111,6 +113,25 @@ public class MatchOptionsBuilder
     return exactly( true);
     }
 
+  /**
+   * Changes the distribution of lengths generated for unbounded quantifiers. If null, lengths are
+   * generated by the {@link RandomGen}.
+   */
+  public MatchOptionsBuilder withLengths( LengthDistribution lengths)
+    {
+    options_.setLengthDistribution( lengths);
+    return this;
+    }
+
+  /**
+   * Changes if generators are optimized after parsing.
+   */
+  public MatchOptionsBuilder optimized( boolean optimized)
+    {
+    options_.setOptimized( optimized);
+    return this;
+    }
+
   /**
    * Returns the {@link MatchOptions} for this builder.
    */
@@ -234,6 +255,38 @@ public class MatchOptionsBuilder
       return exactMatch_;
       }
 
+    /**
+     * Changes the distribution of lengths generated for unbounded quantifiers.
+     */
+    void setLengthDistribution( LengthDistribution lengths)
+      {
+      lengths_ = lengths;
+      }
+
+    /**
+     * Returns the distribution of lengths generated for unbounded quantifiers.
+     */
+    public LengthDistribution getLengthDistribution()
+      {
+      return lengths_;
+      }
+
+    /**
+     * Changes if generators are optimized after parsing.
+     */
+    void setOptimized( boolean optimized)
+      {
+      optimized_ = optimized;
+      }
+
+    /**
+     * Returns if generators are optimized after parsing.
+     */
+    public boolean isOptimized()
+      {
+      return optimized_;
+      }
+
     /**
      * @deprecated Provides {@link GenOptions} for backward-compatibility only
      */
@@ -253,6 +306,8 @@ public class MatchOptionsBuilder
     private Set<Character> anyPrintable_;
     private Set<Character> spaceChars_;
     private boolean exactMatch_;
+    private LengthDistribution lengths_;
+    private boolean optimized_ = true;
     private GenOptions genOptions_ = new GenOptions( this);
     }
   }
@@ -0,0 +1,244 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen;
+
+import org.cornutum.regexpgen.util.ToString;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Publishes strings generated by a {@link RegExpGen}.
+ * <P/>
+ * Strings are generated only on demand, as {@link Flow.Subscription#request requested} by each subscriber,
+ * and are delivered asynchronously using the specified {@link #withExecutor executor}. Each subscription
+ * generates at most {@link #withBatchSize batchSize} strings ahead of delivery, so a slow subscriber never
+ * causes unbounded buffering.
+ */
+public class MatchPublisher implements Flow.Publisher<String>
+  {
+  /**
+   * Creates a new MatchPublisher instance. All subscriptions share the given {@link RandomGen}.
+   */
+  public MatchPublisher( RegExpGen generator, RandomGen random)
+    {
+    this( generator, () -> random);
+    }
+
+  /**
+   * Creates a new MatchPublisher instance. Each subscription uses a new {@link RandomGen}
+   * returned by the given supplier.
+   */
+  public MatchPublisher( RegExpGen generator, Supplier<RandomGen> randoms)
+    {
+    generator_ = Objects.requireNonNull( generator, "Generator must be defined");
+    randoms_ = Objects.requireNonNull( randoms, "Random generators must be defined");
+    }
+
+  /**
+   * Changes the length bounds for generated strings. If null, generated strings are unbounded.
+   */
+  public MatchPublisher withLength( Bounds length)
+    {
+    length_ = length == null? new Bounds() : length;
+    return this;
+    }
+
+  /**
+   * Changes the number of strings published to each subscriber. If null, an unlimited number of
+   * strings is published.
+   */
+  public MatchPublisher withCount( Long count)
+    {
+    if( count != null && count < 0)
+      {
+      throw new IllegalArgumentException( "Count must be non-negative");
+      }
+    count_ = count == null? Long.MAX_VALUE : count;
+    return this;
+    }
+
+  /**
+   * Changes the maximum number of strings generated at a time for each subscription.
+   */
+  public MatchPublisher withBatchSize( int batchSize)
+    {
+    if( batchSize <= 0)
+      {
+      throw new IllegalArgumentException( "Batch size must be > 0");
+      }
+    batchSize_ = batchSize;
+    return this;
+    }
+
+  /**
+   * Changes the executor used to deliver strings to subscribers. If null, uses the
+   * {@link ForkJoinPool#commonPool common pool}.
+   */
+  public MatchPublisher withExecutor( Executor executor)
+    {
+    executor_ = executor == null? ForkJoinPool.commonPool() : executor;
+    return this;
+    }
+
+  /**
+   * Adds the given subscriber to this publisher.
+   */
+  public void subscribe( Flow.Subscriber<? super String> subscriber)
+    {
+    Objects.requireNonNull( subscriber, "Subscriber must be defined");
+    MatchSubscription subscription = new MatchSubscription( subscriber, randoms_.get());
+    subscriber.onSubscribe( subscription);
+    if( count_ == 0)
+      {
+      subscription.schedule();
+      }
+    }
+
+  public String toString()
+    {
+    return
+      ToString.getBuilder( this)
+      .append( generator_.getSource())
+      .append( length_)
+      .toString();
+    }
+
+  private final RegExpGen generator_;
+  private final Supplier<RandomGen> randoms_;
+  private Bounds length_ = new Bounds();
+  private long count_ = Long.MAX_VALUE;
+  private int batchSize_ = 64;
+  private Executor executor_ = ForkJoinPool.commonPool();
+
+  /**
+   * Delivers generated strings to a subscriber.
+   */
+  private class MatchSubscription implements Flow.Subscription, Runnable
+    {
+    /**
+     * Creates a new MatchSubscription instance.
+     */
+    MatchSubscription( Flow.Subscriber<? super String> subscriber, RandomGen random)
+      {
+      subscriber_ = subscriber;
+      random_ = random;
+      length_ = MatchPublisher.this.length_;
+      remaining_ = count_;
+      batch_ = new String[ batchSize_];
+      executor_ = MatchPublisher.this.executor_;
+      }
+
+    /**
+     * Adds the given number of strings to the demand for this subscription.
+     */
+    public void request( long n)
+      {
+      if( n <= 0)
+        {
+        failure_ = new IllegalArgumentException( String.format( "Requested count=%s must be > 0", n));
+        }
+      else
+        {
+        demand_.getAndAccumulate( n, (demand, more) -> demand + more < 0? Long.MAX_VALUE : demand + more);
+        }
+      schedule();
+      }
+
+    /**
+     * Stops delivery to the subscriber.
+     */
+    public void cancel()
+      {
+      done_ = true;
+      }
+
+    /**
+     * Ensures that any current demand will be delivered.
+     */
+    void schedule()
+      {
+      if( pending_.getAndIncrement() == 0)
+        {
+        executor_.execute( this);
+        }
+      }
+
+    /**
+     * Delivers generated strings until all current demand is satisfied.
+     */
+    public void run()
+      {
+      for( int pending = pending_.get(); pending > 0; pending = pending_.addAndGet( -pending))
+        {
+        deliver();
+        }
+      }
+
+    /**
+     * Delivers generated strings to satisfy the current demand.
+     */
+    private void deliver()
+      {
+      if( !done_ && failure_ != null)
+        {
+        done_ = true;
+        subscriber_.onError( failure_);
+        }
+
+      long delivered;
+      for( delivered = 0; !done_ && remaining_ > 0 && delivered < demand_.get(); )
+        {
+        // Generate the next batch...
+        int batchSize = (int) Math.min( batch_.length, Math.min( remaining_, demand_.get() - delivered));
+        try
+          {
+          for( int i = 0; i < batchSize; i++)
+            {
+            batch_[i] = generator_.generate( random_, length_);
+            }
+          }
+        catch( Exception e)
+          {
+          done_ = true;
+          subscriber_.onError( e);
+          }
+
+        // ...and deliver it.
+        for( int i = 0; i < batchSize && !done_; i++, delivered++, remaining_--)
+          {
+          subscriber_.onNext( batch_[i]);
+          batch_[i] = null;
+          }
+        }
+
+      demand_.addAndGet( -delivered);
+      if( !done_ && remaining_ == 0)
+        {
+        done_ = true;
+        subscriber_.onComplete();
+        }
+      }
+
+    private final Flow.Subscriber<? super String> subscriber_;
+    private final RandomGen random_;
+    private final Bounds length_;
+    private final String[] batch_;
+    private final Executor executor_;
+    private final AtomicLong demand_ = new AtomicLong();
+    private final AtomicInteger pending_ = new AtomicInteger();
+    private long remaining_;
+    private volatile boolean done_;
+    private volatile Exception failure_;
+    }
+  }
@@ -9,7 +9,11 @@ package org.cornutum.regexpgen;
 
 import static org.cornutum.regexpgen.MatchOptionsBuilder.options;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Provides instances of a {@link RegExpGen} implementation.
@@ -34,6 +38,31 @@ public interface Provider
    */
   public RegExpGen matching( String regexp, MatchOptions options);
 
+  /**
+   * Returns a {@link RegExpGen} that generates strings containing characters that match the
+   * regular expression read from the given reader, using the given options.
+   * <P/>
+   * By default, reads the entire regular expression before parsing it.
+   */
+  public default RegExpGen matching( Reader regexp, MatchOptions options) throws IOException
+    {
+    StringBuilder chars = new StringBuilder();
+    char[] buffer = new char[ 8192];
+    for( int read; (read = regexp.read( buffer)) >= 0; chars.append( buffer, 0, read));
+    return matching( chars.toString(), options);
+    }
+
+  /**
+   * Returns the {@link RegExpGen} instances that generate strings containing characters that match each of the given
+   * regular expressions, using the given options. The regular expressions are compiled in parallel, using the given pool.
+   * Each regular expression that can't be compiled is reported in the {@link RegExpGenLibrary#getFailures failures}
+   * of the result.
+   */
+  public default RegExpGenLibrary matchingAll( Collection<String> regexps, MatchOptions options, ForkJoinPool pool)
+    {
+    return RegExpGenLibrary.compile( regexps, regexp -> matching( regexp, options), pool);
+    }
+
   /**
    * Returns a {@link RegExpGen} that generates strings containing only characters that match the
    * given regular expression.
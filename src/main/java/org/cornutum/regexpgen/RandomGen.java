@@ -10,6 +10,9 @@ package org.cornutum.regexpgen;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntPredicate;
 
 /**
  * Generates random integer values.
@@ -21,6 +24,13 @@ public interface RandomGen
    */
   public int within( int min, int max);
   
+  /**
+   * Called before drawing the values for each new string generated. By default, does nothing.
+   */
+  default void startSample()
+    {
+    }
+
   /**
    * Returns a random integer between <CODE>0</CODE> (inclusive) and <CODE>max</CODE> (exclusive).
    */
@@ -37,6 +47,98 @@ public interface RandomGen
     return within( bounds.getMinValue(), Bounds.sumOf( bounds.getMaxValue(), 1));
     }
 
+  /**
+   * Returns a random value between <CODE>0.0</CODE> (inclusive) and <CODE>1.0</CODE> (exclusive).
+   */
+  default double nextDouble()
+    {
+    long high = below( 1 << 26);
+    long low = below( 1 << 27);
+    return ((high << 27) + low) * 0x1.0p-53;
+    }
+
+  /**
+   * Returns a random index between <CODE>0</CODE> (inclusive) and <CODE>n</CODE> (exclusive).
+   */
+  default int pick( int n)
+    {
+    return below( n);
+    }
+
+  /**
+   * Returns a random index between <CODE>0</CODE> (inclusive) and <CODE>n</CODE> (exclusive) that satisfies
+   * the given condition. Each such index is equally likely. Returns -1 if no index satisfies the condition.
+   * <P/>
+   * Uses reservoir sampling, so the condition is tested exactly once for each index and no storage is allocated.
+   */
+  default int pickWhere( IntPredicate condition, int n)
+    {
+    int picked = -1;
+    for( int i = 0, found = 0; i < n; i++)
+      {
+      if( condition.test( i) && below( ++found) == 0)
+        {
+        picked = i;
+        }
+      }
+
+    return picked;
+    }
+
+  /**
+   * Returns the indices between <CODE>0</CODE> (inclusive) and <CODE>n</CODE> (exclusive) in a random order.
+   * <P/>
+   * Indices are generated on demand, using constant storage, by walking a full-period linear congruential
+   * sequence over the next power of two and skipping values not less than <CODE>n</CODE>. Not all permutations
+   * are possible, but every index is equally likely to come first.
+   */
+  default PrimitiveIterator.OfInt permutation( int n)
+    {
+    if( n < 0)
+      {
+      throw new IllegalArgumentException( "Size must be non-negative");
+      }
+
+    // For a power-of-two modulus, a full period requires an odd increment and a multiplier = 1 (mod 4).
+    int mask = n <= 1? 0 : -1 >>> Integer.numberOfLeadingZeros( n - 1);
+    int multiplier = mask < 3? 1 : ((below( (mask >>> 2) + 1) << 2) | 1);
+    int increment = mask == 0? 0 : (below( (mask >>> 1) + 1) << 1) | 1;
+    int first = n == 0? 0 : below( n);
+
+    return
+      new PrimitiveIterator.OfInt()
+        {
+        public boolean hasNext()
+          {
+          return remaining_ > 0;
+          }
+
+        public int nextInt()
+          {
+          if( remaining_ == 0)
+            {
+            throw new NoSuchElementException();
+            }
+
+          int index = next_;
+          remaining_--;
+          if( remaining_ > 0)
+            {
+            do
+              {
+              next_ = (next_ * multiplier + increment) & mask;
+              }
+            while( next_ >= n);
+            }
+
+          return index;
+          }
+
+        private int next_ = first;
+        private int remaining_ = n;
+        };
+    }
+
   /**
    * Returns the given elements shuffled into a random sequence.
    */
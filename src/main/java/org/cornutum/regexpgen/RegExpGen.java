@@ -7,6 +7,10 @@
 
 package org.cornutum.regexpgen;
 
+import java.nio.ByteBuffer;
+import java.util.stream.Stream;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
  * Generates strings that match a regular expression.
  */
@@ -64,23 +68,66 @@ public interface RegExpGen extends Comparable<RegExpGen>
     return generate( random, new Bounds( minLength, maxLength));
     }
 
+  /**
+   * Returns the UTF-8 encoding of a random string within the given bounds that matches this regular expression.
+   * The given bounds limit the number of characters in the string, not the number of bytes.
+   */
+  default byte[] generateUtf8( RandomGen random, Bounds length)
+    {
+    return generate( random, length).getBytes( UTF_8);
+    }
+
+  /**
+   * Returns the UTF-8 encoding of a random string that matches this regular expression.
+   */
+  default byte[] generateUtf8( RandomGen random)
+    {
+    return generateUtf8( random, new Bounds());
+    }
+
+  /**
+   * Writes the UTF-8 encoding of a random string within the given bounds that matches this regular expression
+   * into the given buffer, starting at its current position. Returns the given buffer, with its position
+   * advanced past the bytes written. The given bounds limit the number of characters in the string, not the
+   * number of bytes.
+   * <P/>
+   * Throws a {@link java.nio.BufferOverflowException} if the buffer has insufficient space.
+   */
+  default ByteBuffer generateUtf8( RandomGen random, Bounds length, ByteBuffer buffer)
+    {
+    return buffer.put( generateUtf8( random, length));
+    }
+
+  /**
+   * Returns an infinite stream of random strings within the given bounds that match this regular expression.
+   */
+  default Stream<String> stream( RandomGen random, Bounds length)
+    {
+    return Stream.generate( () -> generate( random, length));
+    }
+
+  /**
+   * Returns an infinite stream of random strings that match this regular expression.
+   */
+  default Stream<String> stream( RandomGen random)
+    {
+    return stream( random, new Bounds());
+    }
+
+  /**
+   * Returns a {@link DistinctGen} that generates distinct strings that match this regular expression.
+   */
+  default DistinctGen distinct( RandomGen random)
+    {
+    return new DistinctGen( this, random);
+    }
+
   /**
    * Returns false if no string matching this regular expression can satisfy the given bounds.
    */
   default boolean isFeasibleLength( Bounds bounds)
     {
-    boolean feasible;
-    try
-      {
-      effectiveLength( bounds);
-      feasible = true;
-      }
-    catch( IllegalArgumentException e)
-      {
-      feasible = false;
-      }
-
-    return feasible;
+    return bounds.intersects( getMinLength(), getMaxLength());
     }
 
   /**
@@ -7,8 +7,12 @@
 
 package org.cornutum.regexpgen;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Builds {@link RegExpGen} instances using a specified {@link Provider}.
@@ -85,6 +89,25 @@ public class RegExpGenBuilder
     return exactly( true);
     }
   
+  /**
+   * Changes the distribution of lengths generated for unbounded quantifiers, such as "*", "+", or "{n,}".
+   * If null, lengths are generated by the {@link RandomGen}.
+   */
+  public RegExpGenBuilder withLengths( LengthDistribution lengths)
+    {
+    options_.withLengths( lengths);
+    return this;
+    }
+  
+  /**
+   * Changes if generators are optimized after parsing. By default, generators are optimized.
+   */
+  public RegExpGenBuilder optimized( boolean optimized)
+    {
+    options_.optimized( optimized);
+    return this;
+    }
+  
   /**
    * Returns a {@link RegExpGen} that generates strings containing characters that match the given
    * regular expression, using the specified options.
@@ -94,6 +117,35 @@ public class RegExpGenBuilder
     return provider_.matching( regexp, options_.build());
     }
   
+  /**
+   * Returns a {@link RegExpGen} that generates strings containing characters that match the
+   * regular expression read from the given reader, using the specified options.
+   */
+  public RegExpGen matching( Reader regexp) throws IOException
+    {
+    return provider_.matching( regexp, options_.build());
+    }
+  
+  /**
+   * Returns the {@link RegExpGen} instances that generate strings containing characters that match each of the given
+   * regular expressions, using the specified options. The regular expressions are compiled in parallel, using the
+   * common fork/join pool.
+   */
+  public RegExpGenLibrary matchingAll( Collection<String> regexps)
+    {
+    return matchingAll( regexps, ForkJoinPool.commonPool());
+    }
+  
+  /**
+   * Returns the {@link RegExpGen} instances that generate strings containing characters that match each of the given
+   * regular expressions, using the specified options. The regular expressions are compiled in parallel, using the
+   * given pool.
+   */
+  public RegExpGenLibrary matchingAll( Collection<String> regexps, ForkJoinPool pool)
+    {
+    return provider_.matchingAll( regexps, options_.build(), pool);
+    }
+  
   /**
    * Returns a {@link RegExpGen} that generates strings that do NOT match the given regular expression,
    * using the specified options.
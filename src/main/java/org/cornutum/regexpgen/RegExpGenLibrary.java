@@ -0,0 +1,140 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen;
+
+import org.cornutum.regexpgen.util.ToString;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Contains the {@link RegExpGen} instances compiled from a collection of regular expressions.
+ * Each regular expression that could not be compiled is mapped to the reason for its failure.
+ */
+public class RegExpGenLibrary
+  {
+  /**
+   * Compiles the given regular expressions in parallel, using the given pool.
+   */
+  public static RegExpGenLibrary compile( Collection<String> regexps, Function<String,RegExpGen> compiler, ForkJoinPool pool)
+    {
+    List<String> distinct = regexps.stream().distinct().collect( toList());
+    Object[] results = new Object[ distinct.size()];
+    pool.submit(
+      () ->
+      IntStream.range( 0, results.length)
+      .parallel()
+      .forEach( i -> results[i] = compiled( compiler, distinct.get(i))))
+      .join();
+
+    RegExpGenLibrary library = new RegExpGenLibrary();
+    for( int i = 0; i < results.length; i++)
+      {
+      if( results[i] instanceof RuntimeException)
+        {
+        library.failures_.put( distinct.get(i), (RuntimeException) results[i]);
+        }
+      else
+        {
+        library.generators_.put( distinct.get(i), (RegExpGen) results[i]);
+        }
+      }
+
+    return library;
+    }
+
+  /**
+   * Returns a library containing the given {@link RegExpGen} instances, each identified by the regular expression
+   * from which it was compiled.
+   */
+  public static RegExpGenLibrary of( Map<String,RegExpGen> generators)
+    {
+    RegExpGenLibrary library = new RegExpGenLibrary();
+    library.generators_.putAll( generators);
+    return library;
+    }
+
+  /**
+   * Returns the {@link RegExpGen} compiled from the given regular expression, or the reason it could not be compiled.
+   * A regular expression that exhausts the stack is reported as a failure, without affecting any others.
+   */
+  private static Object compiled( Function<String,RegExpGen> compiler, String regexp)
+    {
+    try
+      {
+      return compiler.apply( regexp);
+      }
+    catch( RuntimeException e)
+      {
+      return e;
+      }
+    catch( StackOverflowError e)
+      {
+      return new IllegalArgumentException( String.format( "%s: Regular expression nested too deeply", regexp), e);
+      }
+    }
+
+  /**
+   * Creates a new RegExpGenLibrary instance.
+   */
+  private RegExpGenLibrary()
+    {
+    }
+
+  /**
+   * Returns the {@link RegExpGen} compiled from the given regular expression. Returns null if the
+   * regular expression was not compiled successfully.
+   */
+  public RegExpGen get( String regexp)
+    {
+    return generators_.get( regexp);
+    }
+
+  /**
+   * Returns the {@link RegExpGen} compiled from each regular expression, in the order given.
+   */
+  public Map<String,RegExpGen> getGenerators()
+    {
+    return Collections.unmodifiableMap( generators_);
+    }
+
+  /**
+   * Returns the reason for each regular expression that could not be compiled, in the order given.
+   */
+  public Map<String,RuntimeException> getFailures()
+    {
+    return Collections.unmodifiableMap( failures_);
+    }
+
+  /**
+   * Returns if any regular expression could not be compiled.
+   */
+  public boolean hasFailures()
+    {
+    return !failures_.isEmpty();
+    }
+
+  public String toString()
+    {
+    return
+      ToString.getBuilder( this)
+      .append( "generators", generators_.size())
+      .append( "failures", failures_.size())
+      .toString();
+    }
+
+  private final Map<String,RegExpGen> generators_ = new LinkedHashMap<String,RegExpGen>();
+  private final Map<String,RuntimeException> failures_ = new LinkedHashMap<String,RuntimeException>();
+  }
@@ -0,0 +1,126 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.cli;
+
+import org.cornutum.regexpgen.util.ToString;
+
+/**
+ * Records a distribution of latencies, measured in nanoseconds.
+ * <P/>
+ * Latencies are counted in buckets that grow exponentially, so that any percentile reported is
+ * within about 3% of the actual value.
+ */
+class LatencyHistogram
+  {
+  /**
+   * Creates a new LatencyHistogram instance.
+   */
+  public LatencyHistogram()
+    {
+    }
+
+  /**
+   * Adds the given latency to this histogram.
+   */
+  public void record( long nanos)
+    {
+    counts_[ bucketOf( Math.max( 0, nanos))]++;
+    count_++;
+    max_ = Math.max( max_, nanos);
+    }
+
+  /**
+   * Adds all latencies recorded by the given histogram to this histogram.
+   */
+  public void add( LatencyHistogram other)
+    {
+    for( int i = 0; i < counts_.length; i++)
+      {
+      counts_[i] += other.counts_[i];
+      }
+    count_ += other.count_;
+    max_ = Math.max( max_, other.max_);
+    }
+
+  /**
+   * Returns the number of latencies recorded.
+   */
+  public long getCount()
+    {
+    return count_;
+    }
+
+  /**
+   * Returns the maximum latency recorded.
+   */
+  public long getMax()
+    {
+    return max_;
+    }
+
+  /**
+   * Returns the given percentile of the latencies recorded.
+   */
+  public long getPercentile( double percentile)
+    {
+    long rank = (long) Math.ceil( count_ * percentile / 100.0);
+    long seen = 0;
+    int bucket;
+    for( bucket = 0; bucket < counts_.length - 1 && (seen += counts_[bucket]) < rank; bucket++);
+
+    return Math.min( max_, upperBoundOf( bucket));
+    }
+
+  /**
+   * Returns the bucket for the given latency.
+   */
+  private static int bucketOf( long nanos)
+    {
+    if( nanos < SUB_BUCKETS)
+      {
+      return (int) nanos;
+      }
+
+    // Within each power of two, use SUB_BUCKETS linear buckets.
+    int magnitude = 63 - Long.numberOfLeadingZeros( nanos);
+    int shift = magnitude - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((nanos >>> shift) - SUB_BUCKETS);
+    }
+
+  /**
+   * Returns the largest latency counted in the given bucket.
+   */
+  private static long upperBoundOf( int bucket)
+    {
+    if( bucket < SUB_BUCKETS)
+      {
+      return bucket;
+      }
+
+    int shift = bucket / SUB_BUCKETS - 1;
+    long base = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    return base + (1L << shift) - 1;
+    }
+
+  public String toString()
+    {
+    return
+      ToString.getBuilder( this)
+      .append( "count", getCount())
+      .append( "p50", getPercentile( 50))
+      .append( "max", getMax())
+      .toString();
+    }
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  private final long[] counts_ = new long[ (64 - SUB_BUCKET_BITS) * SUB_BUCKETS];
+  private long count_;
+  private long max_;
+  }
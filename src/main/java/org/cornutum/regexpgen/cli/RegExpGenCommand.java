@@ -0,0 +1,687 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.cli;
+
+import org.cornutum.regexpgen.RandomGen;
+import org.cornutum.regexpgen.RegExpGen;
+import org.cornutum.regexpgen.RegExpGenBuilder;
+import org.cornutum.regexpgen.js.Provider;
+import org.cornutum.regexpgen.random.RandomBoundsGen;
+import org.cornutum.regexpgen.util.CharUtils;
+import org.cornutum.regexpgen.util.ToString;
+import static org.cornutum.regexpgen.RegExpGenBuilder.generateRegExp;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGeneratorFactory;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Generates a corpus of strings that match (or do not match) one or more regular expressions.
+ * <P/>
+ * Strings are generated in blocks, in parallel, and written one per line in a fixed order. So that each line
+ * contains exactly one string, each backslash and line terminator in a generated string is written as an escape
+ * sequence, like those of a Java string literal (for example, <CODE>\n</CODE> for a newline). Each block
+ * uses its own random generator, seeded from the {@link Options#getSeed seed} and the position of the block,
+ * so the same seed always produces the same output, regardless of the number of threads used.
+ * When complete, throughput and latency percentiles are reported on the standard error stream.
+ */
+public class RegExpGenCommand
+  {
+  /**
+   * Represents a set of command line options.
+   * <P/>
+   * Command line arguments have the following form.
+   * <P/>
+   * <BLOCKQUOTE>
+   * <CODE>
+   * [-a <I>anyChars</I>] [-s <I>spaceChars</I>] [-e] [-n] [-c <I>count</I>] [-r <I>seed</I>] [-g <I>algorithm</I>]
+   * [-t <I>threads</I>] [-o <I>outFile</I>] (-f <I>patternFile</I> | <I>pattern</I>...)
+   * </CODE>
+   * </BLOCKQUOTE>
+   * <P/>
+   * where:
+   * <UL>
+   * <LI> <CODE>-a</CODE>: The characters used to match the "." expression</LI>
+   * <LI> <CODE>-s</CODE>: The characters used to match the "\s" expression</LI>
+   * <LI> <CODE>-e</CODE>: Generate strings containing only matching characters</LI>
+   * <LI> <CODE>-n</CODE>: Generate strings that do not match</LI>
+   * <LI> <CODE>-c</CODE>: The number of strings generated for each pattern (default: 1)</LI>
+   * <LI> <CODE>-r</CODE>: The seed for random generation (default: a random seed)</LI>
+   * <LI> <CODE>-g</CODE>: The name of the {@link java.util.random.RandomGeneratorFactory random number generator algorithm}
+   * (default: <CODE>Random</CODE>)</LI>
+   * <LI> <CODE>-t</CODE>: The number of generator threads (default: the number of available processors)</LI>
+   * <LI> <CODE>-o</CODE>: The output file (default: standard output)</LI>
+   * <LI> <CODE>-f</CODE>: A file containing one pattern per line</LI>
+   * </UL>
+   */
+  public static final class Options
+    {
+    /**
+     * Creates a new Options object.
+     */
+    public Options()
+      {
+      count_ = 1;
+      algorithm_ = "Random";
+      threads_ = Runtime.getRuntime().availableProcessors();
+      }
+
+    /**
+     * Creates a new Options object from the given command line arguments.
+     */
+    public Options( String[] args)
+      {
+      this();
+
+      int i;
+      for( i = 0; i < args.length && args[i].startsWith( "-"); i = handleOption( args, i));
+      for( ; i < args.length; i++)
+        {
+        patterns_.add( args[i]);
+        }
+
+      if( patterns_.isEmpty() == (getPatternFile() == null))
+        {
+        throw new IllegalArgumentException( "Either a pattern file or a list of patterns must be given");
+        }
+      }
+
+    /**
+     * Handles the command line option at the given position. Returns the position of the next option.
+     */
+    private int handleOption( String[] args, int i)
+      {
+      String arg = args[i];
+      if( arg.equals( "-e"))
+        {
+        setExactly( true);
+        }
+      else if( arg.equals( "-n"))
+        {
+        setNotMatching( true);
+        }
+      else
+        {
+        String value = ++i < args.length? args[i] : null;
+        if( value == null)
+          {
+          throw new IllegalArgumentException( String.format( "No value given for option=%s", arg));
+          }
+
+        try
+          {
+          if( arg.equals( "-a"))
+            {
+            setAny( value);
+            }
+          else if( arg.equals( "-s"))
+            {
+            setSpace( value);
+            }
+          else if( arg.equals( "-c"))
+            {
+            setCount( Long.parseLong( value));
+            }
+          else if( arg.equals( "-r"))
+            {
+            setSeed( Long.valueOf( value));
+            }
+          else if( arg.equals( "-g"))
+            {
+            setAlgorithm( value);
+            }
+          else if( arg.equals( "-t"))
+            {
+            setThreads( Integer.parseInt( value));
+            }
+          else if( arg.equals( "-o"))
+            {
+            setOutFile( new File( value));
+            }
+          else if( arg.equals( "-f"))
+            {
+            setPatternFile( new File( value));
+            }
+          else
+            {
+            throw new IllegalArgumentException( String.format( "Unknown option=%s", arg));
+            }
+          }
+        catch( NumberFormatException e)
+          {
+          throw new IllegalArgumentException( String.format( "Invalid value=%s for option=%s", value, arg));
+          }
+        }
+
+      return i + 1;
+      }
+
+    /**
+     * Returns the patterns given on the command line.
+     */
+    public List<String> getPatterns()
+      {
+      return patterns_;
+      }
+
+    /**
+     * Changes the file containing patterns, one per line.
+     */
+    public void setPatternFile( File patternFile)
+      {
+      patternFile_ = patternFile;
+      }
+
+    /**
+     * Returns the file containing patterns, one per line.
+     */
+    public File getPatternFile()
+      {
+      return patternFile_;
+      }
+
+    /**
+     * Changes the characters used to match the "." expression.
+     */
+    public void setAny( String any)
+      {
+      any_ = any;
+      }
+
+    /**
+     * Returns the characters used to match the "." expression.
+     */
+    public String getAny()
+      {
+      return any_;
+      }
+
+    /**
+     * Changes the characters used to match the "\s" expression.
+     */
+    public void setSpace( String space)
+      {
+      space_ = space;
+      }
+
+    /**
+     * Returns the characters used to match the "\s" expression.
+     */
+    public String getSpace()
+      {
+      return space_;
+      }
+
+    /**
+     * Changes if generated strings contain only matching characters.
+     */
+    public void setExactly( boolean exactly)
+      {
+      exactly_ = exactly;
+      }
+
+    /**
+     * Returns if generated strings contain only matching characters.
+     */
+    public boolean isExactly()
+      {
+      return exactly_;
+      }
+
+    /**
+     * Changes if generated strings do not match.
+     */
+    public void setNotMatching( boolean notMatching)
+      {
+      notMatching_ = notMatching;
+      }
+
+    /**
+     * Returns if generated strings do not match.
+     */
+    public boolean isNotMatching()
+      {
+      return notMatching_;
+      }
+
+    /**
+     * Changes the number of strings generated for each pattern.
+     */
+    public void setCount( long count)
+      {
+      if( count < 0)
+        {
+        throw new IllegalArgumentException( "Count must be non-negative");
+        }
+      count_ = count;
+      }
+
+    /**
+     * Returns the number of strings generated for each pattern.
+     */
+    public long getCount()
+      {
+      return count_;
+      }
+
+    /**
+     * Changes the seed for random generation. If null, a random seed is used.
+     */
+    public void setSeed( Long seed)
+      {
+      seed_ = seed;
+      }
+
+    /**
+     * Returns the seed for random generation.
+     */
+    public Long getSeed()
+      {
+      return seed_;
+      }
+
+    /**
+     * Changes the name of the random number generator algorithm.
+     */
+    public void setAlgorithm( String algorithm)
+      {
+      // Fail now if the algorithm is unknown.
+      RandomGeneratorFactory.of( algorithm);
+      algorithm_ = algorithm;
+      }
+
+    /**
+     * Returns the name of the random number generator algorithm.
+     */
+    public String getAlgorithm()
+      {
+      return algorithm_;
+      }
+
+    /**
+     * Changes the number of generator threads.
+     */
+    public void setThreads( int threads)
+      {
+      if( threads <= 0)
+        {
+        throw new IllegalArgumentException( "Threads must be > 0");
+        }
+      threads_ = threads;
+      }
+
+    /**
+     * Returns the number of generator threads.
+     */
+    public int getThreads()
+      {
+      return threads_;
+      }
+
+    /**
+     * Changes the output file. If null, output is written to standard output.
+     */
+    public void setOutFile( File outFile)
+      {
+      outFile_ = outFile;
+      }
+
+    /**
+     * Returns the output file.
+     */
+    public File getOutFile()
+      {
+      return outFile_;
+      }
+
+    public String toString()
+      {
+      return
+        ToString.getBuilder( this)
+        .append( "patterns", getPatternFile() == null? getPatterns() : getPatternFile())
+        .append( "count", getCount())
+        .append( "seed", getSeed())
+        .append( "algorithm", getAlgorithm())
+        .append( "threads", getThreads())
+        .toString();
+      }
+
+    private final List<String> patterns_ = new ArrayList<String>();
+    private File patternFile_;
+    private String any_;
+    private String space_;
+    private boolean exactly_;
+    private boolean notMatching_;
+    private long count_;
+    private Long seed_;
+    private String algorithm_;
+    private int threads_;
+    private File outFile_;
+    }
+
+  /**
+   * Creates a new RegExpGenCommand instance.
+   */
+  private RegExpGenCommand()
+    {
+    // Static methods only
+    }
+
+  /**
+   * Generates a corpus of strings using the given command line arguments.
+   */
+  public static void main( String[] args)
+    {
+    int exitCode = 0;
+    try
+      {
+      run( new Options( args), System.out, System.err);
+      }
+    catch( IllegalArgumentException e)
+      {
+      System.err.println( String.format( "RegExpGenCommand: %s", e.getMessage()));
+      System.err.println( USAGE);
+      exitCode = 1;
+      }
+    catch( Exception e)
+      {
+      System.err.println( String.format( "RegExpGenCommand: %s", e.getMessage()));
+      exitCode = 1;
+      }
+
+    System.exit( exitCode);
+    }
+
+  /**
+   * Generates a corpus of strings using the given options. Unless an {@link Options#getOutFile output file} is
+   * given, the corpus is written to the given standard output stream. Generation statistics are written to the
+   * given standard error stream.
+   */
+  public static void run( Options options, OutputStream stdOut, PrintStream stdErr) throws IOException
+    {
+    List<RegExpGen> generators = getGenerators( options, stdErr);
+    long seed = Optional.ofNullable( options.getSeed()).orElseGet( () -> new Random().nextLong());
+    LatencyHistogram latencies = new LatencyHistogram();
+
+    ExecutorService executor = Executors.newFixedThreadPool( options.getThreads());
+    long start = System.nanoTime();
+    try( Writer writer = new BufferedWriter( new OutputStreamWriter( getOutput( options, stdOut), UTF_8)))
+      {
+      // Keep a bounded window of blocks in progress, writing each block in order as it completes.
+      Deque<Future<Block>> pending = new ArrayDeque<Future<Block>>();
+      int maxPending = options.getThreads() * 2;
+      long blockIndex = 0;
+      for( RegExpGen generator : generators)
+        {
+        for( long remaining = options.getCount(); remaining > 0; remaining -= BLOCK_SIZE, blockIndex++)
+          {
+          if( pending.size() >= maxPending)
+            {
+            write( writer, pending.removeFirst(), latencies);
+            }
+
+          Block block = new Block( generator, options.getAlgorithm(), blockSeed( seed, blockIndex), (int) Math.min( remaining, BLOCK_SIZE));
+          pending.addLast( executor.submit( block::generate));
+          }
+        }
+
+      while( !pending.isEmpty())
+        {
+        write( writer, pending.removeFirst(), latencies);
+        }
+      }
+    finally
+      {
+      executor.shutdownNow();
+      }
+
+    long elapsed = System.nanoTime() - start;
+    stdErr.println(
+      String.format(
+        "Generated %s strings in %.3f sec (%.0f strings/sec), seed=%s",
+        latencies.getCount(),
+        elapsed / 1e9,
+        elapsed == 0? 0.0 : latencies.getCount() * 1e9 / elapsed,
+        seed));
+    stdErr.println(
+      String.format(
+        "Latency (usec): p50=%.1f, p90=%.1f, p99=%.1f, p99.9=%.1f, max=%.1f",
+        latencies.getPercentile( 50) / 1e3,
+        latencies.getPercentile( 90) / 1e3,
+        latencies.getPercentile( 99) / 1e3,
+        latencies.getPercentile( 99.9) / 1e3,
+        latencies.getMax() / 1e3));
+    }
+
+  /**
+   * Returns the generators for all patterns specified by the given options. Any pattern for which no
+   * non-matching strings are possible is reported on the given standard error stream.
+   */
+  private static List<RegExpGen> getGenerators( Options options, PrintStream stdErr) throws IOException
+    {
+    List<String> patterns =
+      options.getPatternFile() == null
+      ? options.getPatterns()
+      : Files.readAllLines( options.getPatternFile().toPath(), UTF_8);
+
+    List<RegExpGen> generators = new ArrayList<RegExpGen>();
+    for( String pattern : patterns)
+      {
+      if( pattern.isEmpty() && options.getPatternFile() != null)
+        {
+        continue;
+        }
+
+      RegExpGenBuilder builder = generateRegExp( Provider.forEcmaScript()).exactly( options.isExactly());
+      if( options.getAny() != null)
+        {
+        builder.withAny( options.getAny());
+        }
+      if( options.getSpace() != null)
+        {
+        builder.withSpace( options.getSpace());
+        }
+
+      try
+        {
+        if( options.isNotMatching())
+          {
+          Optional<RegExpGen> notMatching = builder.notMatching( pattern);
+          if( notMatching.isPresent())
+            {
+            generators.add( notMatching.get());
+            }
+          else
+            {
+            stdErr.println( String.format( "Skipping pattern=%s: no non-matching strings possible", pattern));
+            }
+          }
+        else
+          {
+          generators.add( builder.matching( pattern));
+          }
+        }
+      catch( IllegalArgumentException e)
+        {
+        throw new IllegalArgumentException( String.format( "Invalid pattern=%s: %s", pattern, e.getMessage()), e);
+        }
+      }
+
+    return generators;
+    }
+
+  /**
+   * Returns the output stream specified by the given options.
+   */
+  private static OutputStream getOutput( Options options, OutputStream stdOut) throws IOException
+    {
+    return
+      options.getOutFile() == null
+      ? new NonClosingOutputStream( stdOut)
+      : Files.newOutputStream( options.getOutFile().toPath());
+    }
+
+  /**
+   * Writes the strings generated for the given block.
+   */
+  private static void write( Writer writer, Future<Block> future, LatencyHistogram latencies) throws IOException
+    {
+    Block block;
+    try
+      {
+      block = future.get();
+      }
+    catch( InterruptedException e)
+      {
+      Thread.currentThread().interrupt();
+      throw new IOException( "Generation interrupted", e);
+      }
+    catch( ExecutionException e)
+      {
+      throw new IllegalStateException( "Generation failed", e.getCause());
+      }
+
+    for( String generated : block.getResults())
+      {
+      writer.write( escaped( generated));
+      writer.write( '\n');
+      }
+    latencies.add( block.getLatencies());
+    }
+
+  /**
+   * Returns the given string, replacing each backslash and line terminator with an escape sequence.
+   */
+  private static String escaped( String generated)
+    {
+    int next;
+    for( next = 0;
+         next < generated.length() && !(generated.charAt( next) == '\\' || CharUtils.isLineTerminator( generated.charAt( next)));
+         next++);
+
+    if( next == generated.length())
+      {
+      return generated;
+      }
+
+    StringBuilder escaped = new StringBuilder( generated.length() + 16).append( generated, 0, next);
+    for( ; next < generated.length(); next++)
+      {
+      char c = generated.charAt( next);
+      escaped.append(
+        c == '\\'? "\\\\" :
+        c == '\n'? "\\n" :
+        c == '\r'? "\\r" :
+        CharUtils.isLineTerminator( c)? String.format( "\\u%04x", (int) c) :
+        String.valueOf( c));
+      }
+
+    return escaped.toString();
+    }
+
+  /**
+   * Returns the seed for the block at the given position.
+   */
+  private static long blockSeed( long seed, long blockIndex)
+    {
+    // Mix the block index into the seed (SplitMix64 finalizer), so adjacent blocks get unrelated seeds.
+    long z = seed + (blockIndex + 1) * 0x9e3779b97f4a7c15L;
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+    }
+
+  /**
+   * Generates a block of strings.
+   */
+  private static class Block
+    {
+    Block( RegExpGen generator, String algorithm, long seed, int size)
+      {
+      generator_ = generator;
+      algorithm_ = algorithm;
+      seed_ = seed;
+      results_ = new String[ size];
+      }
+
+    /**
+     * Generates all strings for this block.
+     */
+    Block generate()
+      {
+      RandomGen random = RandomBoundsGen.of( algorithm_, seed_);
+      for( int i = 0; i < results_.length; i++)
+        {
+        long start = System.nanoTime();
+        results_[i] = generator_.generate( random);
+        latencies_.record( System.nanoTime() - start);
+        }
+      return this;
+      }
+
+    String[] getResults()
+      {
+      return results_;
+      }
+
+    LatencyHistogram getLatencies()
+      {
+      return latencies_;
+      }
+
+    private final RegExpGen generator_;
+    private final String algorithm_;
+    private final long seed_;
+    private final String[] results_;
+    private final LatencyHistogram latencies_ = new LatencyHistogram();
+    }
+
+  /**
+   * Writes to an output stream that remains open after this stream is closed.
+   */
+  private static class NonClosingOutputStream extends FilterOutputStream
+    {
+    NonClosingOutputStream( OutputStream out)
+      {
+      super( out);
+      }
+
+    public void write( byte[] bytes, int offset, int length) throws IOException
+      {
+      out.write( bytes, offset, length);
+      }
+
+    public void close() throws IOException
+      {
+      flush();
+      }
+    }
+
+  private static final int BLOCK_SIZE = 1000;
+
+  private static final String USAGE =
+    "Usage: RegExpGenCommand [-a anyChars] [-s spaceChars] [-e] [-n] [-c count] [-r seed] [-g algorithm] [-t threads] [-o outFile] (-f patternFile | pattern...)";
+  }
@@ -9,16 +9,33 @@ package org.cornutum.regexpgen.js;
 
 import org.cornutum.regexpgen.Bounds;
 import org.cornutum.regexpgen.GenOptions;
+import org.cornutum.regexpgen.LengthDistribution;
 import org.cornutum.regexpgen.MatchOptions;
+import org.cornutum.regexpgen.MatchOptionsBuilder;
 import org.cornutum.regexpgen.RandomGen;
 import org.cornutum.regexpgen.RegExpGen;
 import org.cornutum.regexpgen.util.ToString;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
  * Base class for {@link RegExpGen} implementations.
+ * <P/>
+ * A generator can be changed only until it is {@link #freeze frozen}. A frozen generator and all of its
+ * subexpressions can never be changed again, and all values derived from them are computed in advance. A frozen
+ * generator also uses its own copy of its {@link MatchOptions}, so later changes to the options used to create it have
+ * no effect. Therefore, once safely published, a frozen generator can be used by multiple threads concurrently without
+ * locking. The only exception is the deprecated {@link #getOptions} interface, which can still change the characters
+ * used to match "." and must not be used while other threads are generating.
  */
 public abstract class AbstractRegExpGen implements RegExpGen
   {
@@ -60,6 +77,7 @@ public abstract class AbstractRegExpGen implements RegExpGen
    */
   public void setOccurrences( Bounds occurrences)
     {
+    checkMutable();
     occurrences_ = occurrences;
     }
   
@@ -111,13 +129,111 @@ public abstract class AbstractRegExpGen implements RegExpGen
    */
   public String generate( RandomGen random, Bounds bounds)
     {
-    return generateLength( random, effectiveLength( bounds));
+    MatchBuffer.Chars matching = new MatchBuffer.Chars();
+    generate( random, bounds, matching);
+    return matching.toString();
     }
 
   /**
-   * Returns a random string within the given bounds that matches this regular expression.
+   * Returns the UTF-8 encoding of a random string within the given bounds that matches this regular expression.
+   * The given bounds limit the number of characters in the string, not the number of bytes.
+   */
+  public byte[] generateUtf8( RandomGen random, Bounds bounds)
+    {
+    MatchBuffer.Utf8 matching = new MatchBuffer.Utf8( 64);
+    generate( random, bounds, matching);
+    return matching.toByteArray();
+    }
+
+  /**
+   * Writes the UTF-8 encoding of a random string within the given bounds that matches this regular expression
+   * into the given buffer, starting at its current position. Returns the given buffer, with its position
+   * advanced past the bytes written. The given bounds limit the number of characters in the string, not the
+   * number of bytes.
+   * <P/>
+   * Throws a {@link java.nio.BufferOverflowException} if the buffer has insufficient space.
+   */
+  public ByteBuffer generateUtf8( RandomGen random, Bounds bounds, ByteBuffer buffer)
+    {
+    generate( random, bounds, new MatchBuffer.Utf8( buffer));
+    return buffer;
+    }
+
+  /**
+   * Appends a random string within the given bounds that matches this regular expression.
+   */
+  protected void generate( RandomGen random, Bounds bounds, MatchBuffer matching)
+    {
+    random.startSample();
+    run( generation( random, bounds, matching));
+    }
+
+  /**
+   * Appends a random string within the given bounds that matches this regular expression.
+   */
+  protected abstract void generateLength( RandomGen random, Bounds length, MatchBuffer matching);
+
+  /**
+   * Returns the {@link Generation} that appends a random string within the given bounds that matches this regular expression.
+   */
+  protected Generation generation( RandomGen random, Bounds bounds, MatchBuffer matching)
+    {
+    return generationLength( random, effectiveLength( bounds), matching);
+    }
+
+  /**
+   * Returns the {@link Generation} that appends a random string within the given length bounds that matches
+   * this regular expression. By default, appends the string immediately, using {@link #generateLength generateLength()}.
+   * Generators with subexpressions override this to generate each subexpression in a separate step.
+   */
+  protected Generation generationLength( RandomGen random, Bounds length, MatchBuffer matching)
+    {
+    return
+      () -> {
+      generateLength( random, length, matching);
+      return null;
+      };
+    }
+
+  /**
+   * Runs the given {@link Generation} to completion, including all subexpression generations, using an explicit
+   * stack. So the depth of nested subexpressions is limited only by available memory.
+   */
+  protected static void run( Generation generation)
+    {
+    Deque<Generation> pending = null;
+    for( Generation current = generation; current != null; )
+      {
+      Generation next = current.next();
+      if( next != null)
+        {
+        if( pending == null)
+          {
+          pending = new ArrayDeque<Generation>();
+          }
+        pending.push( current);
+        current = next;
+        }
+      else
+        {
+        current = pending == null? null : pending.poll();
+        }
+      }
+    }
+  
+  /**
+   * Returns a random number of occurrences within the given bounds. If the bounds have no maximum, uses the
+   * {@link MatchOptions#getLengthDistribution length distribution}, if any, for these options. Other random
+   * values, such as the length of a member, are drawn directly from the {@link RandomGen}.
    */
-  protected abstract String generateLength( RandomGen random, Bounds length);
+  protected int within( RandomGen random, Bounds bounds)
+    {
+    LengthDistribution lengths = getMatchOptions().getLengthDistribution();
+    return
+      lengths == null || bounds.getMaxValue() < Bounds.UNBOUNDED
+      ? random.within( bounds)
+      : Bounds.sumOf( bounds.getMinValue(), lengths.next( random));
+    }
   
   /**
    * Returns if any part of this regular expression must match the start of a string.
@@ -140,6 +256,7 @@ public abstract class AbstractRegExpGen implements RegExpGen
    */
   public void setAnchoredStart( boolean anchored)
     {
+    checkMutable();
     anchoredStart_ = anchored;
     }
   
@@ -164,9 +281,26 @@ public abstract class AbstractRegExpGen implements RegExpGen
    */
   public void setAnchoredEnd( boolean anchored)
     {
+    checkMutable();
     anchoredEnd_ = anchored;
     }
 
+  /**
+   * Returns if any of the {@link #getStartAlternatives possible starting subexpressions} must match the start of a string.
+   */
+  protected boolean isStartAlternativeAnchored()
+    {
+    return isAnchoredStartAll();
+    }
+
+  /**
+   * Returns if any of the {@link #getEndAlternatives possible ending subexpressions} must match the end of a string.
+   */
+  protected boolean isEndAlternativeAnchored()
+    {
+    return isAnchoredEndAll();
+    }
+
   /**
    * Returns the possible starting subexpressions for this regular expression.
    */
@@ -188,7 +322,44 @@ public abstract class AbstractRegExpGen implements RegExpGen
    */
   void setSource( String source)
     {
-    source_ = source;
+    setSource( source, 0, source == null? 0 : source.length());
+    }
+
+  /**
+   * Changes the regular expression string from which this generator was derived to the given
+   * range of the given pattern. The source string is not copied until {@link #getSource} is called.
+   */
+  void setSource( String pattern, int start, int end)
+    {
+    checkMutable();
+    sourcePattern_ = pattern;
+    sourceStart_ = start;
+    sourceEnd_ = end;
+    sourceDerived_ = null;
+    }
+
+  /**
+   * Changes the regular expression string from which this generator was derived to a string
+   * that is created only when {@link #getSource} is called.
+   */
+  void setSource( Supplier<String> source)
+    {
+    checkMutable();
+    sourcePattern_ = null;
+    sourceDerived_ = source;
+    }
+
+  /**
+   * Changes the regular expression string from which this generator was derived to the same
+   * source as the given generator.
+   */
+  void setSource( AbstractRegExpGen other)
+    {
+    checkMutable();
+    sourcePattern_ = other.sourcePattern_;
+    sourceStart_ = other.sourceStart_;
+    sourceEnd_ = other.sourceEnd_;
+    sourceDerived_ = other.sourceDerived_;
     }
 
   /**
@@ -197,7 +368,151 @@ public abstract class AbstractRegExpGen implements RegExpGen
   @Override
   public String getSource()
     {
-    return source_;
+    return
+      sourceDerived_ != null?
+      sourceDerived_.get() :
+
+      sourcePattern_ == null?
+      null :
+
+      sourceStart_ == 0 && sourceEnd_ == sourcePattern_.length()?
+      sourcePattern_ :
+
+      sourcePattern_.substring( sourceStart_, sourceEnd_);
+    }
+
+  /**
+   * If the {@link #getSource source} of this generator is a range of a regular expression string, returns that string.
+   * Otherwise, returns null.
+   */
+  String getSourcePattern()
+    {
+    return sourceDerived_ == null? sourcePattern_ : null;
+    }
+
+  /**
+   * Returns the start of the {@link #getSource source} of this generator in the {@link #getSourcePattern source pattern}.
+   */
+  int getSourceStart()
+    {
+    return sourceStart_;
+    }
+
+  /**
+   * Returns the end of the {@link #getSource source} of this generator in the {@link #getSourcePattern source pattern}.
+   */
+  int getSourceEnd()
+    {
+    return sourceEnd_;
+    }
+
+  /**
+   * Returns a supplier for the current {@link #getSource source} of this generator, which is not affected by
+   * later changes to the source.
+   */
+  Supplier<String> getSourceSupplier()
+    {
+    String pattern = sourcePattern_;
+    int start = sourceStart_;
+    int end = sourceEnd_;
+    Supplier<String> derived = sourceDerived_;
+
+    return
+      derived != null?
+      derived :
+
+      pattern == null?
+      () -> null :
+
+      () -> pattern.substring( start, end);
+    }
+
+  /**
+   * Freezes this generator and all of its subexpressions, so that they can no longer be changed. Returns this
+   * generator. Subexpressions are frozen before the generators that contain them, using an explicit stack, so
+   * a subexpression shared with another generator can be frozen by multiple threads concurrently. Each generator
+   * frozen is changed to use an unmodifiable copy of its {@link MatchOptions}.
+   */
+  public AbstractRegExpGen freeze()
+    {
+    Map<MatchOptions,MatchOptions> copies = new IdentityHashMap<MatchOptions,MatchOptions>();
+    Deque<AbstractRegExpGen> pending = new ArrayDeque<AbstractRegExpGen>();
+    pending.push( this);
+    while( !pending.isEmpty())
+      {
+      AbstractRegExpGen next = pending.peek();
+      boolean ready = true;
+      for( AbstractRegExpGen member : next.getSubexpressions())
+        {
+        if( !member.isFrozen())
+          {
+          pending.push( member);
+          ready = false;
+          }
+        }
+
+      if( ready)
+        {
+        pending.pop();
+        if( !next.isFrozen())
+          {
+          next.options_ = copies.computeIfAbsent( next.options_, AbstractRegExpGen::copyOf);
+          next.precompute();
+          next.frozen_ = true;
+          }
+        }
+      }
+
+    return this;
+    }
+
+  /**
+   * Returns a copy of the given options that shares no mutable state with the original.
+   */
+  private static MatchOptions copyOf( MatchOptions options)
+    {
+    return
+      options == null?
+      null :
+
+      MatchOptionsBuilder.options( options)
+      .withAny( Collections.unmodifiableSet( new LinkedHashSet<Character>( options.getAnyPrintableChars())))
+      .withSpace( Collections.unmodifiableSet( new LinkedHashSet<Character>( options.getSpaceChars())))
+      .build();
+    }
+
+  /**
+   * Returns if this generator is {@link #freeze frozen}.
+   */
+  public boolean isFrozen()
+    {
+    return frozen_;
+    }
+
+  /**
+   * Reports a failure if this generator is {@link #freeze frozen}.
+   */
+  protected void checkMutable()
+    {
+    if( isFrozen())
+      {
+      throw new IllegalStateException( String.format( "%s: Can't change a frozen generator", this));
+      }
+    }
+
+  /**
+   * Computes in advance any values derived from this generator, before it is {@link #freeze frozen}.
+   */
+  protected void precompute()
+    {
+    }
+
+  /**
+   * Returns the subexpressions of this generator.
+   */
+  protected Iterable<AbstractRegExpGen> getSubexpressions()
+    {
+    return Collections.emptyList();
     }
 
   /**
@@ -238,11 +553,28 @@ public abstract class AbstractRegExpGen implements RegExpGen
       ;
     }
 
-  private String source_;
+  /**
+   * Performs one step in generating a string that matches a regular expression.
+   */
+  @FunctionalInterface
+  protected interface Generation
+    {
+    /**
+     * Continues this generation, after completing the previous step. Returns the generation for a subexpression
+     * that must be completed before the next step, or null if this generation is complete.
+     */
+    Generation next();
+    }
+
+  private String sourcePattern_;
+  private int sourceStart_;
+  private int sourceEnd_;
+  private Supplier<String> sourceDerived_;
   private Bounds occurrences_;
   private boolean anchoredStart_ = false;
   private boolean anchoredEnd_ = false;
-  private final MatchOptions options_;
+  private volatile boolean frozen_ = false;
+  private MatchOptions options_;
 
   /**
    * Builds an {@link AbstractRegExpGen} instance.
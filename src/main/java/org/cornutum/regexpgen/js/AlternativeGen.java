@@ -16,9 +16,9 @@ import static org.cornutum.regexpgen.Bounds.dividedBy;
 import static org.cornutum.regexpgen.Bounds.productOf;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.IntStream;
+import java.util.function.IntPredicate;
 import java.util.stream.Stream;
 
 /**
@@ -63,6 +63,13 @@ public class AlternativeGen extends AbstractRegExpGen
    */
   public void add( AbstractRegExpGen member)
     {
+    checkMutable();
+    int memberMin = member.getMinLength();
+    int memberMax = member.getMaxLength();
+    memberMinLength_ = members_.isEmpty()? memberMin : Math.min( memberMinLength_, memberMin);
+    memberMaxLength_ = members_.isEmpty()? memberMax : Math.max( memberMaxLength_, memberMax);
+    startAnchored_ |= member.isStartAlternativeAnchored();
+    endAnchored_ |= member.isEndAlternativeAnchored();
     members_.add( member);
     }
 
@@ -71,7 +78,15 @@ public class AlternativeGen extends AbstractRegExpGen
    */
   public Iterable<AbstractRegExpGen> getMembers()
     {
-    return members_;
+    return Collections.unmodifiableList( members_);
+    }
+
+  /**
+   * Returns the subexpressions of this generator.
+   */
+  protected Iterable<AbstractRegExpGen> getSubexpressions()
+    {
+    return getMembers();
     }
 
   /**
@@ -95,11 +110,7 @@ public class AlternativeGen extends AbstractRegExpGen
    */
   protected int getMemberMinLength()
     {
-    return
-      IntStream.range( 0, members_.size())
-      .map( i -> members_.get(i).getMinLength())
-      .min()
-      .orElse( 0);
+    return memberMinLength_;
     }
 
   /**
@@ -107,118 +118,43 @@ public class AlternativeGen extends AbstractRegExpGen
    */
   protected int getMemberMaxLength()
     {
-    return
-      IntStream.range( 0, members_.size())
-      .map( i -> members_.get(i).getMaxLength())
-      .max()
-      .orElse( 0);
+    return memberMaxLength_;
     }
 
   /**
-   * Returns a random string within the given bounds that matches this regular expression.
+   * Appends a random string within the given bounds that matches this regular expression.
    */
-  protected String generateLength( RandomGen random, Bounds length)
+  protected void generateLength( RandomGen random, Bounds length, MatchBuffer matching)
     {
-    StringBuilder matching = new StringBuilder();
-
-    if( getMaxLength() > 0)
-      {
-      // Given a range of lengths...
-      int lengthMin = length.getMinValue();
-      int lengthMax = length.getMaxValue();
-      
-      // ...allowing for a range of occurrences...
-      int memberMin = getMemberMinLength();
-      int memberMax = getMemberMaxLength();
-      int mayOccurMin = lengthMin / memberMax;
-      int mayOccurMax = bounded( lengthMax).map( max -> dividedBy( max, memberMin)).orElse( UNBOUNDED);
-      Bounds mayOccur =
-        new Bounds( mayOccurMin, mayOccurMax)
-        .clippedTo( "Occurrences", getMinOccur(), getMaxOccur());
-
-      // ...for a random number of occurrences...
-      int targetOccur = random.within( mayOccur);
-      int targetLength = bounded( lengthMax).orElse( targetOccur * random.within( new Bounds( memberMin, memberMax)));
-
-      // ...generate a random match for each occurrence
-      int remaining;
-      int needed;
-      for( remaining = targetLength,
-             needed = lengthMin;
-           
-           targetOccur > 0
-             && remaining > 0;
-           
-           targetOccur--,
-             remaining = targetLength - matching.length(),
-             needed = lengthMin - matching.length())
-        {
-        // Can some random member generate the next occurrence?
-        int nextMin = needed / targetOccur;
-        int nextMax = remaining / targetOccur;
-        String alternativeMatch = completeAlternative( random, nextMin, nextMax);
-        if( alternativeMatch != null)
-          {
-          // Yes, append the next occurrence
-          matching.append( alternativeMatch);
-          }
-        else
-          {
-          // No, no more occurrences are possible now
-          targetOccur = 0;
-          }
-        }
-      }
-
-    return matching.toString();
+    run( generationLength( random, length, matching));
     }
 
   /**
-   * Completes a random string with the given range that matches some alternative.
+   * Returns the {@link Generation} that appends a random string within the given length bounds that matches
+   * this regular expression.
    */
-  private String completeAlternative( RandomGen random, int needed, int remaining)
+  protected Generation generationLength( RandomGen random, Bounds length, MatchBuffer matching)
     {
-    String memberMatch;
-    int nextMin;
-    for( memberMatch = null, 
-           nextMin = needed;
-
-         memberMatch == null
-           && nextMin >= 0;
-
-         nextMin--)
-      {
-      Bounds nextBounds= new Bounds( nextMin, remaining);
-
-      memberMatch =
-        memberFeasibleFor( random, nextBounds)
-        .map( member -> member.generate( random, nextBounds))
-        .orElse( null);
-      }
-
-    return memberMatch;
+    return new AlternativeGeneration( random, length, matching);
     }
 
   /**
-   * Returns a member that can generate a string within the given bounds.
+   * Returns if any part of this regular expression must match the start of a string.
    */
-  private Optional<AbstractRegExpGen> memberFeasibleFor( RandomGen random, Bounds length)
+  public boolean isAnchoredStart()
     {
     return
-      random.shuffle( members_)
-      .stream()
-      .filter( member -> member.isFeasibleLength( length))
-      .findFirst();
+      isAnchoredStartAll()
+      || isStartAlternativeAnchored();
     }
-  
+
   /**
-   * Returns if any part of this regular expression must match the start of a string.
+   * Returns if any of the {@link #getStartAlternatives possible starting subexpressions} must match the start of a string.
+   * Computed as each member is added.
    */
-  public boolean isAnchoredStart()
+  protected boolean isStartAlternativeAnchored()
     {
-    return
-      isAnchoredStartAll()
-      || getStartAlternatives().anyMatch( r -> r.isAnchoredStart());
+    return startAnchored_;
     }
   
   /**
@@ -228,7 +164,16 @@ public class AlternativeGen extends AbstractRegExpGen
     {
     return
       isAnchoredEndAll()
-      || getEndAlternatives().anyMatch( r -> r.isAnchoredEnd());
+      || isEndAlternativeAnchored();
+    }
+
+  /**
+   * Returns if any of the {@link #getEndAlternatives possible ending subexpressions} must match the end of a string.
+   * Computed as each member is added.
+   */
+  protected boolean isEndAlternativeAnchored()
+    {
+    return endAnchored_;
     }
 
   /**
@@ -283,7 +228,116 @@ public class AlternativeGen extends AbstractRegExpGen
       ^ members_.hashCode();
     }
 
-  private List<AbstractRegExpGen> members_ = new ArrayList<AbstractRegExpGen>();
+  private final List<AbstractRegExpGen> members_ = new ArrayList<AbstractRegExpGen>();
+  private boolean startAnchored_;
+  private boolean endAnchored_;
+  private int memberMinLength_;
+  private int memberMaxLength_;
+
+  /**
+   * Generates a random string that matches this regular expression, completing each occurrence with a random
+   * member that can generate a string of a feasible length. Also serves as the condition used to pick a random
+   * member, so that no other objects are allocated for each choice.
+   */
+  private class AlternativeGeneration implements Generation, IntPredicate
+    {
+    AlternativeGeneration( RandomGen random, Bounds length, MatchBuffer matching)
+      {
+      random_ = random;
+      matching_ = matching;
+
+      if( getMaxLength() > 0)
+        {
+        // Given a range of lengths...
+        int lengthMin = length.getMinValue();
+        int lengthMax = length.getMaxValue();
+      
+        // ...allowing for a range of occurrences...
+        int memberMin = getMemberMinLength();
+        int memberMax = getMemberMaxLength();
+        int mayOccurMin = lengthMin / memberMax;
+        int mayOccurMax = bounded( lengthMax).map( max -> dividedBy( max, memberMin)).orElse( UNBOUNDED);
+        Bounds mayOccur =
+          new Bounds( mayOccurMin, mayOccurMax)
+          .clippedTo( "Occurrences", getMinOccur(), getMaxOccur());
+
+        // ...for a random number of occurrences...
+        targetOccur_ = within( random, mayOccur);
+        targetLength_ = bounded( lengthMax).orElse( targetOccur_ * random.within( new Bounds( memberMin, memberMax)));
+        lengthMin_ = lengthMin;
+
+        // ...generate a random match for each occurrence
+        start_ = matching.length();
+        remaining_ = targetLength_;
+        needed_ = lengthMin;
+        }
+      }
+
+    public Generation next()
+      {
+      Generation memberGeneration = null;
+      if( generated_)
+        {
+        generated_ = false;
+        nextOccurrence();
+        }
+
+      while( memberGeneration == null && targetOccur_ > 0 && remaining_ > 0)
+        {
+        // Can some random member generate the next occurrence?
+        int nextMax = remaining_ / targetOccur_;
+        int member = -1;
+        for( int nextMin = needed_ / targetOccur_; member < 0 && nextMin >= 0; nextMin--)
+          {
+          nextBounds_ = new Bounds( nextMin, nextMax);
+          member = random_.pickWhere( this, members_.size());
+          }
+
+        if( member >= 0)
+          {
+          generated_ = true;
+          memberGeneration = members_.get( member).generation( random_, nextBounds_, matching_);
+          }
+        else
+          {
+          // No, no more occurrences are possible now
+          targetOccur_ = 0;
+          nextOccurrence();
+          }
+        }
+
+      return memberGeneration;
+      }
+
+    /**
+     * Returns if the given member can generate a string within the bounds for the next occurrence.
+     */
+    public boolean test( int member)
+      {
+      return members_.get( member).isFeasibleLength( nextBounds_);
+      }
+
+    /**
+     * Continues with the next occurrence.
+     */
+    private void nextOccurrence()
+      {
+      targetOccur_--;
+      remaining_ = targetLength_ - (matching_.length() - start_);
+      needed_ = lengthMin_ - (matching_.length() - start_);
+      }
+
+    private final RandomGen random_;
+    private final MatchBuffer matching_;
+    private int targetOccur_;
+    private int targetLength_;
+    private int lengthMin_;
+    private int start_;
+    private int remaining_;
+    private int needed_;
+    private boolean generated_;
+    private Bounds nextBounds_;
+    }
 
   /**
    * Builds an {@link AlternativeGen} instance.
@@ -51,11 +51,11 @@ public class AnyPrintableGen extends AnyOfGen
     }
 
   /**
-   * Returns the characters in this class.
+   * Returns the printable characters used to define this class.
    */
-  public Character[] getChars()
+  protected Set<Character> getPrintableChars()
     {
-    return makeChars();
+    return getMatchOptions().getAnyPrintableChars();
     }
 
   /**
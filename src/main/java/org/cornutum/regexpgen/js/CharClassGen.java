@@ -14,7 +14,7 @@ import org.cornutum.regexpgen.RandomGen;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.IntStream;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Generates a sequence based on a set of characters.
@@ -61,8 +61,9 @@ public abstract class CharClassGen extends AbstractRegExpGen
    */
   public void add( char c) 
     {
+    checkMutable();
     getCharSet().add( c);
-    charArray_ = null;
+    charValues_ = null;
     }
 
   /**
@@ -70,16 +71,12 @@ public abstract class CharClassGen extends AbstractRegExpGen
    */
   public void addAll( char first, char last) 
     {
-    int min = Character.codePointAt( new char[]{ (char) Math.min( first, last)}, 0);
-    int max = Character.codePointAt( new char[]{ (char) Math.max( first, last)}, 0);
-
-    StringBuilder range = new StringBuilder();
+    int min = Math.min( first, last);
+    int max = Math.max( first, last);
     for( int c = min; c <= max; c++)
       {
-      range.appendCodePoint( c);
+      add( (char) c);
       }
-
-    addAll( range.toString());
     }
 
   /**
@@ -123,12 +120,61 @@ public abstract class CharClassGen extends AbstractRegExpGen
    */
   public Character[] getChars()
     {
-    if( charArray_ == null)
+    return getCharValues().getChars();
+    }
+
+  /**
+   * Returns the UTF-8 encoding of each of the {@link #getChars characters} in this class.
+   * Each character is encoded independently.
+   */
+  byte[][] getUtf8Chars()
+    {
+    return getCharValues().getUtf8Chars();
+    }
+
+  /**
+   * Returns the characters in this class, together with their UTF-8 encodings. These values are computed again
+   * only if this class or its {@link #getPrintableChars printable characters} have changed. Until this class is
+   * {@link #freeze frozen}, values that depend on the printable characters are computed for each call.
+   */
+  CharValues getCharValues()
+    {
+    Set<Character> printable = getPrintableChars();
+    CharValues values = charValues_;
+    if( values == null || values.getPrintableChars() != printable || (printable != null && !isFrozen()))
       {
-      charArray_ = makeChars();
+      charValues_ = values = new CharValues( printable, makeChars());
       }
-    
-    return charArray_;
+
+    return values;
+    }
+
+  /**
+   * Returns the printable characters used to define this class, or null if this class does not depend on the
+   * printable characters.
+   */
+  protected Set<Character> getPrintableChars()
+    {
+    return null;
+    }
+
+  /**
+   * Returns the UTF-8 encoding of each of the given characters.
+   */
+  private static byte[][] utf8Of( Character[] chars)
+    {
+    return
+      Arrays.stream( chars)
+      .map( c -> String.valueOf( c).getBytes( UTF_8))
+      .toArray( byte[][]::new);
+    }
+
+  /**
+   * Computes in advance any values derived from this generator, before it is {@link #freeze frozen}.
+   */
+  protected void precompute()
+    {
+    getCharValues();
     }
 
   /**
@@ -180,15 +226,19 @@ public abstract class CharClassGen extends AbstractRegExpGen
     }
 
   /**
-   * Returns a random string within the given bounds that matches this regular expression.
+   * Appends a random string within the given bounds that matches this regular expression.
    */
-  protected String generateLength( RandomGen random, Bounds length)
+  protected void generateLength( RandomGen random, Bounds length, MatchBuffer matching)
     {
-    StringBuilder matching = new StringBuilder();
+    matching.append( this, random, within( random, length));
+    }
 
-    Character[] chars = getChars();
-    int generated = random.within( length);
-    if( generated > 0 && chars.length == 0)
+  /**
+   * Reports a failure if the given number of characters must be generated but no characters are available.
+   */
+  void checkAvailable( int available, int generated)
+    {
+    if( generated > 0 && available == 0)
       {
       throw
         new IllegalStateException(
@@ -197,11 +247,6 @@ public abstract class CharClassGen extends AbstractRegExpGen
             this,
             generated));
       }
-    
-    IntStream.range( 0, generated)
-      .forEach( i -> matching.append( chars[ random.below( chars.length)]));
-    
-    return matching.toString();
     }
 
   public boolean equals( Object object)
@@ -224,8 +269,52 @@ public abstract class CharClassGen extends AbstractRegExpGen
       ^ getCharSet().hashCode();
     }
 
-  private Set<Character> chars_ = new HashSet<Character>();
-  private Character[] charArray_ = null;
+  private final Set<Character> chars_ = new HashSet<Character>();
+  private volatile CharValues charValues_ = null;
+
+  /**
+   * The characters in a class, together with their UTF-8 encodings.
+   */
+  static class CharValues
+    {
+    /**
+     * Creates a new CharValues instance.
+     */
+    private CharValues( Set<Character> printable, Character[] chars)
+      {
+      printable_ = printable;
+      chars_ = chars;
+      utf8Chars_ = utf8Of( chars);
+      }
+
+    /**
+     * Returns the printable characters used to define these characters.
+     */
+    private Set<Character> getPrintableChars()
+      {
+      return printable_;
+      }
+
+    /**
+     * Returns the characters in this class.
+     */
+    public Character[] getChars()
+      {
+      return chars_;
+      }
+
+    /**
+     * Returns the UTF-8 encoding of each of the characters in this class.
+     */
+    public byte[][] getUtf8Chars()
+      {
+      return utf8Chars_;
+      }
+
+    private final Set<Character> printable_;
+    private final Character[] chars_;
+    private final byte[][] utf8Chars_;
+    }
 
   /**
    * Builds a {@link CharClassGen} instance.
@@ -0,0 +1,313 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.js;
+
+import org.cornutum.regexpgen.util.ToString;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Replaces identical subexpressions of different {@link AbstractRegExpGen} instances with a single shared instance.
+ * <P/>
+ * All generators interned by the same Interner must use the same {@link org.cornutum.regexpgen.MatchOptions}. An
+ * interned subexpression may report the {@link AbstractRegExpGen#getSource source} of an identical subexpression
+ * from a different regular expression. Interned generators must not be modified. An Interner can be shared by
+ * multiple threads. Generators are interned using an explicit stack, so the depth of nesting is limited only by
+ * available memory.
+ */
+class Interner implements RegExpGenVisitor
+  {
+  /**
+   * Creates a new Interner instance.
+   */
+  public Interner()
+    {
+    this( new ConcurrentHashMap<Key,AbstractRegExpGen>());
+    }
+
+  /**
+   * Creates a new Interner instance.
+   */
+  private Interner( ConcurrentMap<Key,AbstractRegExpGen> interned)
+    {
+    interned_ = interned;
+    }
+
+  /**
+   * Returns the given generator, after replacing each of its subexpressions with an identical shared instance.
+   * The given generator itself is not shared.
+   */
+  public AbstractRegExpGen intern( AbstractRegExpGen regExpGen)
+    {
+    // Use a separate visitor for each call, so that different threads can intern concurrently.
+    Interner visitor = new Interner( interned_);
+
+    // Intern each subexpression after all of its members, using an explicit stack.
+    Deque<Interning> pending = new ArrayDeque<Interning>();
+    Interning interning = visitor.new Interning( regExpGen);
+    AbstractRegExpGen interned = null;
+    while( interning != null)
+      {
+      if( interned != null)
+        {
+        interning.interned( interned);
+        interned = null;
+        }
+
+      AbstractRegExpGen member = interning.nextMember();
+      if( member != null)
+        {
+        pending.push( interning);
+        interning = visitor.new Interning( member);
+        }
+      else
+        {
+        interned = interning.complete();
+        interning = pending.poll();
+        if( interning != null)
+          {
+          interned = visitor.shared( interned);
+          }
+        }
+      }
+
+    return interned;
+    }
+
+  /**
+   * Returns the shared instance of the given generator, assuming all of its subexpressions are already shared.
+   */
+  private AbstractRegExpGen shared( AbstractRegExpGen regExpGen)
+    {
+    AbstractRegExpGen shared = interned_.putIfAbsent( keyFor( regExpGen), regExpGen);
+    return shared == null? regExpGen : shared;
+    }
+
+  public void visit( AlternativeGen regExpGen)
+    {
+    result_ =
+      changed_
+      ? copied( regExpGen, new AlternativeGen( regExpGen.getMatchOptions(), members_))
+      : regExpGen;
+    }
+
+  public void visit( SeqGen regExpGen)
+    {
+    result_ =
+      changed_
+      ? copied( regExpGen, new SeqGen( regExpGen.getMatchOptions(), members_))
+      : regExpGen;
+    }
+
+  public void visit( AnyOfGen regExpGen)
+    {
+    result_ = regExpGen;
+    }
+
+  public void visit( NoneOfGen regExpGen)
+    {
+    result_ = regExpGen;
+    }
+
+  public void visit( AnyPrintableGen regExpGen)
+    {
+    result_ = regExpGen;
+    }
+
+  public void visit( LiteralGen regExpGen)
+    {
+    result_ = regExpGen;
+    }
+
+  /**
+   * Returns the given copy, after updating it to match the given original.
+   */
+  private AbstractRegExpGen copied( AbstractRegExpGen original, AbstractRegExpGen copy)
+    {
+    copy.setOccurrences( original.getOccurrences());
+    copy.setAnchoredStart( original.isAnchoredStartAll());
+    copy.setAnchoredEnd( original.isAnchoredEndAll());
+    copy.setSource( original);
+    return copy;
+    }
+
+  /**
+   * Returns the key for the given generator, assuming all of its subexpressions are already shared.
+   */
+  private static Key keyFor( AbstractRegExpGen regExpGen)
+    {
+    Object[] parts = new Object[4];
+    parts[0] = regExpGen.getClass();
+    parts[1] = regExpGen.getOccurrences();
+    parts[2] = (regExpGen.isAnchoredStartAll()? 1 : 0) | (regExpGen.isAnchoredEndAll()? 2 : 0);
+    parts[3] =
+      regExpGen instanceof SeqGen?
+      new Members( ((SeqGen) regExpGen).getMembers()) :
+
+      regExpGen instanceof AlternativeGen?
+      new Members( ((AlternativeGen) regExpGen).getMembers()) :
+
+      regExpGen instanceof LiteralGen?
+      ((LiteralGen) regExpGen).getChars() :
+
+      ((CharClassGen) regExpGen).getCharSet();
+
+    return new Key( parts);
+    }
+
+  public String toString()
+    {
+    return
+      ToString.getBuilder( this)
+      .append( "interned", interned_.size())
+      .toString();
+    }
+
+  private final ConcurrentMap<Key,AbstractRegExpGen> interned_;
+  private AbstractRegExpGen result_;
+  private List<AbstractRegExpGen> members_;
+  private boolean changed_;
+
+  /**
+   * Interns an {@link AbstractRegExpGen}, after interning each of its members.
+   */
+  private class Interning
+    {
+    Interning( AbstractRegExpGen regExpGen)
+      {
+      regExpGen_ = regExpGen;
+
+      Iterable<AbstractRegExpGen> members =
+        regExpGen instanceof SeqGen?
+        ((SeqGen) regExpGen).getMembers() :
+
+        regExpGen instanceof AlternativeGen?
+        ((AlternativeGen) regExpGen).getMembers() :
+
+        null;
+
+      if( members != null)
+        {
+        members_ = new ArrayList<AbstractRegExpGen>();
+        members.forEach( members_::add);
+        }
+      }
+
+    /**
+     * Returns the next member to intern, or null if all members are interned.
+     */
+    AbstractRegExpGen nextMember()
+      {
+      return
+        members_ != null && next_ < members_.size()
+        ? members_.get( next_)
+        : null;
+      }
+
+    /**
+     * Replaces the next member with the given shared member.
+     */
+    void interned( AbstractRegExpGen member)
+      {
+      changed_ |= members_.set( next_++, member) != member;
+      }
+
+    /**
+     * Returns the interned {@link AbstractRegExpGen}.
+     */
+    AbstractRegExpGen complete()
+      {
+      Interner.this.members_ = members_;
+      Interner.this.changed_ = changed_;
+      regExpGen_.accept( Interner.this);
+      return result_;
+      }
+
+    private final AbstractRegExpGen regExpGen_;
+    private List<AbstractRegExpGen> members_;
+    private int next_;
+    private boolean changed_;
+    }
+
+  /**
+   * Identifies an interned generator.
+   */
+  private static class Key
+    {
+    Key( Object[] parts)
+      {
+      parts_ = parts;
+      hashCode_ = Arrays.hashCode( parts);
+      }
+
+    public boolean equals( Object object)
+      {
+      return
+        object instanceof Key
+        && Arrays.equals( ((Key) object).parts_, parts_);
+      }
+
+    public int hashCode()
+      {
+      return hashCode_;
+      }
+
+    private final Object[] parts_;
+    private final int hashCode_;
+    }
+
+  /**
+   * Compares members that are already shared by identity, so that keys never compare entire subtrees.
+   */
+  private static class Members
+    {
+    Members( Iterable<AbstractRegExpGen> members)
+      {
+      List<AbstractRegExpGen> list = new ArrayList<AbstractRegExpGen>();
+      members.forEach( list::add);
+      members_ = list.toArray( new AbstractRegExpGen[0]);
+
+      int hashCode = 1;
+      for( AbstractRegExpGen member : members_)
+        {
+        hashCode = 31 * hashCode + System.identityHashCode( member);
+        }
+      hashCode_ = hashCode;
+      }
+
+    public boolean equals( Object object)
+      {
+      AbstractRegExpGen[] other =
+        object instanceof Members
+        ? ((Members) object).members_
+        : null;
+
+      boolean equal = other != null && other.length == members_.length;
+      for( int i = 0; equal && i < members_.length; i++)
+        {
+        equal = other[i] == members_[i];
+        }
+
+      return equal;
+      }
+
+    public int hashCode()
+      {
+      return hashCode_;
+      }
+
+    private final AbstractRegExpGen[] members_;
+    private final int hashCode_;
+    }
+  }
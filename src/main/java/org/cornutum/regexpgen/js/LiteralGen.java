@@ -0,0 +1,191 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.js;
+
+import org.cornutum.regexpgen.Bounds;
+import org.cornutum.regexpgen.MatchOptions;
+import org.cornutum.regexpgen.RandomGen;
+import static org.cornutum.regexpgen.Bounds.bounded;
+import static org.cornutum.regexpgen.Bounds.productOf;
+import static org.cornutum.regexpgen.Bounds.UNBOUNDED;
+
+import java.util.Optional;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Generates strings matching a fixed sequence of characters.
+ */
+public class LiteralGen extends AbstractRegExpGen
+  {
+  /**
+   * Creates a new LiteralGen instance.
+   */
+  public LiteralGen( MatchOptions options)
+    {
+    this( options, "");
+    }
+
+  /**
+   * Creates a new LiteralGen instance.
+   */
+  public LiteralGen( MatchOptions options, String chars)
+    {
+    super( options);
+    chars_ = Optional.ofNullable( chars).orElse( "");
+    }
+
+  /**
+   * Changes the characters matched by this literal.
+   */
+  public void setChars( String chars)
+    {
+    checkMutable();
+    chars_ = Optional.ofNullable( chars).orElse( "");
+    utf8Chars_ = null;
+    }
+
+  /**
+   * Returns the characters matched by this literal.
+   */
+  public String getChars()
+    {
+    return chars_;
+    }
+
+  /**
+   * Returns the UTF-8 encoding of the {@link #getChars characters} matched by this literal.
+   */
+  byte[] getUtf8Chars()
+    {
+    if( utf8Chars_ == null)
+      {
+      utf8Chars_ = chars_.getBytes( UTF_8);
+      }
+
+    return utf8Chars_;
+    }
+
+  /**
+   * Computes in advance any values derived from this generator, before it is {@link #freeze frozen}.
+   */
+  protected void precompute()
+    {
+    utf8Chars_ = chars_.getBytes( UTF_8);
+    }
+
+  /**
+   * Returns the minimum length for any matching string.
+   */
+  public int getMinLength()
+    {
+    return productOf( getMinOccur(), chars_.length());
+    }
+
+  /**
+   * Returns the maximum length for any matching string.
+   */
+  public int getMaxLength()
+    {
+    return productOf( getMaxOccur(), chars_.length());
+    }
+
+  /**
+   * Appends a random string within the given bounds that matches this regular expression.
+   */
+  protected void generateLength( RandomGen random, Bounds length, MatchBuffer matching)
+    {
+    int literalLength = chars_.length();
+    if( literalLength > 0)
+      {
+      // Given a range of lengths, allow only whole occurrences, rounding down if no whole number fits.
+      int lengthMin = length.getMinValue();
+      int mayOccurMax = bounded( length.getMaxValue()).map( max -> max / literalLength).orElse( UNBOUNDED);
+      int mayOccurMin = Math.min( lengthMin / literalLength + (lengthMin % literalLength == 0? 0 : 1), mayOccurMax);
+      Bounds mayOccur =
+        new Bounds( mayOccurMin, mayOccurMax)
+        .clippedTo( "Occurrences", getMinOccur(), getMaxOccur());
+
+      matching.append(
+        this,
+        mayOccur.getMinValue() == mayOccur.getMaxValue()
+        ? mayOccur.getMinValue()
+        : within( random, mayOccur));
+      }
+    }
+
+  /**
+   * Implements the Visitor pattern for {@link AbstractRegExpGen} implementations.
+   */
+  public void accept( RegExpGenVisitor visitor)
+    {
+    visitor.visit( this);
+    }
+
+  /**
+   * Returns an {@link LiteralGen} builder.
+   */
+  public static Builder builder( MatchOptions options)
+    {
+    return new Builder( options);
+    }
+
+  public boolean equals( Object object)
+    {
+    LiteralGen other =
+      object != null && object.getClass().equals( getClass())
+      ? (LiteralGen) object
+      : null;
+
+    return
+      other != null
+      && super.equals( other)
+      && other.chars_.equals( chars_);
+    }
+
+  public int hashCode()
+    {
+    return
+      super.hashCode()
+      ^ chars_.hashCode();
+    }
+
+  private String chars_;
+  private volatile byte[] utf8Chars_;
+
+  /**
+   * Builds a {@link LiteralGen} instance.
+   */
+  public static class Builder extends BaseBuilder<Builder>
+    {
+    public Builder( MatchOptions options)
+      {
+      literal_ = new LiteralGen( options);
+      }
+
+    /**
+     * Returns the {@link AbstractRegExpGen} instance for this builder.
+     */
+    protected AbstractRegExpGen getAbstractRegExpGen()
+      {
+      return literal_;
+      }
+
+    public Builder add( String chars)
+      {
+      literal_.setChars( literal_.getChars() + chars);
+      return this;
+      }
+
+    public LiteralGen build()
+      {
+      return literal_;
+      }
+
+    private LiteralGen literal_;
+    }
+  }
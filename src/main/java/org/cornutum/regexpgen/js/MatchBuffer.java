@@ -0,0 +1,320 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.js;
+
+import org.cornutum.regexpgen.RandomGen;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Accumulates the characters of a generated match.
+ * <P/>
+ * The {@link #length length} of a match is always measured in characters, regardless of how
+ * the characters are encoded in this buffer.
+ */
+public abstract class MatchBuffer
+  {
+  /**
+   * Creates a new MatchBuffer instance.
+   */
+  MatchBuffer()
+    {
+    }
+
+  /**
+   * Returns the number of characters in this buffer.
+   */
+  public abstract int length();
+
+  /**
+   * Appends the given number of random characters from the given class.
+   */
+  public abstract void append( CharClassGen charClass, RandomGen random, int count);
+
+  /**
+   * Appends the given number of occurrences of the given literal.
+   */
+  public abstract void append( LiteralGen literal, int count);
+
+  /**
+   * Returns a mark that can be used to {@link #reset} this buffer to its current contents.
+   */
+  public abstract long mark();
+
+  /**
+   * Discards all characters appended since the given {@link #mark} was made.
+   */
+  public abstract void reset( long mark);
+
+  /**
+   * Accumulates a match as a string of characters.
+   */
+  static class Chars extends MatchBuffer
+    {
+    /**
+     * Returns the number of characters in this buffer.
+     */
+    public int length()
+      {
+      return chars_.length();
+      }
+
+    /**
+     * Appends the given number of random characters from the given class.
+     */
+    public void append( CharClassGen charClass, RandomGen random, int count)
+      {
+      Character[] chars = charClass.getChars();
+      charClass.checkAvailable( chars.length, count);
+      for( int i = 0; i < count; i++)
+        {
+        chars_.append( chars[ random.below( chars.length)]);
+        }
+      }
+
+    /**
+     * Appends the given number of occurrences of the given literal.
+     */
+    public void append( LiteralGen literal, int count)
+      {
+      String chars = literal.getChars();
+      for( int i = 0; i < count; i++)
+        {
+        chars_.append( chars);
+        }
+      }
+
+    /**
+     * Returns a mark that can be used to {@link #reset} this buffer to its current contents.
+     */
+    public long mark()
+      {
+      return chars_.length();
+      }
+
+    /**
+     * Discards all characters appended since the given {@link #mark} was made.
+     */
+    public void reset( long mark)
+      {
+      chars_.setLength( (int) mark);
+      }
+
+    public String toString()
+      {
+      return chars_.toString();
+      }
+
+    private final StringBuilder chars_ = new StringBuilder();
+    }
+
+  /**
+   * Accumulates a match as a sequence of UTF-8 bytes.
+   * <P/>
+   * The bytes are always the same as the UTF-8 encoding of the same characters as a string. In particular, a
+   * surrogate pair is encoded as a single code point, even when its high and low surrogates are appended
+   * separately, and an unpaired surrogate is encoded as "?".
+   */
+  static class Utf8 extends MatchBuffer
+    {
+    /**
+     * Creates a new Utf8 instance that grows as needed, starting with the given capacity.
+     */
+    Utf8( int capacity)
+      {
+      this( ByteBuffer.allocate( capacity), true);
+      }
+
+    /**
+     * Creates a new Utf8 instance that writes into the given buffer.
+     */
+    Utf8( ByteBuffer bytes)
+      {
+      this( bytes, false);
+      }
+
+    /**
+     * Creates a new Utf8 instance.
+     */
+    private Utf8( ByteBuffer bytes, boolean growable)
+      {
+      bytes_ = bytes;
+      growable_ = growable;
+      }
+
+    /**
+     * Returns the number of characters in this buffer.
+     */
+    public int length()
+      {
+      return length_;
+      }
+
+    /**
+     * Appends the given number of random characters from the given class.
+     */
+    public void append( CharClassGen charClass, RandomGen random, int count)
+      {
+      CharClassGen.CharValues values = charClass.getCharValues();
+      Character[] chars = values.getChars();
+      byte[][] encoded = values.getUtf8Chars();
+      charClass.checkAvailable( encoded.length, count);
+      for( int i = 0; i < count; i++)
+        {
+        int next = random.below( encoded.length);
+        put( chars[ next].charValue(), encoded[ next]);
+        }
+      length_ += count;
+      }
+
+    /**
+     * Appends the given number of occurrences of the given literal.
+     */
+    public void append( LiteralGen literal, int count)
+      {
+      String chars = literal.getChars();
+      int length = chars.length();
+      if( length > 0)
+        {
+        if( Character.isSurrogate( chars.charAt( 0)) || Character.isSurrogate( chars.charAt( length - 1)))
+          {
+          // A surrogate at either end may pair with an adjacent character, so encode each character separately.
+          for( int i = 0; i < count; i++)
+            {
+            for( int j = 0; j < length; j++)
+              {
+              char c = chars.charAt( j);
+              put( c, String.valueOf( c).getBytes( UTF_8));
+              }
+            }
+          }
+        else if( count > 0)
+          {
+          byte[] encoded = literal.getUtf8Chars();
+          for( int i = 0; i < count; i++)
+            {
+            put( encoded);
+            }
+          highSurrogate_ = false;
+          }
+        }
+      length_ += count * length;
+      }
+
+    /**
+     * Returns a mark that can be used to {@link #reset} this buffer to its current contents.
+     */
+    public long mark()
+      {
+      return
+        (highSurrogate_? HIGH_SURROGATE : 0)
+        | ((long) length_ << 32)
+        | bytes_.position();
+      }
+
+    /**
+     * Discards all characters appended since the given {@link #mark} was made.
+     */
+    public void reset( long mark)
+      {
+      highSurrogate_ = (mark & HIGH_SURROGATE) != 0;
+      length_ = (int) ((mark & ~HIGH_SURROGATE) >>> 32);
+      bytes_.position( (int) mark);
+      }
+
+    /**
+     * Returns the buffer containing the bytes written.
+     */
+    ByteBuffer getBytes()
+      {
+      return bytes_;
+      }
+
+    /**
+     * Returns a copy of the bytes written.
+     */
+    byte[] toByteArray()
+      {
+      return Arrays.copyOf( bytes_.array(), bytes_.position());
+      }
+
+    /**
+     * Writes the given character, using the given encoding unless the character completes a surrogate pair.
+     * An unpaired high surrogate is written as "?", which is replaced if the next character is a low surrogate.
+     * The position of each "?" written for a high surrogate is recorded, so that the pair can still be completed
+     * after this buffer is {@link #reset}.
+     */
+    private void put( char c, byte[] encoded)
+      {
+      if( highSurrogate_ && Character.isLowSurrogate( c))
+        {
+        int placeholder = bytes_.position() - 1;
+        int codePoint = Character.toCodePoint( highSurrogates_.get( placeholder), c);
+        bytes_.position( placeholder);
+        put(
+          new byte[]{
+            (byte) (0xf0 | (codePoint >> 18)),
+            (byte) (0x80 | ((codePoint >> 12) & 0x3f)),
+            (byte) (0x80 | ((codePoint >> 6) & 0x3f)),
+            (byte) (0x80 | (codePoint & 0x3f))
+          });
+        highSurrogate_ = false;
+        }
+      else
+        {
+        highSurrogate_ = Character.isHighSurrogate( c);
+        if( highSurrogate_)
+          {
+          if( highSurrogates_ == null)
+            {
+            highSurrogates_ = new HashMap<Integer,Character>();
+            }
+          highSurrogates_.put( bytes_.position(), c);
+          }
+        put( encoded);
+        }
+      }
+
+    /**
+     * Writes the given bytes, growing the buffer if necessary.
+     */
+    private void put( byte[] encoded)
+      {
+      if( bytes_.remaining() < encoded.length)
+        {
+        if( !growable_)
+          {
+          throw new BufferOverflowException();
+          }
+
+        ByteBuffer grown = ByteBuffer.allocate( Math.max( bytes_.capacity() * 2, bytes_.position() + encoded.length));
+        bytes_.flip();
+        grown.put( bytes_);
+        bytes_ = grown;
+        }
+
+      bytes_.put( encoded);
+      }
+
+    private ByteBuffer bytes_;
+    private final boolean growable_;
+    private int length_ = 0;
+    private boolean highSurrogate_ = false;
+    private Map<Integer,Character> highSurrogates_;
+
+    /**
+     * Marks the end of an unpaired high surrogate.
+     */
+    private static final long HIGH_SURROGATE = 1L << 63;
+    }
+  }
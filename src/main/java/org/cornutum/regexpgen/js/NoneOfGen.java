@@ -58,11 +58,11 @@ public class NoneOfGen extends CharClassGen
     }
 
   /**
-   * Returns the characters in this class.
+   * Returns the printable characters used to define this class.
    */
-  public Character[] getChars()
+  protected Set<Character> getPrintableChars()
     {
-    return makeChars();
+    return getMatchOptions().getAnyPrintableChars();
     }
 
   /**
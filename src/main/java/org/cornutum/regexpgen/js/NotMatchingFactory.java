@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static java.util.Collections.emptyList;
@@ -209,12 +210,12 @@ public class NotMatchingFactory implements RegExpGenVisitor
 
   private static <T extends AbstractRegExpGen> T withSource( T regExpGen, Set<Character> source)
     {
-    return withSource( regExpGen, source.stream().map( CharUtils::charClassLiteral).collect( joining( "", "[", "]")));
+    return withSource( regExpGen, () -> source.stream().map( CharUtils::charClassLiteral).collect( joining( "", "[", "]")));
     }
 
   private static AlternativeGen withSource( AlternativeGen alternativeGen, List<AbstractRegExpGen> members)
     {
-    return withSource( alternativeGen, members.stream().map( RegExpGen::getSource).collect( joining( "|", "(", ")")));
+    return withSource( alternativeGen, () -> members.stream().map( RegExpGen::getSource).collect( joining( "|", "(", ")")));
     }
 
   private static <T extends AbstractRegExpGen> T withSource( T regExpGen, String source)
@@ -223,10 +224,17 @@ public class NotMatchingFactory implements RegExpGenVisitor
     return regExpGen;
     }
 
+  private static <T extends AbstractRegExpGen> T withSource( T regExpGen, Supplier<String> source)
+    {
+    regExpGen.setSource( source);
+    return regExpGen;
+    }
+
   private static <T extends AbstractRegExpGen> T withLength( T regExpGen, int minLength, Integer maxLength)
     {
     regExpGen.setOccurrences( minLength, maxLength);
-    return withSource( regExpGen, String.format( "%s{%s,%s}", regExpGen.getSource(), minLength, Objects.toString( maxLength, "")));
+    Supplier<String> source = regExpGen.getSourceSupplier();
+    return withSource( regExpGen, () -> String.format( "%s{%s,%s}", source.get(), minLength, Objects.toString( maxLength, "")));
     }
 
   private static <T extends AbstractRegExpGen> T withAnchors( T regExpGen)
@@ -236,7 +244,8 @@ public class NotMatchingFactory implements RegExpGenVisitor
       .map( r -> {
         r.setAnchoredStart( true);
         r.setAnchoredEnd( true);
-        return withSource( r, String.format( "^%s$", r.getSource()));
+        Supplier<String> source = r.getSourceSupplier();
+        return withSource( r, () -> String.format( "^%s$", source.get()));
         })
       .orElse( null);
     }
@@ -296,6 +305,23 @@ public class NotMatchingFactory implements RegExpGenVisitor
     visitCharClass( regExpGen);
     }
   
+  public void visit( LiteralGen regExpGen)
+    {
+    String chars = regExpGen.getChars();
+    sequences_ =
+      Optional.of( regExpGen)
+      .filter( literal -> literal.getMaxOccur() > 0 && !chars.isEmpty())
+      .map( literal -> {
+        List<CharClassGen> literalChars = new ArrayList<CharClassGen>( chars.length());
+        for( int i = 0; i < chars.length(); i++)
+          {
+          literalChars.add( new AnyOfGen( literal.getMatchOptions(), chars.charAt(i)));
+          }
+        return singletonList( literalChars);
+        })
+      .orElse( emptyList());
+    }
+  
   public void visitCharClass( CharClassGen regExpGen)
     {
     sequences_ =
@@ -0,0 +1,407 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.js;
+
+import org.cornutum.regexpgen.Bounds;
+import org.cornutum.regexpgen.util.ToString;
+import static org.cornutum.regexpgen.Bounds.sumOf;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Returns an equivalent {@link AbstractRegExpGen} with fewer subexpressions. The optimized generator matches
+ * exactly the same strings as the original. Specifically:
+ * <UL>
+ * <LI> The members of a nested sequence are added directly to the enclosing sequence, unless the nested
+ * sequence is quantified or anchored. </LI>
+ * <LI> Adjacent unquantified, unanchored literal characters in a sequence are replaced by a single
+ * {@link LiteralGen}. </LI>
+ * <LI> Adjacent occurrences of the same unanchored character class in a sequence are replaced by a single
+ * character class. For example, "aa{2,}" is replaced by "a{3,}". </LI>
+ * <LI> An alternation of unanchored, disjoint character classes of the same size is replaced by a single
+ * character class. For example, "a|b|c" is replaced by "[abc]". Because each alternative is equally likely,
+ * each character is generated with the same probability as before. </LI>
+ * </UL>
+ * Generators are rebuilt using an explicit stack, so the depth of nesting is limited only by available memory.
+ * The original generator is not modified, and unchanged subexpressions are not copied.
+ */
+class Optimizer implements RegExpGenVisitor
+  {
+  /**
+   * Creates a new Optimizer instance.
+   */
+  public Optimizer()
+    {
+    }
+
+  /**
+   * Returns an optimized version of the given generator.
+   */
+  public AbstractRegExpGen optimize( AbstractRegExpGen regExpGen)
+    {
+    Deque<Optimized> pending = new ArrayDeque<Optimized>();
+    Optimized optimizing = new Optimized( regExpGen);
+    AbstractRegExpGen optimized = null;
+    while( optimizing != null)
+      {
+      if( optimized != null)
+        {
+        optimizing.optimized( optimized);
+        optimized = null;
+        }
+
+      AbstractRegExpGen member = optimizing.nextMember();
+      if( member != null)
+        {
+        pending.push( optimizing);
+        optimizing = new Optimized( member);
+        }
+      else
+        {
+        optimized = optimizing.complete();
+        optimizing = pending.poll();
+        }
+      }
+
+    return optimized;
+    }
+
+  public void visit( AlternativeGen regExpGen)
+    {
+    CharClassGen charClass = charClassFor( members_);
+    result_ =
+      charClass != null?
+      copied( regExpGen, charClass) :
+
+      changed_?
+      copied( regExpGen, new AlternativeGen( regExpGen.getMatchOptions(), members_)) :
+
+      regExpGen;
+    }
+
+  public void visit( SeqGen regExpGen)
+    {
+    List<AbstractRegExpGen> members = new ArrayList<AbstractRegExpGen>();
+    boolean changed = changed_;
+    for( AbstractRegExpGen member : members_)
+      {
+      if( isTransparent( member))
+        {
+        // Replace a nested sequence with its members...
+        for( AbstractRegExpGen nested : ((SeqGen) member).getMembers())
+          {
+          addMember( members, nested);
+          }
+        changed = true;
+        }
+      else
+        {
+        // ...and combine repeated occurrences of the same character class.
+        changed |= !addMember( members, member);
+        }
+      }
+
+    result_ =
+      changed
+      ? copied( regExpGen, new SeqGen( regExpGen.getMatchOptions(), members))
+      : regExpGen;
+    }
+
+  public void visit( AnyOfGen regExpGen)
+    {
+    result_ = regExpGen;
+    }
+
+  public void visit( NoneOfGen regExpGen)
+    {
+    result_ = regExpGen;
+    }
+
+  public void visit( AnyPrintableGen regExpGen)
+    {
+    result_ = regExpGen;
+    }
+
+  public void visit( LiteralGen regExpGen)
+    {
+    result_ = regExpGen;
+    }
+
+  /**
+   * Adds the given member to the given sequence. If the member continues a literal or repeats the character class
+   * of the last member of the sequence, replaces the last member with a single generator for both. Returns false if
+   * the sequence was changed in this way.
+   */
+  private boolean addMember( List<AbstractRegExpGen> members, AbstractRegExpGen member)
+    {
+    int last = members.size() - 1;
+    AbstractRegExpGen combined = null;
+    if( last >= 0 && (combined = literalFor( members.get( last), member)) == null)
+      {
+      combined = repeatedFor( members.get( last), member);
+      }
+
+    if( combined != null)
+      {
+      members.set( last, combined);
+      }
+    else
+      {
+      members.add( member);
+      }
+
+    return combined == null;
+    }
+
+  /**
+   * If the given members are both unquantified, unanchored literal characters, returns a {@link LiteralGen}
+   * that matches both. Otherwise, returns null.
+   */
+  private LiteralGen literalFor( AbstractRegExpGen prev, AbstractRegExpGen next)
+    {
+    String prevChars = literalChars( prev);
+    String nextChars = prevChars == null? null : literalChars( next);
+
+    LiteralGen literal = null;
+    if( nextChars != null)
+      {
+      literal = new LiteralGen( prev.getMatchOptions(), prevChars + nextChars);
+      literal.setSource( sourceOf( prev, next));
+      }
+
+    return literal;
+    }
+
+  /**
+   * If the given generator is an unquantified, unanchored literal, returns the characters it matches.
+   * Otherwise, returns null.
+   */
+  private String literalChars( AbstractRegExpGen regExpGen)
+    {
+    boolean literal =
+      regExpGen.getMinOccur() == 1
+      && regExpGen.getMaxOccur() == 1
+      && isUnanchored( regExpGen);
+
+    return
+      !literal?
+      null :
+
+      regExpGen.getClass().equals( LiteralGen.class)?
+      ((LiteralGen) regExpGen).getChars() :
+
+      regExpGen.getClass().equals( AnyOfGen.class) && ((CharClassGen) regExpGen).getCharSet().size() == 1?
+      String.valueOf( ((CharClassGen) regExpGen).getCharSet().iterator().next()) :
+
+      null;
+    }
+
+  /**
+   * If the given members are occurrences of the same unanchored character class, returns a character class that
+   * matches both. Otherwise, returns null.
+   */
+  private CharClassGen repeatedFor( AbstractRegExpGen prev, AbstractRegExpGen next)
+    {
+    CharClassGen repeated = null;
+    if( prev instanceof CharClassGen && prev.getClass().equals( next.getClass()) && isUnanchored( prev) && isUnanchored( next))
+      {
+      CharClassGen prevClass = (CharClassGen) prev;
+      CharClassGen nextClass = (CharClassGen) next;
+      if( prevClass.getCharSet().equals( nextClass.getCharSet()) && (repeated = copyOf( prevClass)) != null)
+        {
+        repeated.setOccurrences(
+          new Bounds(
+            sumOf( prevClass.getMinOccur(), nextClass.getMinOccur()),
+            sumOf( prevClass.getMaxOccur(), nextClass.getMaxOccur())));
+        repeated.setSource( sourceOf( prevClass, nextClass));
+        }
+      }
+
+    return repeated;
+    }
+
+  /**
+   * If the given alternatives are single occurrences of unanchored, disjoint character classes of the same size,
+   * returns a single character class that matches any of them. Otherwise, returns null.
+   */
+  private CharClassGen charClassFor( List<AbstractRegExpGen> alternatives)
+    {
+    Set<Character> chars = new HashSet<Character>();
+    int size = -1;
+    boolean disjoint = alternatives.size() > 1;
+    for( int i = 0; disjoint && i < alternatives.size(); i++)
+      {
+      AbstractRegExpGen alternative = alternatives.get(i);
+      Set<Character> alternativeChars =
+        alternative.getClass().equals( AnyOfGen.class) && isUnanchored( alternative) && alternative.getMaxOccur() == 1 && alternative.getMinOccur() == 1
+        ? ((CharClassGen) alternative).getCharSet()
+        : null;
+
+      disjoint =
+        alternativeChars != null
+        && !alternativeChars.isEmpty()
+        && (size < 0 || alternativeChars.size() == size)
+        && alternativeChars.stream().noneMatch( chars::contains);
+
+      if( disjoint)
+        {
+        size = alternativeChars.size();
+        chars.addAll( alternativeChars);
+        }
+      }
+
+    return
+      disjoint
+      ? new AnyOfGen( alternatives.get(0).getMatchOptions(), chars)
+      : null;
+    }
+
+  /**
+   * Returns a copy of the given character class, or null if it can't be copied.
+   */
+  private CharClassGen copyOf( CharClassGen charClass)
+    {
+    Class<?> type = charClass.getClass();
+    return
+      type.equals( AnyOfGen.class)?
+      new AnyOfGen( charClass.getMatchOptions(), charClass.getCharSet()) :
+
+      type.equals( NoneOfGen.class)?
+      new NoneOfGen( charClass.getMatchOptions(), charClass.getCharSet()) :
+
+      type.equals( AnyPrintableGen.class)?
+      new AnyPrintableGen( charClass.getMatchOptions()) :
+
+      null;
+    }
+
+  /**
+   * Returns the source for a sequence of the given generators.
+   */
+  private Supplier<String> sourceOf( AbstractRegExpGen prev, AbstractRegExpGen next)
+    {
+    Supplier<String> prevSource = prev.getSourceSupplier();
+    Supplier<String> nextSource = next.getSourceSupplier();
+    return
+      () -> {
+      String prevChars = prevSource.get();
+      String nextChars = nextSource.get();
+      return prevChars == null || nextChars == null? null : prevChars + nextChars;
+      };
+    }
+
+  /**
+   * Returns if the given member of a sequence can be replaced by its own members.
+   */
+  private boolean isTransparent( AbstractRegExpGen member)
+    {
+    return
+      member.getClass().equals( SeqGen.class)
+      && member.getMinOccur() == 1
+      && member.getMaxOccur() == 1
+      && isUnanchored( member);
+    }
+
+  /**
+   * Returns if the given generator is not itself anchored. Subexpressions may be anchored.
+   */
+  private boolean isUnanchored( AbstractRegExpGen regExpGen)
+    {
+    return !(regExpGen.isAnchoredStartAll() || regExpGen.isAnchoredEndAll());
+    }
+
+  /**
+   * Returns the given copy, after updating it to match the given original.
+   */
+  private AbstractRegExpGen copied( AbstractRegExpGen original, AbstractRegExpGen copy)
+    {
+    copy.setOccurrences( original.getOccurrences());
+    copy.setAnchoredStart( original.isAnchoredStartAll());
+    copy.setAnchoredEnd( original.isAnchoredEndAll());
+    copy.setSource( original);
+    return copy;
+    }
+
+  public String toString()
+    {
+    return
+      ToString.getBuilder( this)
+      .toString();
+    }
+
+  private List<AbstractRegExpGen> members_;
+  private boolean changed_;
+  private AbstractRegExpGen result_;
+
+  /**
+   * Optimizes a {@link AbstractRegExpGen}, after optimizing each of its members.
+   */
+  private class Optimized
+    {
+    Optimized( AbstractRegExpGen regExpGen)
+      {
+      regExpGen_ = regExpGen;
+
+      Iterable<AbstractRegExpGen> members =
+        regExpGen instanceof SeqGen?
+        ((SeqGen) regExpGen).getMembers() :
+
+        regExpGen instanceof AlternativeGen?
+        ((AlternativeGen) regExpGen).getMembers() :
+
+        null;
+
+      if( members != null)
+        {
+        members_ = new ArrayList<AbstractRegExpGen>();
+        members.forEach( members_::add);
+        }
+      }
+
+    /**
+     * Returns the next member to optimize, or null if all members are optimized.
+     */
+    AbstractRegExpGen nextMember()
+      {
+      return
+        members_ != null && next_ < members_.size()
+        ? members_.get( next_)
+        : null;
+      }
+
+    /**
+     * Replaces the next member with the given optimized member.
+     */
+    void optimized( AbstractRegExpGen member)
+      {
+      changed_ |= members_.set( next_++, member) != member;
+      }
+
+    /**
+     * Returns the optimized {@link AbstractRegExpGen}.
+     */
+    AbstractRegExpGen complete()
+      {
+      Optimizer.this.members_ = members_;
+      Optimizer.this.changed_ = changed_;
+      regExpGen_.accept( Optimizer.this);
+      return result_;
+      }
+
+    private final AbstractRegExpGen regExpGen_;
+    private List<AbstractRegExpGen> members_;
+    private int next_;
+    private boolean changed_;
+    }
+  }
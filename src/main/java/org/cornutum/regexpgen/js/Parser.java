@@ -14,13 +14,14 @@ import org.cornutum.regexpgen.util.ToString;
 
 import org.apache.commons.collections4.IterableUtils;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
-import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Returns the {@link AbstractRegExpGen} represented by a JavaScript regular expression.
@@ -33,6 +34,24 @@ public class Parser
   Parser( String regexp, MatchOptions options)
     {
     chars_ = regexp;
+    reader_ = null;
+    buffer_ = null;
+    options_ = options;
+    charClasses_ = new CharClasses( options);
+    }
+
+  /**
+   * Creates a new Parser instance that reads a regular expression from the given reader, using the given options.
+   * <P/>
+   * The regular expression is parsed in a single pass, holding only a small window of characters around the
+   * cursor. No copy of the regular expression is retained, so generators parsed from a reader have no
+   * {@link AbstractRegExpGen#getSource source}.
+   */
+  Parser( Reader regexp, MatchOptions options)
+    {
+    chars_ = null;
+    reader_ = regexp;
+    buffer_ = new char[ BUFFER_SIZE];
     options_ = options;
     charClasses_ = new CharClasses( options);
     }
@@ -51,79 +70,59 @@ public class Parser
       }
     
     return
-      Optional.ofNullable( regExpGen)
-      .map( r -> options().isExactMatch()? r : withStartGen( withEndGen( r)))
-      .orElse( null);
+      regExpGen == null || options().isExactMatch()
+      ? regExpGen
+      : withStartGen( withEndGen( regExpGen));
     }
 
   /**
    * Returns the {@link RegExpGen} represented by next element of this JavaScript regular expression.
+   * Groups and assertions nested in this element are parsed using an explicit stack, so the depth of
+   * nesting is limited only by available memory.
    */
   private AbstractRegExpGen getNext()
     {
-    int cursorStart = cursor();
-    List<AbstractRegExpGen> alternatives = new ArrayList<AbstractRegExpGen>();
-    AbstractRegExpGen alternative = getAlternative();
-    if( alternative != null)
+    Deque<Expression> pending = new ArrayDeque<Expression>();
+    Expression expression = new Expression();
+    AbstractRegExpGen nested = null;
+    while( expression != null)
       {
-      alternatives.add( alternative);
-      while( peekc() == '|')
+      Expression next = expression.parse( nested);
+      if( next != null)
         {
-        advance(1);
-        alternatives.add(
-          Optional.ofNullable( getAlternative())
-          .orElseThrow( () -> error( "Alternative missing")));
+        pending.push( expression);
+        expression = next;
+        nested = null;
+        }
+      else
+        {
+        nested = expression.getResult();
+        expression = pending.poll();
         }
       }
 
-    return
-      alternatives.isEmpty()?
-      null :
-
-      alternatives.size() > 1?
-      startingAt( cursorStart, new AlternativeGen( options(), alternatives)) :
-
-      alternatives.get(0);
+    return nested;
     }
 
   /**
-   * Returns the {@link RegExpGen} represented by next alternative of this JavaScript regular expression.
+   * Adds the given term to the given sequence of terms.
    */
-  private AbstractRegExpGen getAlternative()
+  private void addTerm( List<AbstractRegExpGen> terms, AbstractRegExpGen term)
     {
-    int cursorStart = cursor();
-    List<AbstractRegExpGen> terms = new ArrayList<AbstractRegExpGen>();
-
-    List<AbstractRegExpGen> termExpr;
-    while( (termExpr = getTerm()) != null)
+    if( term.isAnchoredStart() && isAnchoredStart( terms))
       {
-      for( AbstractRegExpGen term : termExpr)
-        {
-        if( term.isAnchoredStart() && isAnchoredStart( terms))
-          {
-          throw error( "Start-anchored expression can be matched at most once");
-          }
-        if( term.isAnchoredStart() && !terms.isEmpty())
-          {
-          throw error( "Extra expressions not allowed preceding ^ anchor");
-          }
-        if( isAnchoredEnd( terms))
-          {
-          throw error( "Extra expressions not allowed after $ anchor");
-          } 
-
-        terms.add( term);
-        }
+      throw error( "Start-anchored expression can be matched at most once");
       }
+    if( term.isAnchoredStart() && !terms.isEmpty())
+      {
+      throw error( "Extra expressions not allowed preceding ^ anchor");
+      }
+    if( isAnchoredEnd( terms))
+      {
+      throw error( "Extra expressions not allowed after $ anchor");
+      } 
 
-    return
-      terms.isEmpty()?
-      null :
-
-      terms.size() > 1?
-      startingAt( cursorStart, new SeqGen( options(), terms)) :
-      
-      terms.get(0);      
+    terms.add( term);
     }
 
   /**
@@ -143,159 +142,10 @@ public class Parser
     }
 
   /**
-   * Returns the sequence of {@link RegExpGen} instances represented by next term of this JavaScript regular expression.
+   * Returns the {@link RegExpGen} represented by the given atom, followed by any quantifier, starting at the given position.
    */
-  private List<AbstractRegExpGen> getTerm()
+  private AbstractRegExpGen getQuantified( int cursorStart, AbstractRegExpGen atom)
     {
-    int cursorInitial = cursor();
-    int cursorStart = cursor();
-    List<AbstractRegExpGen> termExpr = new ArrayList<AbstractRegExpGen>();
-    
-    // Get any start assertion
-    AbstractRegExpGen prefix = null;
-    boolean anchoredStart = false;
-    for( boolean assertionFound = true; assertionFound; cursorStart = cursor())
-      {
-      if( "\\b".equalsIgnoreCase( peek(2)))
-        {
-        throw error( "Unsupported word boundary assertion");
-        }
-
-      if( "(?<!".equals( peek(4)))
-        {
-        throw error( "Unsupported negative look-behind assertion");
-        }
-
-      if( (assertionFound = "(?<=".equals( peek(4))))
-        {
-        advance(4);
-
-        prefix =
-          Optional.ofNullable( getNext())
-          .orElseThrow( () -> error( "Missing look-behind expression"));
-
-        if( peekc() != ')')
-          {
-          throw error( "Missing ')'");
-          }
-        advance(1);
-        prefix = startingAt( cursorStart, prefix);
-        }
-      else if( (assertionFound = peekc() == '^'))
-        {
-        anchoredStart = true;
-        advance(1);
-        }        
-      }
-    if( prefix != null && anchoredStart)
-      {
-      throw error( "Start assertion is inconsistent with look-behind assertion");
-      }
-
-    // Get atomic expression
-    int cursorStartQuantified = cursor();
-    AbstractRegExpGen quantified = getQuantified();
-    if( quantified == null && prefix != null)
-      {
-      throw error( "Missing regular expression for look-behind assertion");
-      }
-
-    // Get any end assertion
-    cursorStart = cursor();
-    AbstractRegExpGen suffix = null;
-    boolean anchoredEnd = false;
-    for( boolean assertionFound = true; assertionFound; cursorStart = cursor())
-      {
-      if( "\\b".equalsIgnoreCase( peek(2)))
-        {
-        throw error( "Unsupported word boundary assertion");
-        }
-      if( "(?!".equals( peek(3)))
-        {
-        throw error( "Unsupported negative look-ahead assertion");
-        }
-      if( (assertionFound = "(?=".equals( peek(3))))
-        {
-        if( quantified == null)
-          {
-          throw error( "Missing regular expression for look-ahead assertion");
-          }
-        advance(3);
-
-        suffix =
-          Optional.ofNullable( getNext())
-          .orElseThrow( () -> error( "Missing look-ahead expression"));
-
-        if( peekc() != ')')
-          {
-          throw error( "Missing ')'");
-          }
-        advance(1);
-
-        suffix = startingAt( cursorStart, suffix);
-        }
-      else if( (assertionFound = peekc() == '$'))
-        {
-        anchoredEnd = true;
-        advance(1);
-        } 
-      }
-    if( suffix != null && anchoredEnd)
-      {
-      throw error( "End assertion is inconsistent with look-ahead assertion");
-      }
-
-    // Accumulate all expressions for this term
-    if( prefix != null)
-      {
-      termExpr.add( prefix);
-      }
-
-    if( quantified != null)
-      {
-      termExpr.add( startingAt( cursorStartQuantified, quantified));
-      if( anchoredStart)
-        {
-        quantified.setAnchoredStart( true);
-        startingAt( cursorInitial, quantified);
-        }
-      if( anchoredEnd)
-        {
-        quantified.setAnchoredEnd( true);
-        }
-      }
-    else if( anchoredStart || anchoredEnd)
-      {
-      termExpr.add(
-        startingAt(
-          cursorInitial,
-
-          AnyOfGen.builder( options())
-          .anyPrintable()
-          .anchoredStart( anchoredStart)
-          .anchoredEnd( anchoredEnd)
-          .occurs(0)
-          .build()));
-      }
-    
-    if( suffix != null)
-      {
-      termExpr.add( suffix);
-      }
-
-    return
-      termExpr.isEmpty()
-      ? null
-      : termExpr;
-    }
-
-  /**
-   * Returns the {@link RegExpGen} represented by next quantified atom of this JavaScript regular expression.
-   */
-  private AbstractRegExpGen getQuantified()
-    {
-    int cursorStart = cursor();
-    AbstractRegExpGen atom = getAtom();
     if( atom != null)
       {
       Bounds quantifier = getQuantifier();
@@ -351,9 +201,10 @@ public class Parser
         {
         advance(1);
 
-        minOccur =
-          Optional.ofNullable( getDecimal())
-          .orElseThrow( () -> error( "Missing number"));
+        if( (minOccur = getDecimal()) == null)
+          {
+          throw error( "Missing number");
+          }
 
         if( peekc() == ',')
           {
@@ -400,24 +251,24 @@ public class Parser
    */
   private Integer getDecimal()
     {
-    String decimalChars = "0123456789";
-
-    StringBuilder decimal = new StringBuilder();
-    for( char c = 0;
-         decimalChars.indexOf( (c = peekc())) >= 0;
-         advance(1), decimal.append( c));
-
-    try
+    int start = cursor();
+    long decimal = 0;
+    mark_ = start;
+    for( char c; (c = peekc()) >= '0' && c <= '9'; advance(1))
       {
-      return
-        decimal.length() == 0
-        ? null
-        : Integer.valueOf( decimal.toString());
+      decimal = Math.min( decimal * 10 + (c - '0'), Integer.MAX_VALUE + 1L);
       }
-    catch( Exception e)
+    mark_ = NONE;
+
+    if( decimal > Integer.MAX_VALUE)
       {
-      throw error( String.format( "Invalid decimal string=%s", decimal.toString()));
+      throw error( String.format( "Invalid decimal string=%s", text( start, cursor_)));
       }
+    
+    return
+      cursor_ == start
+      ? null
+      : Integer.valueOf( (int) decimal);
     }
 
   /**
@@ -428,9 +279,7 @@ public class Parser
     int cursorStart = cursor();
     AbstractRegExpGen atom;
       
-    if( (atom = getGroup()) == null
-        &&
-        (atom = getCharClass()) == null
+    if( (atom = getCharClass()) == null
         &&
         (atom = getAtomEscape()) == null
         &&
@@ -443,39 +292,47 @@ public class Parser
     }
 
   /**
-   * Returns the {@link RegExpGen} represented by a group.
+   * Returns true if a group starts at the next character. If so, advances to the start of the group expression.
    */
-  private AbstractRegExpGen getGroup()
+  private boolean startGroup()
     {
-    int cursorStart = cursor();
-    AbstractRegExpGen group = null;
-    if( peekc() == '(')
+    boolean started = peekc() == '(';
+    if( started)
       {
       advance(1);
 
-      if( "?:".equals( peek(2)))
+      if( lookingAt( "?:"))
         {
         // Generation doesn't depend on capturing.
         advance(2);
         }
-      else if( "?<".equals( peek(2)))
+      else if( lookingAt( "?<"))
         {
         // Generation doesn't depend on capturing -- ignore group name.
-        for( advance(2); peekc() != '>'; advance(1));
+        for( advance(2); peekc() != '>' && peekc() != EOS; advance(1));
         advance(1);
         }
+      }
 
-      group =
-        Optional.ofNullable( getNext())
-        .orElseThrow( () -> error( "Incomplete group expression"));
+    return started;
+    }
 
-      if( peekc() != ')')
-        {
-        throw error( "Missing ')'");
-        }
-      advance(1);
+  /**
+   * Returns the {@link RegExpGen} represented by a group starting at the given position, containing the given expression.
+   */
+  private AbstractRegExpGen getGroup( int cursorStart, AbstractRegExpGen group)
+    {
+    if( group == null)
+      {
+      throw error( "Incomplete group expression");
       }
 
+    if( peekc() != ')')
+      {
+      throw error( "Missing ')'");
+      }
+    advance(1);
+
     return startingAt( cursorStart, group);
     }
 
@@ -536,9 +393,14 @@ public class Parser
         charClass = new AnyOfGen( options());
         }
 
+      // The previous class member is either a single char, an escaped class, or a range of chars already added.
       char c;
+      int prevChar;
       CharClassGen prevClass;
-      for( prevClass = null,
+      boolean prevRange;
+      for( prevChar = NONE,
+             prevClass = null,
+             prevRange = false,
              c = peekc();
 
            c != ']'
@@ -547,19 +409,22 @@ public class Parser
            c = peekc())
         {
         // Is this a non-initial/final '-' char?
-        CharClassGen rangeStart = null;
-        if( c == '-' && !(prevClass == null || peek(2).endsWith( "]")))
+        boolean range = c == '-' && !((prevChar == NONE && prevClass == null && !prevRange) || peekc(1) == ']');
+        int rangeStartChar = prevChar;
+        CharClassGen rangeStartClass = prevClass;
+        if( range)
           {
           // Yes, continue to look for end of character range
-          rangeStart = prevClass;
           advance(1);
           c = peekc();
           }
         else
           {
           // No, look for new class member
-          charClass.addAll( prevClass);
+          addMember( charClass, prevChar, prevClass);
           }
+        prevChar = NONE;
+        prevRange = false;
         
         if( (prevClass = getClassEscape()) != null)
           {
@@ -568,30 +433,40 @@ public class Parser
         else
           {
           // Include single char in this class
-          prevClass = new AnyOfGen( options(), c);
+          prevChar = c;
           advance(1);
           }
 
-        if( rangeStart != null)
+        if( range)
           {
           // Add char range to this class
-          char first =
-            Optional.of( rangeStart.getChars())
-            .filter( start -> start.length == 1)
-            .map( start -> start[0])
-            .orElseThrow( () -> error( "Character range must begin with a specific character"));
-
-          char last =
-            Optional.of( prevClass.getChars())
-            .filter( end -> end.length == 1)
-            .map( end -> end[0])
-            .orElseThrow( () -> error( "Character range must end with a specific character"));
-
-          prevClass = new AnyOfGen( options(), first, last);
+          int first = singleChar( rangeStartChar, rangeStartClass);
+          if( first == NONE)
+            {
+            throw error( "Character range must begin with a specific character");
+            }
+
+          int last = singleChar( prevChar, prevClass);
+          if( last == NONE)
+            {
+            throw error( "Character range must end with a specific character");
+            }
+
+          prevClass = null;
+          if( first == last)
+            {
+            prevChar = first;
+            }
+          else
+            {
+            prevChar = NONE;
+            prevRange = true;
+            charClass.addAll( (char) first, (char) last);
+            }
           }
         }
       
-      charClass.addAll( prevClass);
+      addMember( charClass, prevChar, prevClass);
       if( c != ']')
         {
         throw error( "Missing ']'");
@@ -606,6 +481,38 @@ public class Parser
     return startingAt( cursorStart, charClass);
     }
 
+  /**
+   * Adds the given class member to the given character class.
+   */
+  private void addMember( CharClassGen charClass, int memberChar, CharClassGen memberClass)
+    {
+    if( memberChar != NONE)
+      {
+      charClass.add( (char) memberChar);
+      }
+    else
+      {
+      charClass.addAll( memberClass);
+      }
+    }
+
+  /**
+   * Returns the single character represented by the given class member. Returns NONE if
+   * the member represents more than one character.
+   */
+  private int singleChar( int memberChar, CharClassGen memberClass)
+    {
+    Character[] chars;
+    return
+      memberChar != NONE?
+      memberChar :
+
+      memberClass != null && (chars = memberClass.getChars()).length == 1?
+      chars[0] :
+
+      NONE;
+    }
+
   /**
    * Returns the {@link RegExpGen} represented by an escaped character class
    */
@@ -822,15 +729,7 @@ public class Parser
       {
       advance(1);
 
-      String digits = peek(2);
-      Matcher hexCharMatcher = hexCharPattern_.matcher( digits);
-      if( !hexCharMatcher.matches())
-        {
-        throw error( String.format( "Invalid hex character='%s'", digits));
-        }
-      advance(2);
-
-      escapeClass = startingAt( cursorStart, new AnyOfGen( options(), (char) Integer.parseInt( digits, 16)));
+      escapeClass = startingAt( cursorStart, new AnyOfGen( options(), getHexChar( 2, "hex")));
       }
     
     return escapeClass;
@@ -848,35 +747,66 @@ public class Parser
       {
       advance(1);
 
-      String digits = peek(4);
-      Matcher unicodeCharMatcher = unicodeCharPattern_.matcher( digits);
-      if( !unicodeCharMatcher.matches())
-        {
-        throw error( String.format( "Invalid Unicode character='%s'", digits));
-        }
-      advance(4);
-
-      escapeClass = startingAt( cursorStart, new AnyOfGen( options(), (char) Integer.parseInt( digits, 16)));
+      escapeClass = startingAt( cursorStart, new AnyOfGen( options(), getHexChar( 4, "Unicode")));
       }
     
     return escapeClass;
     }
 
+  /**
+   * Returns the character represented by the given number of hexadecimal digits.
+   */
+  private char getHexChar( int digits, String type)
+    {
+    int hexChar = 0;
+    for( int i = 0; i < digits; i++)
+      {
+      int digit = hexDigit( peekc(i));
+      if( digit < 0)
+        {
+        throw error( String.format( "Invalid %s character='%s'", type, peek( digits)));
+        }
+      hexChar = hexChar * 16 + digit;
+      }
+    advance( digits);
+
+    return (char) hexChar;
+    }
+
+  /**
+   * Returns the value of the given hexadecimal digit. Returns -1 if not a hexadecimal digit.
+   */
+  private static int hexDigit( char c)
+    {
+    return
+      c >= '0' && c <= '9'?
+      c - '0' :
+
+      c >= 'a' && c <= 'f'?
+      c - 'a' + 10 :
+
+      c >= 'A' && c <= 'F'?
+      c - 'A' + 10 :
+
+      -1;
+    }
+
   /**
    * Returns the {@link RegExpGen} represented by a literal character.
    */
   private CharClassGen getLiteralChar()
     {
     int cursorStart = cursor();
-    return
-      Optional.of( peekc())
-      .filter( c -> c != EOS)
-      .map( c -> {
-        CharClassGen literal = new AnyOfGen( options(), c);
-        advance(1);
-        return startingAt( cursorStart, literal);
-        })
-      .orElse( null);
+    CharClassGen literal = null;
+
+    char c = peekc();
+    if( c != EOS)
+      {
+      literal = new AnyOfGen( options(), c);
+      advance(1);
+      }
+
+    return startingAt( cursorStart, literal);
     }
 
   /**
@@ -885,17 +815,16 @@ public class Parser
   private CharClassGen getPatternChar()
     {
     int cursorStart = cursor();
-    String syntaxChars = "^$\\.*+?()[]{}|";
-    
-    return
-      Optional.of( peekc())
-      .filter( c -> c != EOS && syntaxChars.indexOf( c) < 0)
-      .map( c -> {
-        CharClassGen patternChar = new AnyOfGen( options(), c);
-        advance(1);
-        return startingAt( cursorStart, patternChar);
-        })
-      .orElse( null);
+    CharClassGen patternChar = null;
+
+    char c = peekc();
+    if( c != EOS && SYNTAX_CHARS.indexOf( c) < 0)
+      {
+      patternChar = new AnyOfGen( options(), c);
+      advance(1);
+      }
+
+    return startingAt( cursorStart, patternChar);
     }
 
   /**
@@ -904,41 +833,7 @@ public class Parser
    */
   private AbstractRegExpGen withStartGen( AbstractRegExpGen regExpGen)
     {
-    AlternativeGen alternative;
-    SeqGen seq;
-
-    AbstractRegExpGen initiated = regExpGen;
-    if( regExpGen instanceof AlternativeGen && (alternative = uninitiated( (AlternativeGen) regExpGen)) != null)
-      {
-      initiated =
-        AlternativeGen.builder( options())
-        .addAll(
-          IterableUtils.toList( alternative.getMembers())
-          .stream()
-          .map( this::withStartGen)
-          .collect( Collectors.toList()))
-        .occurs( alternative.getOccurrences())
-        .build();
-      }
-    else if( regExpGen instanceof SeqGen && (seq = uninitiated( (SeqGen) regExpGen)) != null)
-      {
-      List<AbstractRegExpGen> members = IterableUtils.toList( seq.getMembers());
-      initiated =
-        SeqGen.builder( options())
-        .addAll(
-          IntStream.range( 0, members.size())
-          .mapToObj( i -> i == 0?  withStartGen( members.get(i)) : members.get(i))
-          .collect( Collectors.toList()))
-        .occurs( seq.getOccurrences())
-        .build();
-      }
-    else if( !regExpGen.isAnchoredStart())
-      {
-      initiated = new SeqGen( options(), new AnyPrintableGen( options(), 0, null), regExpGen);
-      }
-
-    initiated.setSource( regExpGen.getSource());
-    return initiated;
+    return withImplicitGen( regExpGen, true);
     }
 
   /**
@@ -947,42 +842,41 @@ public class Parser
    */
   private AbstractRegExpGen withEndGen( AbstractRegExpGen regExpGen)
     {
-    AlternativeGen alternative;
-    SeqGen seq;
+    return withImplicitGen( regExpGen, false);
+    }
 
-    AbstractRegExpGen terminated = regExpGen;
-    if( regExpGen instanceof AlternativeGen && (alternative = unterminated( (AlternativeGen) regExpGen)) != null)
-      {
-      terminated =
-        AlternativeGen.builder( options())
-        .addAll(
-          IterableUtils.toList( alternative.getMembers())
-          .stream()
-          .map( this::withEndGen)
-          .collect( Collectors.toList()))
-        .occurs( alternative.getOccurrences())
-        .build();
-      }
-    else if( regExpGen instanceof SeqGen && (seq = unterminated( (SeqGen) regExpGen)) != null)
-      {
-      List<AbstractRegExpGen> members = IterableUtils.toList( seq.getMembers());
-      int last = members.size() - 1;
-      terminated =
-        SeqGen.builder( options())
-        .addAll(
-          IntStream.range( 0, members.size())
-          .mapToObj( i -> i == last?  withEndGen( members.get(i)) : members.get(i))
-          .collect( Collectors.toList()))
-        .occurs( seq.getOccurrences())
-        .build();
-      }
-    else if( !regExpGen.isAnchoredEnd())
+  /**
+   * Returns the given {@link AbstractRegExpGen} after adding an implicit ".*" expression to any unanchored
+   * initial (or final) subexpressions. Subexpressions are rebuilt using an explicit stack, so the depth of
+   * nesting is limited only by available memory.
+   */
+  private AbstractRegExpGen withImplicitGen( AbstractRegExpGen regExpGen, boolean start)
+    {
+    Deque<ImplicitGen> pending = new ArrayDeque<ImplicitGen>();
+    ImplicitGen implicit = new ImplicitGen( regExpGen, start);
+    AbstractRegExpGen rebuilt = null;
+    while( implicit != null)
       {
-      terminated = new SeqGen( options(), regExpGen, new AnyPrintableGen( options(), 0, null));
+      if( rebuilt != null)
+        {
+        implicit.rebuilt( rebuilt);
+        rebuilt = null;
+        }
+
+      AbstractRegExpGen member = implicit.nextMember();
+      if( member != null)
+        {
+        pending.push( implicit);
+        implicit = new ImplicitGen( member, start);
+        }
+      else
+        {
+        rebuilt = implicit.complete();
+        implicit = pending.poll();
+        }
       }
-    
-    terminated.setSource( regExpGen.getSource());
-    return terminated;
+
+    return rebuilt;
     }
 
   /**
@@ -1050,10 +944,48 @@ public class Parser
    */
   private char peekc()
     {
-    return
-      cursor_ < chars_.length()
-      ? chars_.charAt( cursor_)
-      : EOS;
+    return charAt( cursor_);
+    }
+
+  /**
+   * Returns the character at the given offset from the next character.
+   */
+  private char peekc( int offset)
+    {
+    return charAt( cursor_ + offset);
+    }
+
+  /**
+   * Returns true if the next characters are the given string.
+   */
+  private boolean lookingAt( String prefix)
+    {
+    int length = prefix.length();
+    boolean matched = true;
+    for( int i = 0; matched && i < length; i++)
+      {
+      matched = charAt( cursor_ + i) == prefix.charAt(i);
+      }
+    return matched;
+    }
+
+  /**
+   * Returns true if the next characters are the given string, ignoring case.
+   */
+  private boolean lookingAtIgnoreCase( String prefix)
+    {
+    int length = prefix.length();
+    boolean matched = true;
+    for( int i = 0; matched && i < length; i++)
+      {
+      char c = charAt( cursor_ + i);
+      char p = prefix.charAt(i);
+      matched =
+        c == p
+        || Character.toUpperCase( c) == Character.toUpperCase( p)
+        || Character.toLowerCase( c) == Character.toLowerCase( p);
+      }
+    return matched;
     }
 
   /**
@@ -1062,7 +994,9 @@ public class Parser
    */
   private String peek( int n)
     {
-    return chars_.substring( cursor_, Math.min( cursor_ + n, chars_.length()));
+    int end;
+    for( end = cursor_; end < cursor_ + n && available( end); end++);
+    return text( cursor_, end);
     }
 
   /**
@@ -1071,7 +1005,81 @@ public class Parser
    */
   private void advance( int n)
     {
-    cursor_ = Math.min( cursor_ + n, chars_.length());
+    for( int end = cursor_ + n; cursor_ < end && available( cursor_); cursor_++);
+    }
+
+  /**
+   * Returns the character at the given position. Returns {@link #EOS} if the position is past the end.
+   */
+  private char charAt( int position)
+    {
+    return
+      !available( position)?
+      EOS :
+
+      chars_ != null?
+      chars_.charAt( position) :
+
+      buffer_[ position - bufferStart_];
+    }
+
+  /**
+   * Returns the characters between the given positions, which must be available.
+   */
+  private String text( int start, int end)
+    {
+    return
+      chars_ != null
+      ? chars_.substring( start, end)
+      : new String( buffer_, start - bufferStart_, end - start);
+    }
+
+  /**
+   * Returns true if the character at the given position is available. When reading, reads more characters
+   * if necessary, discarding characters before the cursor (or before the current mark) that are no longer needed.
+   */
+  private boolean available( int position)
+    {
+    if( chars_ != null)
+      {
+      return position < chars_.length();
+      }
+
+    while( position >= bufferStart_ + bufferLength_ && !eof_)
+      {
+      int discarded = (mark_ == NONE? cursor_ : Math.min( mark_, cursor_)) - bufferStart_;
+      if( discarded > 0)
+        {
+        System.arraycopy( buffer_, discarded, buffer_, 0, bufferLength_ - discarded);
+        bufferStart_ += discarded;
+        bufferLength_ -= discarded;
+        }
+      if( bufferLength_ == buffer_.length)
+        {
+        buffer_ = Arrays.copyOf( buffer_, buffer_.length * 2);
+        }
+
+      int read;
+      try
+        {
+        read = reader_.read( buffer_, bufferLength_, buffer_.length - bufferLength_);
+        }
+      catch( IOException e)
+        {
+        throw new UncheckedIOException( String.format( "Can't read regular expression at position=%s", bufferStart_ + bufferLength_), e);
+        }
+
+      if( read < 0)
+        {
+        eof_ = true;
+        }
+      else
+        {
+        bufferLength_ += read;
+        }
+      }
+
+    return position < bufferStart_ + bufferLength_;
     }
 
   /**
@@ -1087,9 +1095,9 @@ public class Parser
    */
   private <T extends AbstractRegExpGen> T startingAt( int start, T regExpGen)
     {
-    if( regExpGen != null)
+    if( regExpGen != null && chars_ != null)
       {
-      regExpGen.setSource( chars_.substring( start, cursor_));
+      regExpGen.setSource( chars_, start, cursor_);
       }
     return regExpGen;
     }
@@ -1101,18 +1109,508 @@ public class Parser
       .append(
         String.format(
           "%s%s%s",
-          chars_.substring( 0, cursor_),
+          chars_ != null? chars_.substring( 0, cursor_) : text( bufferStart_, cursor_),
           Character.valueOf( (char) 0x00BB),
-          chars_.substring( cursor_)))
+          chars_ != null? chars_.substring( cursor_) : text( cursor_, bufferStart_ + bufferLength_)))
       .toString();
     }
   
+  /**
+   * Parses the alternatives of a JavaScript regular expression element.
+   * <P/>
+   * Each call to {@link #parse parse()} continues until the element is complete or until a nested element
+   * (for a group or an assertion) must be parsed first. The nested element is then returned, and its result
+   * is given to the next call.
+   */
+  private class Expression
+    {
+    Expression()
+      {
+      start_ = cursor();
+      }
+
+    /**
+     * Continues parsing this element, given the result of the nested element requested by the previous call.
+     * Returns the next nested element to parse, or null if this element is complete.
+     */
+    Expression parse( AbstractRegExpGen nested)
+      {
+      Expression next = null;
+      while( next == null && step_ != Step.COMPLETE)
+        {
+        switch( step_)
+          {
+          case ALTERNATIVE:
+            {
+            alternativeStart_ = cursor();
+            terms_ = new ArrayList<AbstractRegExpGen>();
+            step_ = Step.TERM;
+            break;
+            }
+
+          case TERM:
+            {
+            termStart_ = cursor();
+            termCount_ = terms_.size();
+            prefix_ = null;
+            anchoredStart_ = false;
+            quantified_ = null;
+            suffix_ = null;
+            anchoredEnd_ = false;
+            step_ = Step.START_ASSERTION;
+            break;
+            }
+
+          case START_ASSERTION:
+            {
+            assertionStart_ = cursor();
+            if( lookingAtIgnoreCase( "\\b"))
+              {
+              throw error( "Unsupported word boundary assertion");
+              }
+
+            if( lookingAt( "(?<!"))
+              {
+              throw error( "Unsupported negative look-behind assertion");
+              }
+
+            if( lookingAt( "(?<="))
+              {
+              advance(4);
+              next = new Expression();
+              step_ = Step.LOOK_BEHIND;
+              }
+            else if( peekc() == '^')
+              {
+              anchoredStart_ = true;
+              advance(1);
+              }
+            else
+              {
+              if( prefix_ != null && anchoredStart_)
+                {
+                throw error( "Start assertion is inconsistent with look-behind assertion");
+                }
+              step_ = Step.ATOM;
+              }
+            break;
+            }
+
+          case LOOK_BEHIND:
+            {
+            if( (prefix_ = nested) == null)
+              {
+              throw error( "Missing look-behind expression");
+              }
+
+            if( peekc() != ')')
+              {
+              throw error( "Missing ')'");
+              }
+            advance(1);
+            prefix_ = startingAt( assertionStart_, prefix_);
+            step_ = Step.START_ASSERTION;
+            break;
+            }
+
+          case ATOM:
+            {
+            atomStart_ = cursor();
+            if( startGroup())
+              {
+              next = new Expression();
+              step_ = Step.GROUP;
+              }
+            else
+              {
+              quantified_ = getAtom();
+              step_ = Step.QUANTIFIER;
+              }
+            break;
+            }
+
+          case GROUP:
+            {
+            quantified_ = getGroup( atomStart_, nested);
+            step_ = Step.QUANTIFIER;
+            break;
+            }
+
+          case QUANTIFIER:
+            {
+            quantified_ = getQuantified( atomStart_, quantified_);
+            if( quantified_ == null && prefix_ != null)
+              {
+              throw error( "Missing regular expression for look-behind assertion");
+              }
+            step_ = Step.END_ASSERTION;
+            break;
+            }
+
+          case END_ASSERTION:
+            {
+            assertionStart_ = cursor();
+            if( lookingAtIgnoreCase( "\\b"))
+              {
+              throw error( "Unsupported word boundary assertion");
+              }
+            if( lookingAt( "(?!"))
+              {
+              throw error( "Unsupported negative look-ahead assertion");
+              }
+
+            if( lookingAt( "(?="))
+              {
+              if( quantified_ == null)
+                {
+                throw error( "Missing regular expression for look-ahead assertion");
+                }
+              advance(3);
+              next = new Expression();
+              step_ = Step.LOOK_AHEAD;
+              }
+            else if( peekc() == '$')
+              {
+              anchoredEnd_ = true;
+              advance(1);
+              }
+            else
+              {
+              if( suffix_ != null && anchoredEnd_)
+                {
+                throw error( "End assertion is inconsistent with look-ahead assertion");
+                }
+              step_ = addTerms()? Step.TERM : Step.ALTERNATIVE_END;
+              }
+            break;
+            }
+
+          case LOOK_AHEAD:
+            {
+            if( (suffix_ = nested) == null)
+              {
+              throw error( "Missing look-ahead expression");
+              }
+
+            if( peekc() != ')')
+              {
+              throw error( "Missing ')'");
+              }
+            advance(1);
+            suffix_ = startingAt( assertionStart_, suffix_);
+            step_ = Step.END_ASSERTION;
+            break;
+            }
+
+          case ALTERNATIVE_END:
+            {
+            endLiteral();
+            AbstractRegExpGen alternative =
+              terms_.isEmpty()?
+              null :
+
+              terms_.size() > 1?
+              startingAt( alternativeStart_, new SeqGen( options(), terms_)) :
+      
+              terms_.get(0);      
+
+            if( alternatives_ == null && (alternative == null || peekc() != '|'))
+              {
+              result_ = alternative;
+              step_ = Step.COMPLETE;
+              }
+            else if( alternative == null)
+              {
+              throw error( "Alternative missing");
+              }
+            else
+              {
+              if( alternatives_ == null)
+                {
+                alternatives_ = new ArrayList<AbstractRegExpGen>();
+                }
+              alternatives_.add( alternative);
+
+              if( peekc() == '|')
+                {
+                advance(1);
+                step_ = Step.ALTERNATIVE;
+                }
+              else
+                {
+                result_ = startingAt( start_, new AlternativeGen( options(), alternatives_));
+                step_ = Step.COMPLETE;
+                }
+              }
+            break;
+            }
+
+          default:
+            {
+            break;
+            }
+          }
+        }
+
+      return next;
+      }
+
+    /**
+     * Adds all expressions for the current term to the current alternative. Returns true if any expressions
+     * were added.
+     * <P/>
+     * If {@link MatchOptions#isOptimized optimized}, each run of unquantified, unanchored literal characters is
+     * added as a single {@link LiteralGen}.
+     */
+    private boolean addTerms()
+      {
+      char literalChar = literalChar();
+      if( literalChar != EOS && literal_ != null)
+        {
+        // Continue the current literal.
+        literal_.append( literalChar);
+        literalEnd_ = cursor();
+        return true;
+        }
+
+      endLiteral();
+      if( literalChar != EOS)
+        {
+        // Start a new literal.
+        literal_ = new StringBuilder().append( literalChar);
+        literalTerm_ = terms_.size();
+        literalStart_ = termStart_;
+        literalEnd_ = cursor();
+        }
+
+      if( prefix_ != null)
+        {
+        addTerm( terms_, prefix_);
+        }
+
+      if( quantified_ != null)
+        {
+        startingAt( atomStart_, quantified_);
+        if( anchoredStart_)
+          {
+          quantified_.setAnchoredStart( true);
+          startingAt( termStart_, quantified_);
+          }
+        if( anchoredEnd_)
+          {
+          quantified_.setAnchoredEnd( true);
+          }
+        addTerm( terms_, quantified_);
+        }
+      else if( anchoredStart_ || anchoredEnd_)
+        {
+        addTerm(
+          terms_,
+          startingAt(
+            termStart_,
+
+            AnyOfGen.builder( options())
+            .anyPrintable()
+            .anchoredStart( anchoredStart_)
+            .anchoredEnd( anchoredEnd_)
+            .occurs(0)
+            .build()));
+        }
+    
+      if( suffix_ != null)
+        {
+        addTerm( terms_, suffix_);
+        }
+
+      return terms_.size() > termCount_;
+      }
+
+    /**
+     * If the current term is an unquantified, unanchored literal character that may be added to a
+     * {@link LiteralGen}, returns this character. Otherwise, returns EOS.
+     */
+    private char literalChar()
+      {
+      CharClassGen literal =
+        options().isOptimized()
+        && prefix_ == null
+        && suffix_ == null
+        && !anchoredStart_
+        && !anchoredEnd_
+        && quantified_ != null
+        && quantified_.getClass().equals( AnyOfGen.class)
+        && !quantified_.isAnchoredStartAll()
+        && !quantified_.isAnchoredEndAll()
+        && quantified_.getMinOccur() == 1
+        && quantified_.getMaxOccur() == 1
+        ? (CharClassGen) quantified_
+        : null;
+
+      return
+        literal != null && literal.getCharSet().size() == 1
+        ? literal.getCharSet().iterator().next()
+        : EOS;
+      }
+
+    /**
+     * Completes the current literal, if any. A literal of more than one character replaces the
+     * {@link AnyOfGen} for its first character.
+     */
+    private void endLiteral()
+      {
+      if( literal_ != null && literal_.length() > 1)
+        {
+        LiteralGen literal = new LiteralGen( options(), literal_.toString());
+        if( chars_ != null)
+          {
+          literal.setSource( chars_, literalStart_, literalEnd_);
+          }
+        terms_.set( literalTerm_, literal);
+        }
+      literal_ = null;
+      }
+
+    /**
+     * Returns the {@link RegExpGen} represented by this element.
+     */
+    AbstractRegExpGen getResult()
+      {
+      return result_;
+      }
+
+    private final int start_;
+    private Step step_ = Step.ALTERNATIVE;
+    private AbstractRegExpGen result_;
+
+    private List<AbstractRegExpGen> alternatives_;
+    private int alternativeStart_;
+    private List<AbstractRegExpGen> terms_;
+
+    private int termStart_;
+    private int termCount_;
+    private int assertionStart_;
+    private int atomStart_;
+    private AbstractRegExpGen prefix_;
+    private boolean anchoredStart_;
+    private AbstractRegExpGen quantified_;
+    private AbstractRegExpGen suffix_;
+    private boolean anchoredEnd_;
+
+    private StringBuilder literal_;
+    private int literalTerm_;
+    private int literalStart_;
+    private int literalEnd_;
+    }
+
+  /**
+   * Rebuilds a {@link AbstractRegExpGen} to add an implicit ".*" expression to any unanchored initial
+   * (or final) subexpressions.
+   */
+  private class ImplicitGen
+    {
+    ImplicitGen( AbstractRegExpGen regExpGen, boolean start)
+      {
+      regExpGen_ = regExpGen;
+      start_ = start;
+
+      AbstractRegExpGen unanchored =
+        start
+        ? uninitiated( regExpGen)
+        : unterminated( regExpGen);
+
+      if( unanchored instanceof AlternativeGen)
+        {
+        // Rebuild all alternatives...
+        members_ = IterableUtils.toList( ((AlternativeGen) unanchored).getMembers());
+        next_ = 0;
+        end_ = members_.size();
+        }
+      else if( unanchored instanceof SeqGen)
+        {
+        // ... or only the first (or last) member of a sequence.
+        members_ = IterableUtils.toList( ((SeqGen) unanchored).getMembers());
+        next_ = start? 0 : Math.max( 0, members_.size() - 1);
+        end_ = start? Math.min( 1, members_.size()) : members_.size();
+        }
+      }
+
+    /**
+     * Returns the next member to rebuild, or null if all members are rebuilt.
+     */
+    AbstractRegExpGen nextMember()
+      {
+      return
+        next_ < end_
+        ? members_.get( next_)
+        : null;
+      }
+
+    /**
+     * Replaces the next member with the given rebuilt member.
+     */
+    void rebuilt( AbstractRegExpGen member)
+      {
+      members_.set( next_++, member);
+      }
+
+    /**
+     * Returns the rebuilt {@link AbstractRegExpGen}.
+     */
+    AbstractRegExpGen complete()
+      {
+      AbstractRegExpGen rebuilt =
+        regExpGen_ instanceof AlternativeGen && members_ != null?
+        AlternativeGen.builder( options())
+        .addAll( members_)
+        .occurs( regExpGen_.getOccurrences())
+        .build() :
+
+        regExpGen_ instanceof SeqGen && members_ != null?
+        SeqGen.builder( options())
+        .addAll( members_)
+        .occurs( regExpGen_.getOccurrences())
+        .build() :
+
+        start_ && !regExpGen_.isAnchoredStart()?
+        new SeqGen( options(), new AnyPrintableGen( options(), 0, null), regExpGen_) :
+
+        !start_ && !regExpGen_.isAnchoredEnd()?
+        new SeqGen( options(), regExpGen_, new AnyPrintableGen( options(), 0, null)) :
+
+        regExpGen_;
+
+      rebuilt.setSource( regExpGen_);
+      return rebuilt;
+      }
+
+    private final AbstractRegExpGen regExpGen_;
+    private final boolean start_;
+    private List<AbstractRegExpGen> members_;
+    private int next_;
+    private int end_;
+    }
+
+  /**
+   * The next step in parsing an {@link Expression}.
+   */
+  private enum Step
+    {
+    ALTERNATIVE, TERM, START_ASSERTION, LOOK_BEHIND, ATOM, GROUP, QUANTIFIER, END_ASSERTION, LOOK_AHEAD, ALTERNATIVE_END, COMPLETE
+    }
+
   private final String chars_;
+  private final Reader reader_;
   private final MatchOptions options_;
   private final CharClasses charClasses_;
   private int cursor_ = 0;
+  private int mark_ = NONE;
+  private char[] buffer_;
+  private int bufferStart_ = 0;
+  private int bufferLength_ = 0;
+  private boolean eof_ = false;
 
   private static final char EOS = (char) -1;
-  private static final Pattern hexCharPattern_ = Pattern.compile( "\\p{XDigit}{2}");
-  private static final Pattern unicodeCharPattern_ = Pattern.compile( "\\p{XDigit}{4}");
+  private static final int NONE = -1;
+  private static final int BUFFER_SIZE = 8192;
+  private static final String SYNTAX_CHARS = "^$\\.*+?()[]{}|";
   }
@@ -9,13 +9,22 @@ package org.cornutum.regexpgen.js;
 
 import org.cornutum.regexpgen.MatchOptions;
 import org.cornutum.regexpgen.RegExpGen;
+import org.cornutum.regexpgen.RegExpGenLibrary;
 import static org.cornutum.regexpgen.MatchOptionsBuilder.options;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Provides instances of a {@link RegExpGen} that generates strings matching a JavaScript <CODE>RegExp</CODE>
  * (the <A href="https://www.ecma-international.org/publications-and-standards/standards/ecma-262/#sec-patterns">ECMAScript standard</A>).
+ * <P/>
+ * All generators returned are {@link AbstractRegExpGen#freeze frozen}, so they can be shared by multiple threads
+ * without locking.
  */
 public class Provider implements org.cornutum.regexpgen.Provider
   {
@@ -33,7 +42,56 @@ public class Provider implements org.cornutum.regexpgen.Provider
    */
   public RegExpGen matching( String regexp, MatchOptions options)
     {
-    return new Parser( regexp, options).parse();
+    return frozen( optimized( new Parser( regexp, options).parse(), options));
+    }
+
+  /**
+   * Returns a {@link RegExpGen} that generates strings containing characters that match the
+   * regular expression read from the given reader, using the given options.
+   * <P/>
+   * The regular expression is parsed in a single pass as it is read, without holding a copy of the
+   * entire expression. Therefore, the resulting generators have no {@link AbstractRegExpGen#getSource source}.
+   */
+  public RegExpGen matching( Reader regexp, MatchOptions options) throws IOException
+    {
+    try
+      {
+      return frozen( optimized( new Parser( regexp, options).parse(), options));
+      }
+    catch( UncheckedIOException e)
+      {
+      throw e.getCause();
+      }
+    }
+
+  /**
+   * Returns the {@link RegExpGen} instances that generate strings containing characters that match each of the given
+   * regular expressions, using the given options. The regular expressions are compiled in parallel, using the given pool.
+   * Identical subexpressions of different regular expressions are replaced by a single shared instance.
+   */
+  public RegExpGenLibrary matchingAll( Collection<String> regexps, MatchOptions options, ForkJoinPool pool)
+    {
+    Interner interner = new Interner();
+    return RegExpGenLibrary.compile( regexps, regexp -> frozen( interner.intern( optimized( new Parser( regexp, options).parse(), options))), pool);
+    }
+
+  /**
+   * Returns the given generator, optimized if required by the given options.
+   */
+  private AbstractRegExpGen optimized( AbstractRegExpGen regExpGen, MatchOptions options)
+    {
+    return
+      regExpGen == null || !options.isOptimized()
+      ? regExpGen
+      : new Optimizer().optimize( regExpGen);
+    }
+
+  /**
+   * Returns the given generator, after freezing it.
+   */
+  private AbstractRegExpGen frozen( AbstractRegExpGen regExpGen)
+    {
+    return regExpGen == null? null : regExpGen.freeze();
     }
 
   /**
@@ -50,6 +108,7 @@ public class Provider implements org.cornutum.regexpgen.Provider
     return
       NotMatchingFactory.makeFrom(
         new Parser( regexp, options( options).exactly().build())
-        .parse());
+        .parse())
+      .map( notMatching -> ((AbstractRegExpGen) notMatching).freeze());
     }
   }
@@ -0,0 +1,494 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.js;
+
+import org.cornutum.regexpgen.Bounds;
+import org.cornutum.regexpgen.LengthDistribution;
+import org.cornutum.regexpgen.MatchOptions;
+import org.cornutum.regexpgen.RegExpGen;
+import org.cornutum.regexpgen.RegExpGenLibrary;
+import org.cornutum.regexpgen.util.ToString;
+import static org.cornutum.regexpgen.Bounds.UNBOUNDED;
+import static org.cornutum.regexpgen.MatchOptionsBuilder.options;
+import static org.cornutum.regexpgen.js.RegExpGenWriter.*;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Reads {@link AbstractRegExpGen generators} from the compact binary form written by a {@link RegExpGenWriter}.
+ * <P/>
+ * Generators read behave exactly like the generators originally written. In particular, given the same
+ * {@link org.cornutum.regexpgen.RandomGen random generator}, they generate the same strings. Like the generators
+ * returned by a {@link Provider}, all generators read are {@link AbstractRegExpGen#freeze frozen}.
+ */
+public class RegExpGenReader
+  {
+  /**
+   * Returns the first generator read from the given buffer.
+   */
+  public static RegExpGen read( ByteBuffer buffer)
+    {
+    return read( buffer, null);
+    }
+
+  /**
+   * Returns the first generator read from the given buffer, using the given distribution of lengths for
+   * unbounded quantifiers.
+   */
+  public static RegExpGen read( ByteBuffer buffer, LengthDistribution lengths)
+    {
+    return
+      readLibrary( buffer, lengths)
+      .getGenerators().values().stream()
+      .findFirst()
+      .orElseThrow( () -> new IllegalArgumentException( "No generator found"));
+    }
+
+  /**
+   * Returns the library of generators read from the given buffer.
+   */
+  public static RegExpGenLibrary readLibrary( ByteBuffer buffer)
+    {
+    return readLibrary( buffer, null);
+    }
+
+  /**
+   * Returns the library of generators read from the given file. The file is mapped into memory, rather than
+   * copied.
+   */
+  public static RegExpGenLibrary readLibrary( Path file) throws IOException
+    {
+    try( FileChannel channel = FileChannel.open( file, READ))
+      {
+      return readLibrary( channel.map( READ_ONLY, 0, channel.size()));
+      }
+    }
+
+  /**
+   * Returns the library of generators read from the given buffer, using the given distribution of lengths for
+   * unbounded quantifiers. Throws an {@link IllegalArgumentException} if the input is incomplete or invalid.
+   */
+  public static RegExpGenLibrary readLibrary( ByteBuffer buffer, LengthDistribution lengths)
+    {
+    try
+      {
+      return new RegExpGenReader( buffer).readGenerators( lengths);
+      }
+    catch( BufferUnderflowException e)
+      {
+      throw new IllegalArgumentException( "Incomplete generator input", e);
+      }
+    }
+
+  /**
+   * Creates a new RegExpGenReader instance.
+   */
+  private RegExpGenReader( ByteBuffer buffer)
+    {
+    buffer_ = buffer;
+    }
+
+  /**
+   * Returns the library of generators read.
+   */
+  private RegExpGenLibrary readGenerators( LengthDistribution lengths)
+    {
+    byte[] magic = new byte[ MAGIC.length];
+    buffer_.get( magic);
+    if( !Arrays.equals( magic, MAGIC))
+      {
+      throw new IllegalArgumentException( "Not a generator input");
+      }
+
+    int version = readVarint();
+    if( version != VERSION)
+      {
+      throw new IllegalArgumentException( String.format( "Unsupported generator input version=%s", version));
+      }
+
+    int length = readVarint();
+    int checksum = buffer_.getInt();
+    if( buffer_.remaining() < length)
+      {
+      throw new BufferUnderflowException();
+      }
+    if( buffer_.remaining() > length)
+      {
+      throw invalid( "%s bytes remaining", buffer_.remaining() - length);
+      }
+
+    ByteBuffer body = buffer_.slice( buffer_.position(), length);
+    CRC32 crc = new CRC32();
+    crc.update( body.duplicate());
+    if( (int) crc.getValue() != checksum)
+      {
+      throw invalid( "checksum mismatch");
+      }
+
+    buffer_ = body;
+    try
+      {
+      return readBody( lengths);
+      }
+    catch( BufferUnderflowException e)
+      {
+      throw invalid( "unexpected end of input");
+      }
+    }
+
+  /**
+   * Returns the library of generators read from the body of the input.
+   */
+  private RegExpGenLibrary readBody( LengthDistribution lengths)
+    {
+    int flags = buffer_.get();
+    if( (flags & ~(EXACT | OPTIMIZED)) != 0)
+      {
+      throw invalid( "options=%s", flags);
+      }
+
+    Set<Character> any = readCharSet();
+    Set<Character> space = readCharSet();
+    try
+      {
+      options_ =
+        options()
+        .withAny( any)
+        .withSpace( space)
+        .exactly( (flags & EXACT) != 0)
+        .optimized( (flags & OPTIMIZED) != 0)
+        .withLengths( lengths)
+        .build();
+      }
+    catch( IllegalArgumentException e)
+      {
+      throw invalid( "%s", e.getMessage());
+      }
+
+    strings_ = new String[ readSize()];
+    for( int i = 0; i < strings_.length; i++)
+      {
+      strings_[i] = readString();
+      }
+
+    nodes_ = new AbstractRegExpGen[ readSize()];
+    for( int i = 0; i < nodes_.length; i++)
+      {
+      nodes_[i] = readNode( i);
+      }
+
+    Map<String,RegExpGen> generators = new LinkedHashMap<String,RegExpGen>();
+    for( int count = readSize(); count > 0; count--)
+      {
+      int name = readVarint();
+      if( name > strings_.length)
+        {
+        throw invalid( "name=%s", name);
+        }
+      int root = readVarint();
+      if( root >= nodes_.length)
+        {
+        throw invalid( "root=%s", root);
+        }
+      generators.put( name == 0? null : strings_[ name - 1], nodes_[ root].freeze());
+      }
+
+    if( buffer_.hasRemaining())
+      {
+      throw invalid( "%s bytes remaining", buffer_.remaining());
+      }
+
+    return RegExpGenLibrary.of( generators);
+    }
+
+  /**
+   * Returns the subexpression at the given position in the table of subexpressions.
+   */
+  private AbstractRegExpGen readNode( int position)
+    {
+    int tag = buffer_.get() & 0xff;
+    int kind = tag & KIND;
+    if( (tag & ~(KIND | ANCHORED_START | ANCHORED_END | OCCURS | SOURCE)) != 0)
+      {
+      throw invalid( "subexpression=%s, tag=%s", position, tag);
+      }
+
+    Bounds occurrences =
+      (tag & OCCURS) == 0
+      ? null
+      : readOccurrences();
+
+    String sourcePattern = null;
+    int sourceStart = 0;
+    int sourceEnd = 0;
+    if( (tag & SOURCE) != 0)
+      {
+      int sourceString = readVarint();
+      long sourceOffset = unzigzag( readVarint());
+      if( sourceString > strings_.length || (sourceString == 0 && sourceString_ < 0))
+        {
+        throw invalid( "subexpression=%s, source string=%s", position, sourceString);
+        }
+      if( sourceString != 0)
+        {
+        sourceString_ = sourceString - 1;
+        }
+      sourcePattern = strings_[ sourceString_];
+
+      long start = (sourceString == 0? sourceStart_ : 0) + sourceOffset;
+      long end = start + readVarint();
+      if( start < 0 || end > sourcePattern.length())
+        {
+        throw invalid( "subexpression=%s, source range=[%s,%s]", position, start, end);
+        }
+      sourceStart = (int) start;
+      sourceEnd = (int) end;
+      sourceStart_ = sourceStart;
+      }
+
+    AbstractRegExpGen regExpGen;
+    switch( kind)
+      {
+      case SEQ:
+        {
+        SeqGen seq = new SeqGen( options_);
+        for( int members = readSize(); members > 0; members--)
+          {
+          seq.add( readMember( position));
+          }
+        regExpGen = seq;
+        break;
+        }
+      case ALTERNATIVE:
+        {
+        AlternativeGen alternative = new AlternativeGen( options_);
+        for( int members = readSize(); members > 0; members--)
+          {
+          alternative.add( readMember( position));
+          }
+        regExpGen = alternative;
+        break;
+        }
+      case ANY_OF:
+        {
+        regExpGen = readChars( new AnyOfGen( options_));
+        break;
+        }
+      case NONE_OF:
+        {
+        regExpGen = readChars( new NoneOfGen( options_));
+        break;
+        }
+      case ANY_PRINTABLE:
+        {
+        regExpGen = new AnyPrintableGen( options_);
+        break;
+        }
+      case LITERAL:
+        {
+        regExpGen = new LiteralGen( options_, readString());
+        break;
+        }
+      default:
+        {
+        throw invalid( "subexpression=%s, kind=%s", position, kind);
+        }
+      }
+
+    if( occurrences != null)
+      {
+      regExpGen.setOccurrences( occurrences);
+      }
+    regExpGen.setAnchoredStart( (tag & ANCHORED_START) != 0);
+    regExpGen.setAnchoredEnd( (tag & ANCHORED_END) != 0);
+    if( sourcePattern != null)
+      {
+      regExpGen.setSource( sourcePattern, sourceStart, sourceEnd);
+      }
+
+    return regExpGen;
+    }
+
+  /**
+   * Returns the member of the subexpression at the given position, read as a relative distance
+   * to a subexpression already read.
+   */
+  private AbstractRegExpGen readMember( int position)
+    {
+    int offset = readVarint();
+    if( offset <= 0 || offset > position)
+      {
+      throw invalid( "subexpression=%s, member offset=%s", position, offset);
+      }
+
+    return nodes_[ position - offset];
+    }
+
+  /**
+   * Returns the occurrences read.
+   */
+  private Bounds readOccurrences()
+    {
+    int minOccur = readVarint();
+    long maxOccur = readVarint();
+    long max = maxOccur == 0? UNBOUNDED : minOccur + maxOccur - 1;
+    if( max > Integer.MAX_VALUE || (maxOccur != 0 && max == UNBOUNDED))
+      {
+      throw invalid( "occurrences=[%s,%s]", minOccur, max);
+      }
+
+    return new Bounds( minOccur, (int) max);
+    }
+
+  /**
+   * Returns the given character class, after adding the characters read.
+   */
+  private CharClassGen readChars( CharClassGen charClass)
+    {
+    readChars( charClass::add);
+    return charClass;
+    }
+
+  /**
+   * Returns the set of characters read.
+   */
+  private Set<Character> readCharSet()
+    {
+    Set<Character> chars = new LinkedHashSet<Character>();
+    readChars( chars::add);
+    return Collections.unmodifiableSet( chars);
+    }
+
+  /**
+   * Reads runs of consecutive characters, passing each character to the given consumer in the order written.
+   * So a set of characters read produces the same characters in the same order as the set written.
+   */
+  private void readChars( Consumer<Character> chars)
+    {
+    for( int runs = readSize(); runs > 0; runs--)
+      {
+      int first = readVarint();
+      long last = (long) first + readVarint();
+      if( last > Character.MAX_VALUE)
+        {
+        throw invalid( "chars=[%s,%s]", first, last);
+        }
+      for( int c = first; c <= last; c++)
+        {
+        chars.accept( (char) c);
+        }
+      }
+    }
+
+  /**
+   * Returns the string read.
+   */
+  private String readString()
+    {
+    char[] chars = new char[ readSize()];
+    for( int i = 0; i < chars.length; i++)
+      {
+      int c = readVarint();
+      if( c > Character.MAX_VALUE)
+        {
+        throw invalid( "char=%s", c);
+        }
+      chars[i] = (char) c;
+      }
+
+    return new String( chars);
+    }
+
+  /**
+   * Returns the size of a table read. Because each entry uses at least one byte, the size can't be greater than
+   * the number of bytes remaining.
+   */
+  private int readSize()
+    {
+    int size = readVarint();
+    if( size > buffer_.remaining())
+      {
+      throw invalid( "size=%s, remaining=%s", size, buffer_.remaining());
+      }
+
+    return size;
+    }
+
+  /**
+   * Returns the non-negative integer read, encoded using a variable number of bytes, 7 bits per byte.
+   */
+  private int readVarint()
+    {
+    int value = 0;
+    int next;
+    int shift = 0;
+    do
+      {
+      next = buffer_.get();
+      if( shift == 28 && (next & ~0x07) != 0)
+        {
+        throw invalid( "integer too large");
+        }
+      value |= (next & 0x7f) << shift;
+      shift += 7;
+      }
+    while( (next & 0x80) != 0);
+
+    return value;
+    }
+
+  /**
+   * Returns the exception thrown for invalid input at the current position.
+   */
+  private IllegalArgumentException invalid( String format, Object... args)
+    {
+    return
+      new IllegalArgumentException(
+        String.format(
+          "Invalid generator input at position=%s: %s",
+          buffer_.position(),
+          String.format( format, args)));
+    }
+
+  /**
+   * Returns the signed integer for the given non-negative encoding.
+   */
+  private static int unzigzag( int value)
+    {
+    return (value >>> 1) ^ -(value & 1);
+    }
+
+  public String toString()
+    {
+    return
+      ToString.getBuilder( this)
+      .append( "position", buffer_.position())
+      .toString();
+    }
+
+  private ByteBuffer buffer_;
+  private MatchOptions options_;
+  private String[] strings_;
+  private AbstractRegExpGen[] nodes_;
+  private int sourceString_ = -1;
+  private int sourceStart_;
+  }
@@ -17,4 +17,5 @@ public interface RegExpGenVisitor
   public void visit( AnyOfGen regExpGen);
   public void visit( NoneOfGen regExpGen);
   public void visit( AnyPrintableGen regExpGen);
+  public void visit( LiteralGen regExpGen);
   }
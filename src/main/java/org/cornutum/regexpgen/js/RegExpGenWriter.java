@@ -0,0 +1,427 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.js;
+
+import org.cornutum.regexpgen.MatchOptions;
+import org.cornutum.regexpgen.RegExpGen;
+import org.cornutum.regexpgen.RegExpGenLibrary;
+import org.cornutum.regexpgen.util.ToString;
+import static org.cornutum.regexpgen.Bounds.UNBOUNDED;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Writes {@link AbstractRegExpGen generators} in a compact binary form that a {@link RegExpGenReader} can load
+ * much faster than the original regular expressions can be parsed.
+ * <P/>
+ * The binary form begins with a header that identifies its {@link #VERSION version} and gives the length and
+ * CRC-32 checksum of the rest of the input, so that a {@link RegExpGenReader} can reject an input that is incomplete
+ * or corrupted. This is followed by the {@link MatchOptions options} used by all generators, a table of source
+ * strings, a table of subexpressions, and the root subexpression of each generator. Each subexpression is written once, after all of its members,
+ * and is referred to by its position in the table. So a subexpression shared by different generators (for example,
+ * by {@link Provider#matchingAll matchingAll}) is written only once, and any depth of nesting can be written
+ * and read without recursion. Character sets are written as runs of consecutive characters.
+ * <P/>
+ * All generators written together must use the same options. A {@link MatchOptions#getLengthDistribution length distribution}
+ * is not written.
+ */
+public class RegExpGenWriter implements RegExpGenVisitor
+  {
+  /**
+   * Writes the given generator to the given stream.
+   */
+  public static void write( RegExpGen generator, OutputStream out) throws IOException
+    {
+    write( Collections.singletonMap( generator.getSource(), generator), out);
+    }
+
+  /**
+   * Writes all generators in the given library to the given stream. Regular expressions that could not be
+   * compiled are not written.
+   */
+  public static void write( RegExpGenLibrary library, OutputStream out) throws IOException
+    {
+    write( library.getGenerators(), out);
+    }
+
+  /**
+   * Writes the given generators, each identified by the given name, to the given stream.
+   */
+  private static void write( Map<String,RegExpGen> generators, OutputStream out) throws IOException
+    {
+    RegExpGenWriter writer = new RegExpGenWriter();
+    List<Integer> names = new ArrayList<Integer>();
+    List<Integer> roots = new ArrayList<Integer>();
+    for( Map.Entry<String,RegExpGen> generator : generators.entrySet())
+      {
+      roots.add( writer.nodeFor( (AbstractRegExpGen) generator.getValue()));
+      names.add( generator.getKey() == null? 0 : writer.stringFor( generator.getKey()) + 1);
+      }
+
+    Output body = new Output();
+    writer.writeOptions( body);
+    writer.writeStrings( body);
+    body.writeVarint( writer.nodes_.size());
+    writer.out_.writeTo( body);
+    body.writeVarint( roots.size());
+    for( int i = 0; i < roots.size(); i++)
+      {
+      body.writeVarint( names.get(i));
+      body.writeVarint( roots.get(i));
+      }
+
+    CRC32 checksum = new CRC32();
+    checksum.update( body.buffer(), 0, body.size());
+
+    Output header = new Output();
+    header.writeBytes( MAGIC);
+    header.writeVarint( VERSION);
+    header.writeVarint( body.size());
+    header.writeInt( (int) checksum.getValue());
+    header.writeTo( out);
+    body.writeTo( out);
+    out.flush();
+    }
+
+  /**
+   * Creates a new RegExpGenWriter instance.
+   */
+  private RegExpGenWriter()
+    {
+    }
+
+  /**
+   * Writes the given generator and any of its subexpressions not already written. Returns the position of the
+   * given generator in the table of subexpressions.
+   */
+  private int nodeFor( AbstractRegExpGen regExpGen)
+    {
+    if( options_ == null)
+      {
+      options_ = regExpGen.getMatchOptions();
+      }
+
+    // Write each subexpression after all of its members, in order.
+    Deque<AbstractRegExpGen> pending = new ArrayDeque<AbstractRegExpGen>();
+    pending.push( regExpGen);
+    while( !pending.isEmpty())
+      {
+      AbstractRegExpGen next = pending.peek();
+      Deque<AbstractRegExpGen> unwritten = new ArrayDeque<AbstractRegExpGen>();
+      for( AbstractRegExpGen member : next.getSubexpressions())
+        {
+        if( !nodes_.containsKey( member))
+          {
+          unwritten.push( member);
+          }
+        }
+      unwritten.forEach( pending::push);
+
+      if( unwritten.isEmpty())
+        {
+        pending.pop();
+        if( !nodes_.containsKey( next))
+          {
+          checkOptions( next);
+          next.accept( this);
+          nodes_.put( next, nodes_.size());
+          }
+        }
+      }
+
+    return nodes_.get( regExpGen);
+    }
+
+  public void visit( AlternativeGen regExpGen)
+    {
+    writeHeader( ALTERNATIVE, regExpGen);
+    writeMembers( regExpGen.getMembers());
+    }
+
+  public void visit( SeqGen regExpGen)
+    {
+    writeHeader( SEQ, regExpGen);
+    writeMembers( regExpGen.getMembers());
+    }
+
+  public void visit( AnyOfGen regExpGen)
+    {
+    writeHeader( ANY_OF, regExpGen);
+    writeChars( out_, regExpGen.getCharSet());
+    }
+
+  public void visit( NoneOfGen regExpGen)
+    {
+    writeHeader( NONE_OF, regExpGen);
+    writeChars( out_, regExpGen.getCharSet());
+    }
+
+  public void visit( AnyPrintableGen regExpGen)
+    {
+    writeHeader( ANY_PRINTABLE, regExpGen);
+    }
+
+  public void visit( LiteralGen regExpGen)
+    {
+    writeHeader( LITERAL, regExpGen);
+    out_.writeString( regExpGen.getChars());
+    }
+
+  /**
+   * Writes the properties common to all subexpressions.
+   */
+  private void writeHeader( int kind, AbstractRegExpGen regExpGen)
+    {
+    int minOccur = regExpGen.getMinOccur();
+    int maxOccur = regExpGen.getMaxOccur();
+    boolean once = minOccur == 1 && maxOccur == 1;
+
+    // Whenever possible, refer to the source as a range of the original regular expression.
+    String sourcePattern = regExpGen.getSourcePattern();
+    String source = sourcePattern == null? regExpGen.getSource() : sourcePattern;
+    int sourceStart = sourcePattern == null? 0 : regExpGen.getSourceStart();
+    int sourceEnd = sourcePattern == null? Objects.toString( source, "").length() : regExpGen.getSourceEnd();
+
+    out_.write(
+      kind
+      | (regExpGen.isAnchoredStartAll()? ANCHORED_START : 0)
+      | (regExpGen.isAnchoredEndAll()? ANCHORED_END : 0)
+      | (once? 0 : OCCURS)
+      | (source == null? 0 : SOURCE));
+
+    if( !once)
+      {
+      out_.writeVarint( minOccur);
+      out_.writeVarint( maxOccur == UNBOUNDED? 0 : maxOccur - minOccur + 1);
+      }
+
+    if( source != null)
+      {
+      // Usually, the source is near the source of the previous subexpression in the same string.
+      int sourceString = stringFor( source);
+      out_.writeVarint( sourceString == sourceString_? 0 : sourceString + 1);
+      out_.writeVarint( zigzag( sourceString == sourceString_? sourceStart - sourceStart_ : sourceStart));
+      out_.writeVarint( sourceEnd - sourceStart);
+      sourceString_ = sourceString;
+      sourceStart_ = sourceStart;
+      }
+    }
+
+  /**
+   * Writes the position of each of the given members, relative to the current subexpression.
+   */
+  private void writeMembers( Iterable<AbstractRegExpGen> members)
+    {
+    List<Integer> positions = new ArrayList<Integer>();
+    members.forEach( member -> positions.add( nodes_.get( member)));
+
+    int current = nodes_.size();
+    out_.writeVarint( positions.size());
+    positions.forEach( position -> out_.writeVarint( current - position));
+    }
+
+  /**
+   * Writes the options used by all generators.
+   */
+  private void writeOptions( Output out)
+    {
+    out.write(
+      (options_ != null && options_.isExactMatch()? EXACT : 0)
+      | (options_ != null && options_.isOptimized()? OPTIMIZED : 0));
+
+    writeChars( out, options_ == null? MatchOptions.ANY_LATIN_1 : options_.getAnyPrintableChars());
+    writeChars( out, options_ == null? MatchOptions.ECMA_SPACE : options_.getSpaceChars());
+    }
+
+  /**
+   * Writes the table of source strings.
+   */
+  private void writeStrings( Output out)
+    {
+    out.writeVarint( strings_.size());
+    strings_.forEach( out::writeString);
+    }
+
+  /**
+   * Writes the given characters as runs of consecutive characters, preserving their order.
+   */
+  private void writeChars( Output out, Iterable<Character> chars)
+    {
+    List<int[]> runs = new ArrayList<int[]>();
+    int[] run = null;
+    for( Character c : chars)
+      {
+      if( run != null && run[0] + run[1] == c.charValue())
+        {
+        run[1]++;
+        }
+      else
+        {
+        runs.add( run = new int[]{ c.charValue(), 1});
+        }
+      }
+
+    out.writeVarint( runs.size());
+    runs.forEach( r -> {
+      out.writeVarint( r[0]);
+      out.writeVarint( r[1] - 1);
+      });
+    }
+
+  /**
+   * Returns the given signed integer encoded as a non-negative integer, so that values near zero remain small.
+   */
+  private static int zigzag( int value)
+    {
+    return (value << 1) ^ (value >> 31);
+    }
+
+  /**
+   * Returns the position of the given string in the table of source strings.
+   */
+  private int stringFor( String string)
+    {
+    return
+      stringIndex_.computeIfAbsent(
+        string,
+        s -> {
+        strings_.add( s);
+        return strings_.size() - 1;
+        });
+    }
+
+  /**
+   * Reports a failure if the given generator uses options different from all others.
+   */
+  private void checkOptions( AbstractRegExpGen regExpGen)
+    {
+    MatchOptions options = regExpGen.getMatchOptions();
+    boolean same =
+      options == options_
+      || (options != null
+          && options_ != null
+          && options.isExactMatch() == options_.isExactMatch()
+          && options.isOptimized() == options_.isOptimized()
+          && Objects.equals( options.getAnyPrintableChars(), options_.getAnyPrintableChars())
+          && Objects.equals( options.getSpaceChars(), options_.getSpaceChars()));
+
+    if( !same)
+      {
+      throw new IllegalArgumentException( String.format( "%s: All generators written must use the same options", regExpGen));
+      }
+    }
+
+  public String toString()
+    {
+    return
+      ToString.getBuilder( this)
+      .append( "nodes", nodes_.size())
+      .append( "strings", strings_.size())
+      .toString();
+    }
+
+  private final Map<AbstractRegExpGen,Integer> nodes_ = new IdentityHashMap<AbstractRegExpGen,Integer>();
+  private final List<String> strings_ = new ArrayList<String>();
+  private final Map<String,Integer> stringIndex_ = new HashMap<String,Integer>();
+  private final Output out_ = new Output();
+  private MatchOptions options_;
+  private int sourceString_ = -1;
+  private int sourceStart_;
+
+  /**
+   * Identifies the binary form of a generator.
+   */
+  static final byte[] MAGIC = { 'R', 'X', 'G', 'N'};
+
+  /**
+   * The current version of the binary form.
+   */
+  public static final int VERSION = 1;
+
+  // Subexpression kinds
+  static final int SEQ = 0;
+  static final int ALTERNATIVE = 1;
+  static final int ANY_OF = 2;
+  static final int NONE_OF = 3;
+  static final int ANY_PRINTABLE = 4;
+  static final int LITERAL = 5;
+  static final int KIND = 0x07;
+
+  // Subexpression flags
+  static final int ANCHORED_START = 0x08;
+  static final int ANCHORED_END = 0x10;
+  static final int OCCURS = 0x20;
+  static final int SOURCE = 0x40;
+
+  // Option flags
+  static final int EXACT = 0x01;
+  static final int OPTIMIZED = 0x02;
+
+  /**
+   * Accumulates the binary form.
+   */
+  private static class Output extends ByteArrayOutputStream
+    {
+    /**
+     * Writes the given non-negative integer using a variable number of bytes, 7 bits per byte.
+     */
+    void writeVarint( int value)
+      {
+      int remaining = value;
+      while( (remaining & ~0x7f) != 0)
+        {
+        write( (remaining & 0x7f) | 0x80);
+        remaining >>>= 7;
+        }
+      write( remaining);
+      }
+
+    /**
+     * Returns the internal buffer containing the bytes written so far.
+     */
+    byte[] buffer()
+      {
+      return buf;
+      }
+
+    /**
+     * Writes the given integer using 4 bytes, high byte first.
+     */
+    void writeInt( int value)
+      {
+      write( value >>> 24);
+      write( value >>> 16);
+      write( value >>> 8);
+      write( value);
+      }
+
+    /**
+     * Writes the given string.
+     */
+    void writeString( String string)
+      {
+      writeVarint( string.length());
+      for( int i = 0; i < string.length(); i++)
+        {
+        writeVarint( string.charAt(i));
+        }
+      }
+    }
+  }
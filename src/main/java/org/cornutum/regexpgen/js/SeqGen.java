@@ -15,8 +15,10 @@ import static org.cornutum.regexpgen.Bounds.bounded;
 import static org.cornutum.regexpgen.Bounds.dividedBy;
 import static org.cornutum.regexpgen.Bounds.productOf;
 import static org.cornutum.regexpgen.Bounds.reduceBy;
+import static org.cornutum.regexpgen.Bounds.sumOf;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.IntStream;
@@ -64,8 +66,16 @@ public class SeqGen extends AbstractRegExpGen
    */
   public void add( AbstractRegExpGen member)
     {
+    checkMutable();
     if( member != null)
       {
+      if( members_.isEmpty())
+        {
+        startAnchored_ = member.isStartAlternativeAnchored();
+        }
+      endAnchored_ = member.isEndAlternativeAnchored();
+      membersMinLength_ = sumOf( membersMinLength_, member.getMinLength());
+      membersMaxLength_ = sumOf( membersMaxLength_, member.getMaxLength());
       members_.add( member);
       }
     }
@@ -85,7 +95,24 @@ public class SeqGen extends AbstractRegExpGen
    */
   public Iterable<AbstractRegExpGen> getMembers()
     {
-    return members_;
+    return Collections.unmodifiableList( members_);
+    }
+
+  /**
+   * Returns the subexpressions of this generator.
+   */
+  protected Iterable<AbstractRegExpGen> getSubexpressions()
+    {
+    return getMembers();
+    }
+
+  /**
+   * Computes in advance any values derived from this generator, before it is {@link #freeze frozen}.
+   */
+  protected void precompute()
+    {
+    membersRemainingMin_ = remainingLengths( true);
+    membersRemainingMax_ = remainingLengths( false);
     }
 
   /**
@@ -109,139 +136,55 @@ public class SeqGen extends AbstractRegExpGen
    */
   protected int getMembersMinLength()
     {
-    return getRemainingMinLength( 0);
+    return membersMinLength_;
     }
 
   /**
-   * Returns the minimum length for any matching subsequence starting with the i-th member
+   * Returns the maximum length for any matching sequence.
    */
-  private int getRemainingMinLength( int start)
+  protected int getMembersMaxLength()
     {
-    return
-      IntStream.range( start, members_.size())
-        .map( i -> members_.get(i).getMinLength())
-        .reduce( Bounds::sumOf)
-        .orElse( 0);
+    return membersMaxLength_;
     }
 
   /**
-   * Returns the maximum length for any matching subsequence starting with the i-th member
+   * Appends a random string within the given bounds that matches this regular expression.
    */
-  private int getRemainingMaxLength( int start)
+  protected void generateLength( RandomGen random, Bounds length, MatchBuffer matching)
     {
-    return
-      IntStream.range( start, members_.size())
-        .map( i -> members_.get(i).getMaxLength())
-        .reduce( Bounds::sumOf)
-        .orElse( 0);
+    run( generationLength( random, length, matching));
     }
 
   /**
-   * Returns the maximum length for any matching sequence.
+   * Returns the {@link Generation} that appends a random string within the given length bounds that matches
+   * this regular expression.
    */
-  protected int getMembersMaxLength()
+  protected Generation generationLength( RandomGen random, Bounds length, MatchBuffer matching)
     {
-    return
-      IntStream.range( 0, members_.size())
-        .map( i -> members_.get(i).getMaxLength())
-        .reduce( Bounds::sumOf)
-        .orElse( 0);
+    return new SeqGeneration( random, length, matching);
     }
 
   /**
-   * Returns a random string within the given bounds that matches this regular expression.
+   * Returns the minimum (or maximum) length for any matching subsequence starting with each member.
    */
-  protected String generateLength( RandomGen random, Bounds length)
+  private int[] getRemainingLengths( boolean min)
     {
-    StringBuilder matching = new StringBuilder();
-
-    if( getMaxLength() > 0)
-      {
-      // Given a range of lengths...
-      int lengthMin = length.getMinValue();
-      int lengthMax = length.getMaxValue();
-      
-      // ...allowing for a range of occurrences...
-      int memberMin = getMembersMinLength();
-      int memberMax = getMembersMaxLength();
-      int mayOccurMin = lengthMin / memberMax;
-      int mayOccurMax = bounded( lengthMax).map( max -> dividedBy( max, memberMin)).orElse( UNBOUNDED);
-      Bounds mayOccur =
-        new Bounds( mayOccurMin, mayOccurMax)
-        .clippedTo( "Occurrences", getMinOccur(), getMaxOccur());
-
-      // ...for a random number of occurrences...
-      int targetOccur = random.within( mayOccur);
-      int targetLength = bounded( lengthMax).orElse( targetOccur * random.within( new Bounds( memberMin, memberMax)));
-
-      // ...generate a random match for each occurrence
-      int remaining;
-      int needed;
-      for( remaining = targetLength,
-             needed = lengthMin;
-           
-           targetOccur > 0
-             && remaining > 0;
-           
-           targetOccur--,
-             remaining = targetLength - matching.length(),
-             needed = lengthMin - matching.length())
-        {
-        // Next occurrence match complete?
-        int nextMin = needed / targetOccur;
-        int nextMax = remaining / targetOccur;
-        String seqMatch = completeSeq( random, 0, nextMin, nextMax);
-        if( seqMatch != null)
-          {
-          // Yes, append the next occurrence
-          matching.append( seqMatch);
-          }
-        else
-          {
-          // No, no more occurrences are possible now
-          targetOccur = 0;
-          }
-        }
-      }
-
-    return matching.toString();
+    int[] remaining = min? membersRemainingMin_ : membersRemainingMax_;
+    return remaining != null? remaining : remainingLengths( min);
     }
 
   /**
-   * Completes a random string with the given range that matches this sequence starting with the i'th member.
+   * Computes the minimum (or maximum) length for any matching subsequence starting with each member.
    */
-  private String completeSeq( RandomGen random, int i, int needed, int remaining)
+  private int[] remainingLengths( boolean min)
     {
-    AbstractRegExpGen member = members_.get(i);
-    int memberMin = member.getMinLength();
-    int memberMax = member.getMaxLength();
-
-    String matching;
-    int memberMatchMin; 
-    int memberMatchMax;
-    for( matching = null,
-           memberMatchMax = remaining - getRemainingMinLength( i+1),
-           memberMatchMin = Math.min( memberMax, Math.max( memberMin, reduceBy( needed, getRemainingMaxLength( i+1))));
-         
-         matching == null
-           && memberMatchMax >= memberMatchMin
-           && memberMatchMin >= memberMin;
-
-         memberMatchMin--)
+    int[] remaining = new int[ members_.size() + 1];
+    for( int i = members_.size() - 1; i >= 0; i--)
       {
-      String memberMatch = members_.get(i).generate( random, new Bounds( memberMatchMin, memberMatchMax));
-
-      matching =
-        memberMatch != null && i+1 < members_.size()?
-        
-        Optional.ofNullable( completeSeq( random, i+1, needed - memberMatch.length(), remaining - memberMatch.length()))
-        .map( remainingMatch -> memberMatch + remainingMatch)
-        .orElse( null) :
-
-        memberMatch;
+      AbstractRegExpGen member = members_.get(i);
+      remaining[i] = sumOf( remaining[i+1], min? member.getMinLength() : member.getMaxLength());
       }
-
-    return matching;
+    return remaining;
     }
 
   /**
@@ -251,7 +194,16 @@ public class SeqGen extends AbstractRegExpGen
     {
     return
       isAnchoredStartAll()
-      || getStartAlternatives().anyMatch( r -> r.isAnchoredStart());
+      || isStartAlternativeAnchored();
+    }
+
+  /**
+   * Returns if any of the {@link #getStartAlternatives possible starting subexpressions} must match the start of a string.
+   * Computed when the first member is added.
+   */
+  protected boolean isStartAlternativeAnchored()
+    {
+    return startAnchored_;
     }
 
   /**
@@ -261,7 +213,16 @@ public class SeqGen extends AbstractRegExpGen
     {
     return
       isAnchoredEndAll()
-      || getEndAlternatives().anyMatch( r -> r.isAnchoredEnd());
+      || isEndAlternativeAnchored();
+    }
+
+  /**
+   * Returns if any of the {@link #getEndAlternatives possible ending subexpressions} must match the end of a string.
+   * Computed when the last member is added.
+   */
+  protected boolean isEndAlternativeAnchored()
+    {
+    return endAnchored_;
     }
 
   /**
@@ -322,7 +283,185 @@ public class SeqGen extends AbstractRegExpGen
       ^ members_.hashCode();
     }
 
-  private List<AbstractRegExpGen> members_ = new ArrayList<AbstractRegExpGen>();
+  private final List<AbstractRegExpGen> members_ = new ArrayList<AbstractRegExpGen>();
+  private boolean startAnchored_;
+  private boolean endAnchored_;
+  private int membersMinLength_;
+  private int membersMaxLength_;
+  private int[] membersRemainingMin_;
+  private int[] membersRemainingMax_;
+
+  /**
+   * Generates a random string that matches this sequence.
+   * <P/>
+   * Each occurrence is completed by generating each member in turn, within the bounds that remain feasible for the
+   * rest of the sequence. If the rest of the sequence can't be completed, the previous member is generated again with
+   * a smaller minimum length. Member states are kept in an explicit stack, so the length of the sequence is limited
+   * only by available memory.
+   */
+  private class SeqGeneration implements Generation
+    {
+    SeqGeneration( RandomGen random, Bounds length, MatchBuffer matching)
+      {
+      random_ = random;
+      matching_ = matching;
+
+      if( getMaxLength() > 0)
+        {
+        // Given a range of lengths...
+        int lengthMin = length.getMinValue();
+        int lengthMax = length.getMaxValue();
+      
+        // ...allowing for a range of occurrences...
+        int memberMin = getMembersMinLength();
+        int memberMax = getMembersMaxLength();
+        int mayOccurMin = lengthMin / memberMax;
+        int mayOccurMax = bounded( lengthMax).map( max -> dividedBy( max, memberMin)).orElse( UNBOUNDED);
+        Bounds mayOccur =
+          new Bounds( mayOccurMin, mayOccurMax)
+          .clippedTo( "Occurrences", getMinOccur(), getMaxOccur());
+
+        // ...for a random number of occurrences...
+        targetOccur_ = within( random, mayOccur);
+        targetLength_ = bounded( lengthMax).orElse( targetOccur_ * random.within( new Bounds( memberMin, memberMax)));
+        lengthMin_ = lengthMin;
+
+        // ...generate a random match for each occurrence
+        start_ = matching.length();
+        remaining_ = targetLength_;
+        needed_ = lengthMin;
+        if( targetOccur_ > 0 && remaining_ > 0)
+          {
+          remainingMin_ = getRemainingLengths( true);
+          remainingMax_ = getRemainingLengths( false);
+          memberStates_ = new Member[ members_.size()];
+          }
+        }
+      }
+
+    public Generation next()
+      {
+      Generation memberGeneration = null;
+      while( memberGeneration == null && !done_)
+        {
+        if( member_ < 0)
+          {
+          // Start the next occurrence, if any.
+          if( targetOccur_ > 0 && remaining_ > 0)
+            {
+            start( 0, needed_ / targetOccur_, remaining_ / targetOccur_);
+            }
+          else
+            {
+            done_ = true;
+            }
+          }
+        else if( generated_)
+          {
+          // Member generated -- continue with the next member, if any.
+          generated_ = false;
+          Member member = memberStates_[ member_];
+          int memberLength = matching_.length() - member.start;
+          if( member_ + 1 < memberStates_.length)
+            {
+            start( member_ + 1, member.needed - memberLength, member.remaining - memberLength);
+            }
+          else
+            {
+            nextOccurrence();
+            }
+          }
+        else
+          {
+          Member member = memberStates_[ member_];
+          matching_.reset( member.mark);
+          if( member.matchMax >= member.matchMin && member.matchMin >= member.min)
+            {
+            // Generate this member...
+            generated_ = true;
+            memberGeneration = members_.get( member_).generation( random_, new Bounds( member.matchMin, member.matchMax), matching_);
+            }
+          else if( member_ == 0)
+            {
+            // ... no more occurrences are possible now...
+            targetOccur_ = 0;
+            nextOccurrence();
+            }
+          else
+            {
+            // ... or try the previous member again, with a smaller minimum length.
+            member_--;
+            memberStates_[ member_].matchMin--;
+            }
+          }
+        }
+
+      return memberGeneration;
+      }
+
+    /**
+     * Starts generating the i'th member for the given range of the remaining sequence.
+     */
+    private void start( int i, int needed, int remaining)
+      {
+      if( memberStates_[i] == null)
+        {
+        memberStates_[i] = new Member();
+        }
+      Member member = memberStates_[i];
+      AbstractRegExpGen memberGen = members_.get(i);
+      int memberMax = memberGen.getMaxLength();
+
+      member.min = memberGen.getMinLength();
+      member.start = matching_.length();
+      member.mark = matching_.mark();
+      member.needed = needed;
+      member.remaining = remaining;
+      member.matchMax = remaining - remainingMin_[i+1];
+      member.matchMin = Math.min( memberMax, Math.max( member.min, reduceBy( needed, remainingMax_[i+1])));
+      member_ = i;
+      }
+
+    /**
+     * Continues with the next occurrence.
+     */
+    private void nextOccurrence()
+      {
+      targetOccur_--;
+      remaining_ = targetLength_ - (matching_.length() - start_);
+      needed_ = lengthMin_ - (matching_.length() - start_);
+      member_ = -1;
+      }
+
+    private final RandomGen random_;
+    private final MatchBuffer matching_;
+    private int targetOccur_;
+    private int targetLength_;
+    private int lengthMin_;
+    private int start_;
+    private int remaining_;
+    private int needed_;
+    private int[] remainingMin_;
+    private int[] remainingMax_;
+    private Member[] memberStates_;
+    private int member_ = -1;
+    private boolean generated_;
+    private boolean done_;
+    }
+
+  /**
+   * The state of a member generation.
+   */
+  private static class Member
+    {
+    long mark;
+    int start;
+    int min;
+    int needed;
+    int remaining;
+    int matchMin;
+    int matchMax;
+    }
 
   /**
    * Builds a {@link SeqGen} instance.
@@ -0,0 +1,128 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.random;
+
+import org.cornutum.regexpgen.RandomGen;
+import org.cornutum.regexpgen.util.ToString;
+
+
+/**
+ * Samples a discrete distribution in constant time, using Vose's alias method.
+ */
+public class AliasTable
+  {
+  /**
+   * Creates a new AliasTable instance for the given (unnormalized) weights. The i-th value is
+   * sampled with probability proportional to <CODE>weights[i]</CODE>.
+   */
+  public AliasTable( double[] weights)
+    {
+    int n = weights.length;
+    if( n == 0)
+      {
+      throw new IllegalArgumentException( "No weights defined");
+      }
+
+    double total = 0;
+    for( double weight : weights)
+      {
+      if( !(weight >= 0 && Double.isFinite( weight)))
+        {
+        throw new IllegalArgumentException( String.format( "Invalid weight=%s", weight));
+        }
+      total += weight;
+      }
+    if( total == 0)
+      {
+      throw new IllegalArgumentException( "Total weight must be > 0");
+      }
+
+    probability_ = new double[n];
+    alias_ = new int[n];
+
+    // Partition scaled weights into those below and above the average...
+    double[] scaled = new double[n];
+    int[] small = new int[n];
+    int[] large = new int[n];
+    int smallCount = 0;
+    int largeCount = 0;
+    for( int i = 0; i < n; i++)
+      {
+      scaled[i] = weights[i] * n / total;
+      if( scaled[i] < 1.0)
+        {
+        small[ smallCount++] = i;
+        }
+      else
+        {
+        large[ largeCount++] = i;
+        }
+      }
+
+    // ...and fill each small column with the excess from a large one.
+    while( smallCount > 0 && largeCount > 0)
+      {
+      int less = small[ --smallCount];
+      int more = large[ --largeCount];
+
+      probability_[ less] = scaled[ less];
+      alias_[ less] = more;
+
+      scaled[ more] = (scaled[ more] + scaled[ less]) - 1.0;
+      if( scaled[ more] < 1.0)
+        {
+        small[ smallCount++] = more;
+        }
+      else
+        {
+        large[ largeCount++] = more;
+        }
+      }
+
+    // Any remaining columns are full, except for rounding errors.
+    while( largeCount > 0)
+      {
+      probability_[ large[ --largeCount]] = 1.0;
+      }
+    while( smallCount > 0)
+      {
+      probability_[ small[ --smallCount]] = 1.0;
+      }
+    }
+
+  /**
+   * Returns the index of a random value.
+   */
+  public int next( RandomGen random)
+    {
+    int column = random.below( probability_.length);
+    return
+      random.nextDouble() < probability_[ column]
+      ? column
+      : alias_[ column];
+    }
+
+  /**
+   * Returns the number of values in this distribution.
+   */
+  public int size()
+    {
+    return probability_.length;
+    }
+
+  public String toString()
+    {
+    return
+      ToString.getBuilder( this)
+      .append( "size", size())
+      .toString();
+    }
+
+  private final double[] probability_;
+  private final int[] alias_;
+  }
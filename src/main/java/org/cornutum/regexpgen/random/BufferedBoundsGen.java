@@ -0,0 +1,155 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.random;
+
+import org.cornutum.regexpgen.Bounds;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Generates random integer values within given {@link Bounds}, drawing random bits from a buffered 64-bit word.
+ * <P/>
+ * Bounded values are generated using Lemire's nearly-divisionless method ("Fast Random Integer Generation in an
+ * Interval", 2019), which maps random bits to a range with one multiplication and needs a division only in the rare
+ * case that a draw must be rejected. Small ranges use only 16 bits per draw, so a single 64-bit word from the
+ * underlying {@link RandomGenerator} serves several draws. Every value in a range remains equally likely.
+ * <P/>
+ * A BufferedBoundsGen is <B>not</B> thread-safe, because the buffered bits are changed by every draw. Each instance
+ * must be used by only one thread at a time. To share random values among many threads, use a
+ * {@link ThreadLocalRandomGen} instead.
+ */
+public class BufferedBoundsGen extends RandomBoundsGen
+  {
+  /**
+   * Creates a new BufferedBoundsGen instance.
+   */
+  public BufferedBoundsGen()
+    {
+    this( new SplittableRandom());
+    }
+
+  /**
+   * Creates a new BufferedBoundsGen instance.
+   */
+  public BufferedBoundsGen( RandomGenerator random)
+    {
+    this( random, 16);
+    }
+
+  /**
+   * Creates a new BufferedBoundsGen instance. When no upper bound is defined, uses a Poisson distribution with
+   * the given lambda parameter.
+   */
+  public BufferedBoundsGen( RandomGenerator random, double lambda)
+    {
+    super( random, lambda);
+    }
+
+  /**
+   * Returns a new BufferedBoundsGen that uses the {@link RandomGeneratorFactory#of named} random number generator algorithm.
+   */
+  public static BufferedBoundsGen of( String algorithm)
+    {
+    return new BufferedBoundsGen( RandomGeneratorFactory.of( algorithm).create());
+    }
+
+  /**
+   * Returns a new BufferedBoundsGen that uses the {@link RandomGeneratorFactory#of named} random number generator algorithm,
+   * initialized with the given seed.
+   */
+  public static BufferedBoundsGen of( String algorithm, long seed)
+    {
+    return new BufferedBoundsGen( RandomGeneratorFactory.of( algorithm).create( seed));
+    }
+
+  /**
+   * Returns a random integer between <CODE>min</CODE> (inclusive) and <CODE>max</CODE> (exclusive).
+   */
+  public int within( int min, int max)
+    {
+    return
+      max - min <= 0 || max >= Bounds.UNBOUNDED?
+      super.within( min, max) :
+
+      min + below( max - min);
+    }
+
+  /**
+   * Returns a random integer between <CODE>0</CODE> (inclusive) and <CODE>bound</CODE> (exclusive).
+   */
+  public int below( int bound)
+    {
+    return
+      bound <= 1?
+      0 :
+
+      bound <= SMALL_BOUND?
+      (int) nextBounded( bound, 16) :
+
+      (int) nextBounded( bound, 32);
+    }
+
+  /**
+   * Returns a random value between <CODE>0</CODE> (inclusive) and <CODE>bound</CODE> (exclusive), using
+   * the given number of random bits.
+   */
+  private long nextBounded( long bound, int bits)
+    {
+    long range = 1L << bits;
+    long product = nextBits( bits) * bound;
+    long low = product & (range - 1);
+    if( low < bound)
+      {
+      // Reject the few values that would make the result biased.
+      long threshold = (range - bound) % bound;
+      while( low < threshold)
+        {
+        product = nextBits( bits) * bound;
+        low = product & (range - 1);
+        }
+      }
+
+    return product >>> bits;
+    }
+
+  /**
+   * Returns the given number of random bits, taken from the buffered word.
+   */
+  private long nextBits( int bits)
+    {
+    if( bitsLeft_ < bits)
+      {
+      buffer_ = getRandomGenerator().nextLong();
+      bitsLeft_ = 64;
+      }
+
+    long next = buffer_ & ((1L << bits) - 1);
+    buffer_ >>>= bits;
+    bitsLeft_ -= bits;
+    return next;
+    }
+
+  /**
+   * Discards any buffered random bits.
+   */
+  void discardBits()
+    {
+    bitsLeft_ = 0;
+    }
+
+  /**
+   * The largest bound that uses only 16 random bits per draw, so that a draw is rejected with probability
+   * at most 1/256.
+   */
+  private static final int SMALL_BOUND = 1 << 8;
+
+  private long buffer_;
+  private int bitsLeft_;
+  }
@@ -0,0 +1,126 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.random;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates random integer values using a counter-based random number generator keyed by a seed and a sample index.
+ * <P/>
+ * The random values for each sample depend only on the seed and the sample index, so any sample can be generated
+ * independently of all others. For example, separate processes can each generate their own slice of the same
+ * reproducible corpus without sharing any state, and any single sample can be regenerated directly by its index.
+ * <P/>
+ * Each random word is computed by applying the SplitMix64 mixing function to a key derived from the seed and
+ * the sample index, plus a counter that is incremented with each word drawn.
+ */
+public class CounterBoundsGen extends BufferedBoundsGen
+  {
+  /**
+   * Creates a new CounterBoundsGen instance for sample 0.
+   */
+  public CounterBoundsGen( long seed)
+    {
+    this( seed, 16);
+    }
+
+  /**
+   * Creates a new CounterBoundsGen instance for sample 0. When no upper bound is defined, uses a Poisson distribution
+   * with the given lambda parameter.
+   */
+  public CounterBoundsGen( long seed, double lambda)
+    {
+    this( new Counter( seed), lambda);
+    }
+
+  /**
+   * Creates a new CounterBoundsGen instance.
+   */
+  private CounterBoundsGen( Counter counter, double lambda)
+    {
+    super( counter, lambda);
+    counter_ = counter;
+    }
+
+  /**
+   * Returns a new CounterBoundsGen for the given sample.
+   */
+  public static CounterBoundsGen forSample( long seed, long sample)
+    {
+    return new CounterBoundsGen( seed).atSample( sample);
+    }
+
+  /**
+   * Changes this generator to produce the random values for the given sample. Returns this generator.
+   */
+  public CounterBoundsGen atSample( long sample)
+    {
+    counter_.setSample( sample);
+    discardBits();
+    return this;
+    }
+
+  /**
+   * Returns the current sample for this generator.
+   */
+  public long getSample()
+    {
+    return counter_.getSample();
+    }
+
+  private final Counter counter_;
+
+  /**
+   * Generates random words using the SplitMix64 mixing function.
+   */
+  private static class Counter implements RandomGenerator
+    {
+    Counter( long seed)
+      {
+      seed_ = mix( seed);
+      setSample( 0);
+      }
+
+    /**
+     * Starts the random words for the given sample.
+     */
+    void setSample( long sample)
+      {
+      sample_ = sample;
+      key_ = mix( seed_ ^ mix( sample + GOLDEN_GAMMA));
+      counter_ = 0;
+      }
+
+    long getSample()
+      {
+      return sample_;
+      }
+
+    public long nextLong()
+      {
+      return mix( key_ + (++counter_) * GOLDEN_GAMMA);
+      }
+
+    /**
+     * Returns the SplitMix64 mix of the given value.
+     */
+    private static long mix( long z)
+      {
+      z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+      z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+      return z ^ (z >>> 31);
+      }
+
+    private final long seed_;
+    private long sample_;
+    private long key_;
+    private long counter_;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    }
+  }
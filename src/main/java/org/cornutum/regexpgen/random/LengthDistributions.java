@@ -0,0 +1,169 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.random;
+
+import org.cornutum.regexpgen.LengthDistribution;
+import org.cornutum.regexpgen.RandomGen;
+import org.cornutum.regexpgen.util.ToString;
+
+/**
+ * Defines standard {@link LengthDistribution} implementations.
+ */
+public final class LengthDistributions
+  {
+  /**
+   * Creates a new LengthDistributions instance.
+   */
+  private LengthDistributions()
+    {
+    // Static methods only
+    }
+
+  /**
+   * Returns a geometric distribution of lengths with the given mean.
+   */
+  public static LengthDistribution geometric( double mean)
+    {
+    return new Geometric( mean);
+    }
+
+  /**
+   * Returns a uniform distribution of lengths between 0 and the given maximum (inclusive).
+   */
+  public static LengthDistribution uniform( int max)
+    {
+    return new Uniform( max);
+    }
+
+  /**
+   * Returns a Zipf distribution of lengths between 0 and the given maximum (inclusive), where the
+   * probability of length <I>k</I> is proportional to <CODE>1 / (k+1)^exponent</CODE>.
+   */
+  public static LengthDistribution zipf( int max, double exponent)
+    {
+    if( max < 0)
+      {
+      throw new IllegalArgumentException( "Maximum must be non-negative");
+      }
+    if( !(exponent >= 0))
+      {
+      throw new IllegalArgumentException( "Exponent must be non-negative");
+      }
+
+    double[] weights = new double[ max + 1];
+    for( int k = 0; k <= max; k++)
+      {
+      weights[k] = Math.pow( k + 1, -exponent);
+      }
+
+    return new Empirical( String.format( "zipf(%s,%s)", max, exponent), weights);
+    }
+
+  /**
+   * Returns an empirical distribution of lengths, where the probability of length <I>k</I> is proportional
+   * to <CODE>weights[k]</CODE>. For example, the weights can be a histogram of lengths observed in production.
+   */
+  public static LengthDistribution empirical( double[] weights)
+    {
+    return new Empirical( String.format( "empirical(%s)", weights.length), weights);
+    }
+
+  /**
+   * Generates lengths following a geometric distribution.
+   */
+  private static class Geometric implements LengthDistribution
+    {
+    Geometric( double mean)
+      {
+      if( !(mean > 0 && Double.isFinite( mean)))
+        {
+        throw new IllegalArgumentException( "Mean must be > 0");
+        }
+      mean_ = mean;
+
+      // For success probability p = 1 / (mean + 1), this is 1 / log(1-p).
+      invLogFailure_ = 1.0 / Math.log( mean / (mean + 1));
+      }
+
+    public int next( RandomGen random)
+      {
+      // Invert the CDF, using 1-u to avoid log(0).
+      double k = Math.floor( Math.log( 1.0 - random.nextDouble()) * invLogFailure_);
+      return k < Integer.MAX_VALUE? (int) k : Integer.MAX_VALUE - 1;
+      }
+
+    public String toString()
+      {
+      return
+        ToString.getBuilder( this)
+        .append( mean_)
+        .toString();
+      }
+
+    private final double mean_;
+    private final double invLogFailure_;
+    }
+
+  /**
+   * Generates lengths following a uniform distribution.
+   */
+  private static class Uniform implements LengthDistribution
+    {
+    Uniform( int max)
+      {
+      if( max < 0 || max == Integer.MAX_VALUE)
+        {
+        throw new IllegalArgumentException( String.format( "Maximum must be non-negative and < %s", Integer.MAX_VALUE));
+        }
+      max_ = max;
+      }
+
+    public int next( RandomGen random)
+      {
+      return random.below( max_ + 1);
+      }
+
+    public String toString()
+      {
+      return
+        ToString.getBuilder( this)
+        .append( max_)
+        .toString();
+      }
+
+    private final int max_;
+    }
+
+  /**
+   * Generates lengths following a given discrete distribution.
+   */
+  private static class Empirical implements LengthDistribution
+    {
+    Empirical( String name, double[] weights)
+      {
+      name_ = name;
+      lengths_ = new AliasTable( weights);
+      }
+
+    public int next( RandomGen random)
+      {
+      return lengths_.next( random);
+      }
+
+    public String toString()
+      {
+      return
+        ToString.getBuilder( this)
+        .append( name_)
+        .toString();
+      }
+
+    private final String name_;
+    private final AliasTable lengths_;
+    }
+  }
@@ -1,5 +1,5 @@
 //////////////////////////////////////////////////////////////////////////////
-// 
+//
 //                    Copyright 2020, Cornutum Project
 //                             www.cornutum.org
 //
@@ -10,9 +10,14 @@ package org.cornutum.regexpgen.random;
 import org.cornutum.regexpgen.util.ToString;
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Generates random numbers following a Poisson distribution
+ * <P/>
+ * For small lambda values, uses Knuth's multiplication method. Otherwise, uses the transformed rejection
+ * method (PTRS) of Hörmann, "The transformed rejection method for generating Poisson random variables" (1993),
+ * which has a constant expected cost for any lambda.
  */
 public class Poisson
   {
@@ -21,20 +26,47 @@ public class Poisson
    */
   public Poisson( Random random, int lambda)
     {
-    if( lambda <= 0)
+    this( (RandomGenerator) random, (double) lambda);
+    }
+
+  /**
+   * Creates a new Poisson distribution with the given lambda parameter.
+   */
+  public Poisson( RandomGenerator random, double lambda)
+    {
+    if( !(lambda > 0 && lambda <= MAX_LAMBDA))
       {
-      throw new IllegalArgumentException( "Lambda must be > 0");
+      throw new IllegalArgumentException( String.format( "Lambda must be > 0 and <= %s", MAX_LAMBDA));
       }
 
-    L = Math.exp( -lambda);
     this.random = random;
     this.lambda = lambda;
+
+    L = Math.exp( -lambda);
+
+    double sqrtLambda = Math.sqrt( lambda);
+    logLambda = Math.log( lambda);
+    b = 0.931 + 2.53 * sqrtLambda;
+    a = -0.059 + 0.02483 * b;
+    logInvAlpha = Math.log( 1.1239 + 1.1328 / (b - 3.4));
+    vr = 0.9277 - 3.6224 / (b - 2);
     }
 
   /**
-   * Returns the lambda parameter for this Poisson distribution.
+   * Returns the lambda parameter for this Poisson distribution, rounded to the nearest integer.
+   *
+   * @deprecated Use {@link #getMean} to get the exact lambda parameter
    */
+  @Deprecated
   public int getLambda()
+    {
+    return (int) Math.round( lambda);
+    }
+
+  /**
+   * Returns the mean of this Poisson distribution, which is equal to its lambda parameter.
+   */
+  public double getMean()
     {
     return lambda;
     }
@@ -43,10 +75,82 @@ public class Poisson
    * Returns the next random number from this Poisson distribution.
    */
   public int next()
+    {
+    return
+      lambda < PTRS_LAMBDA
+      ? nextMultiplied()
+      : nextTransformed();
+    }
+
+  /**
+   * Returns the next random number using Knuth's multiplication method.
+   */
+  private int nextMultiplied()
     {
     int k = 0;
     for( double p = 1.0; (p *= random.nextDouble()) > L; k++);
-    return k;      
+    return k;
+    }
+
+  /**
+   * Returns the next random number using the transformed rejection method.
+   */
+  private int nextTransformed()
+    {
+    while( true)
+      {
+      double u = random.nextDouble() - 0.5;
+      double v = random.nextDouble();
+      double us = 0.5 - Math.abs( u);
+      long k = (long) Math.floor( (2 * a / us + b) * u + lambda + 0.43);
+
+      if( us >= 0.07 && v <= vr)
+        {
+        return (int) k;
+        }
+
+      if( k < 0 || (us < 0.013 && v > us))
+        {
+        continue;
+        }
+
+      if( Math.log( v) + logInvAlpha - Math.log( a / (us * us) + b) <= -lambda + k * logLambda - logGamma( k + 1))
+        {
+        return (int) k;
+        }
+      }
+    }
+
+  /**
+   * Returns the log of the gamma function for the given value.
+   */
+  static double logGamma( double x)
+    {
+    if( x == 1.0 || x == 2.0)
+      {
+      return 0.0;
+      }
+
+    // For small x, shift up to where the Stirling series is accurate...
+    int n = x <= 7.0? (int) (7 - x) : 0;
+    double x0 = x + n;
+
+    double x2 = 1.0 / (x0 * x0);
+    double gl0 = LOG_GAMMA_COEFFICIENTS[9];
+    for( int k = 8; k >= 0; k--)
+      {
+      gl0 = gl0 * x2 + LOG_GAMMA_COEFFICIENTS[k];
+      }
+    double gl = gl0 / x0 + 0.5 * LOG_2PI + (x0 - 0.5) * Math.log( x0) - x0;
+
+    // ... and then back down again.
+    for( int k = 1; k <= n; k++)
+      {
+      gl -= Math.log( x0 - 1.0);
+      x0 -= 1.0;
+      }
+
+    return gl;
     }
 
   public String toString()
@@ -56,8 +160,34 @@ public class Poisson
       .append( lambda)
       .toString();
     }
-  
-  private final Random random;
-  private final int lambda;
+
+  private final RandomGenerator random;
+  private final double lambda;
   private final double L;
+  private final double logLambda;
+  private final double a;
+  private final double b;
+  private final double logInvAlpha;
+  private final double vr;
+
+  /**
+   * The largest lambda supported, ensuring that results fit in an <CODE>int</CODE>.
+   */
+  public static final double MAX_LAMBDA = 1.0e9;
+
+  /**
+   * The smallest lambda for which the transformed rejection method is used.
+   */
+  private static final double PTRS_LAMBDA = 10;
+
+  private static final double LOG_2PI = 1.8378770664093453;
+
+  private static final double[] LOG_GAMMA_COEFFICIENTS =
+    {
+    8.333333333333333e-02, -2.777777777777778e-03,
+    7.936507936507937e-04, -5.952380952380952e-04,
+    8.417508417508418e-04, -1.917526917526918e-03,
+    6.410256410256410e-03, -2.955065359477124e-02,
+    1.796443723688307e-01, -1.39243221690590e+00
+    };
   }
@@ -0,0 +1,289 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.random;
+
+import org.cornutum.regexpgen.Bounds;
+import org.cornutum.regexpgen.RandomGen;
+import org.cornutum.regexpgen.util.ToString;
+
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * Generates quasi-random integer values that spread evenly over successive samples.
+ * <P/>
+ * Each random draw made while generating a sample is assigned a <I>dimension</I>, according to its position
+ * in the sequence of draws for the sample. For the first {@link #SOBOL_DIMENSIONS} dimensions, successive samples
+ * draw from a Sobol sequence with a random digital shift, so that combinations of the first few choices are also
+ * spread evenly. Later dimensions use a van der Corput sequence in base 2 with an independent nested (Owen)
+ * scrambling per dimension.
+ * <P/>
+ * In every dimension, for any range of <I>n</I> values, every value is drawn at least once within a small
+ * multiple of <I>n</I> samples, rather than the roughly <I>n log n</I> samples needed by independent uniform draws. This
+ * makes it much faster to cover all branches of an alternation or all counts of a bounded repetition.
+ * <P/>
+ * Each sample starts when a generator calls {@link #startSample} before generating a new string, or when
+ * {@link #nextSample} is called directly. Values for unbounded ranges are drawn from an ordinary
+ * {@link RandomBoundsGen}, using a Poisson distribution.
+ */
+public class QuasiRandomGen implements RandomGen
+  {
+  /**
+   * Creates a new QuasiRandomGen instance using a random seed.
+   */
+  public QuasiRandomGen()
+    {
+    this( new SplittableRandom().nextLong());
+    }
+
+  /**
+   * Creates a new QuasiRandomGen instance using the given seed.
+   */
+  public QuasiRandomGen( long seed)
+    {
+    this( seed, 16);
+    }
+
+  /**
+   * Creates a new QuasiRandomGen instance using the given seed. When no upper bound is defined, uses a Poisson
+   * distribution with the given lambda parameter.
+   */
+  public QuasiRandomGen( long seed, double lambda)
+    {
+    SplittableRandom random = new SplittableRandom( seed);
+    scramble_ = random.nextLong();
+    unbounded_ = new RandomBoundsGen( random.split(), lambda);
+    }
+
+  /**
+   * Starts the draws for the next sample. Returns the index of the new sample. If no values have been drawn for
+   * the current sample, it is reused, so that the first sample drawn is always sample 0.
+   */
+  public long nextSample()
+    {
+    if( dimension_ > 0)
+      {
+      sample_++;
+      dimension_ = 0;
+      }
+    return sample_;
+    }
+
+  /**
+   * Called before drawing the values for each new string generated. Starts the draws for the next sample.
+   */
+  public void startSample()
+    {
+    nextSample();
+    }
+
+  /**
+   * Returns the index of the current sample.
+   */
+  public long getSample()
+    {
+    return sample_;
+    }
+
+  /**
+   * Returns a random integer between <CODE>min</CODE> (inclusive) and <CODE>max</CODE> (exclusive).
+   */
+  public int within( int min, int max)
+    {
+    return
+      max - min <= 0?
+      min :
+
+      max < Bounds.UNBOUNDED?
+      min + (int) (nextDouble() * (max - min)) :
+
+      unbounded_.within( min, max);
+    }
+
+  /**
+   * Returns a random value between <CODE>0.0</CODE> (inclusive) and <CODE>1.0</CODE> (exclusive).
+   */
+  public double nextDouble()
+    {
+    return point( sample_, dimension_++);
+    }
+
+  /**
+   * Returns a random index between <CODE>0</CODE> (inclusive) and <CODE>n</CODE> (exclusive) that satisfies
+   * the given condition. Each such index is equally likely. Returns -1 if no index satisfies the condition.
+   * <P/>
+   * Unlike the default implementation, uses a single draw, so that the choice is evenly spread over successive samples.
+   */
+  public int pickWhere( IntPredicate condition, int n)
+    {
+    int found = 0;
+    for( int i = 0; i < n; i++)
+      {
+      if( condition.test( i))
+        {
+        found++;
+        }
+      }
+
+    int picked = -1;
+    for( int i = 0, skip = found == 0? 0 : below( found); picked < 0 && i < n; i++)
+      {
+      if( condition.test( i) && skip-- == 0)
+        {
+        picked = i;
+        }
+      }
+
+    return picked;
+    }
+
+  /**
+   * Returns the value of the given dimension for the given sample.
+   */
+  private double point( long sample, long dimension)
+    {
+    return
+      dimension < SOBOL_DIMENSIONS
+      ? sobolPoint( sample, (int) dimension)
+      : scrambledPoint( sample, dimension);
+    }
+
+  /**
+   * Returns the value of the given Sobol dimension for the given sample.
+   */
+  private double sobolPoint( long sample, int dimension)
+    {
+    int index = (int) sample;
+    int[] directions = DIRECTIONS[ dimension];
+    int x = (int) (mix( scramble_ + dimension * GOLDEN_GAMMA) >>> 32);
+    for( int bit = 0; index != 0; bit++, index >>>= 1)
+      {
+      if( (index & 1) != 0)
+        {
+        x ^= directions[ bit];
+        }
+      }
+
+    return (x & 0xffffffffL) * 0x1.0p-32;
+    }
+
+  /**
+   * Returns the value of the given scrambled van der Corput dimension for the given sample.
+   */
+  private double scrambledPoint( long sample, long dimension)
+    {
+    // Scramble each digit of the sample index, using a random function of all lower-order digits...
+    int index = (int) sample;
+    long key = mix( scramble_ + dimension * GOLDEN_GAMMA);
+    int scrambled = 0;
+    for( int digit = 0; digit < 32; digit++)
+      {
+      long prefix = ((long) digit << 32) | (index & ((1L << digit) - 1));
+      int flip = (int) (mix( key ^ prefix) >>> 63);
+      scrambled |= (((index >>> digit) & 1) ^ flip) << digit;
+      }
+
+    // ... and reflect the digits about the radix point.
+    return (Integer.reverse( scrambled) & 0xffffffffL) * 0x1.0p-32;
+    }
+
+  /**
+   * Returns the SplitMix64 mix of the given value.
+   */
+  private static long mix( long z)
+    {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+    }
+
+  public String toString()
+    {
+    return
+      ToString.getBuilder( this)
+      .append( "sample", sample_)
+      .toString();
+    }
+
+  private final long scramble_;
+  private final RandomGen unbounded_;
+  private long sample_;
+  private long dimension_;
+
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+  /**
+   * The number of dimensions that use a Sobol sequence.
+   */
+  public static final int SOBOL_DIMENSIONS = 16;
+
+  /**
+   * For each Sobol dimension after the first, the degree and coefficients of its primitive polynomial, followed by
+   * its initial direction numbers (from Joe and Kuo, "Constructing Sobol sequences with better two-dimensional
+   * projections", 2008).
+   */
+  private static final int[][] SOBOL_PARAMETERS =
+    {
+    { 1, 0, 1},
+    { 2, 1, 1, 3},
+    { 3, 1, 1, 3, 1},
+    { 3, 2, 1, 1, 1},
+    { 4, 1, 1, 1, 3, 3},
+    { 4, 4, 1, 3, 5, 13},
+    { 5, 2, 1, 1, 5, 5, 17},
+    { 5, 4, 1, 1, 5, 5, 5},
+    { 5, 7, 1, 1, 7, 11, 19},
+    { 5, 11, 1, 1, 5, 1, 1},
+    { 5, 13, 1, 1, 1, 3, 11},
+    { 5, 14, 1, 3, 5, 5, 31},
+    { 6, 1, 1, 3, 3, 9, 7, 49},
+    { 6, 13, 1, 1, 1, 15, 21, 21},
+    { 6, 16, 1, 3, 1, 13, 27, 49}
+    };
+
+  /**
+   * The direction numbers for each Sobol dimension.
+   */
+  private static final int[][] DIRECTIONS = new int[ SOBOL_DIMENSIONS][ 32];
+
+  static
+    {
+    // The first dimension is the van der Corput sequence...
+    for( int i = 0; i < 32; i++)
+      {
+      DIRECTIONS[0][i] = 1 << (31 - i);
+      }
+
+    // ...and the others are derived from their primitive polynomials.
+    for( int d = 1; d < SOBOL_DIMENSIONS; d++)
+      {
+      int[] parameters = SOBOL_PARAMETERS[ d - 1];
+      int degree = parameters[0];
+      int coefficients = parameters[1];
+      int[] v = DIRECTIONS[d];
+      for( int i = 0; i < 32; i++)
+        {
+        if( i < degree)
+          {
+          v[i] = parameters[ i + 2] << (31 - i);
+          }
+        else
+          {
+          v[i] = v[ i - degree] ^ (v[ i - degree] >>> degree);
+          for( int k = 1; k < degree; k++)
+            {
+            if( ((coefficients >>> (degree - 1 - k)) & 1) != 0)
+              {
+              v[i] ^= v[ i - k];
+              }
+            }
+          }
+        }
+      }
+    }
+  }
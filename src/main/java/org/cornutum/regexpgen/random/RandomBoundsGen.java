@@ -12,9 +12,15 @@ import org.cornutum.regexpgen.RandomGen;
 import org.cornutum.regexpgen.util.ToString;
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
 
 /**
  * Generates random integer values within given {@link Bounds}.
+ * <P/>
+ * Values can be drawn from any {@link RandomGenerator}. In particular, algorithms such as <CODE>L64X128MixRandom</CODE>,
+ * <CODE>Xoshiro256PlusPlus</CODE>, or <CODE>SplittableRandom</CODE> can be selected {@link #of by name}. Unlike
+ * {@link Random}, these algorithms do not synchronize on every draw and have better statistical quality.
  */
 public class RandomBoundsGen implements RandomGen
   {
@@ -30,6 +36,14 @@ public class RandomBoundsGen implements RandomGen
    * Creates a new RandomBoundsGen instance. 
    */
   public RandomBoundsGen( Random random)
+    {
+    this( (RandomGenerator) random);
+    }
+
+  /**
+   * Creates a new RandomBoundsGen instance. 
+   */
+  public RandomBoundsGen( RandomGenerator random)
     {
     this( random, 16);
     }
@@ -38,6 +52,14 @@ public class RandomBoundsGen implements RandomGen
    * Creates a new RandomBoundsGen instance. 
    */
   public RandomBoundsGen( int lambda)
+    {
+    this( (double) lambda);
+    }
+
+  /**
+   * Creates a new RandomBoundsGen instance. 
+   */
+  public RandomBoundsGen( double lambda)
     {
     this( new Random(), lambda);
     }
@@ -47,11 +69,37 @@ public class RandomBoundsGen implements RandomGen
    * the given lambda parameter.
    */
   public RandomBoundsGen( Random random, int lambda)
+    {
+    this( (RandomGenerator) random, (double) lambda);
+    }
+  
+  /**
+   * Creates a new RandomBoundsGen instance. When no upper bound is defined, uses a Poisson distribution with
+   * the given lambda parameter.
+   */
+  public RandomBoundsGen( RandomGenerator random, double lambda)
     {
     random_ = random;
     extra_ = new Poisson( random, lambda);
     }
   
+  /**
+   * Returns a new RandomBoundsGen that uses the {@link RandomGeneratorFactory#of named} random number generator algorithm.
+   */
+  public static RandomBoundsGen of( String algorithm)
+    {
+    return new RandomBoundsGen( RandomGeneratorFactory.of( algorithm).create());
+    }
+
+  /**
+   * Returns a new RandomBoundsGen that uses the {@link RandomGeneratorFactory#of named} random number generator algorithm,
+   * initialized with the given seed.
+   */
+  public static RandomBoundsGen of( String algorithm, long seed)
+    {
+    return new RandomBoundsGen( RandomGeneratorFactory.of( algorithm).create( seed));
+    }
+
   /**
    * Returns a random integer between <CODE>min</CODE> (inclusive) and <CODE>max</CODE> (exclusive).
    */
@@ -67,14 +115,30 @@ public class RandomBoundsGen implements RandomGen
       min + extra_.next();
     }
 
+  /**
+   * Returns a random value between <CODE>0.0</CODE> (inclusive) and <CODE>1.0</CODE> (exclusive).
+   */
+  public double nextDouble()
+    {
+    return random_.nextDouble();
+    }
+
+  /**
+   * Returns the source of random values for this generator.
+   */
+  protected RandomGenerator getRandomGenerator()
+    {
+    return random_;
+    }
+
   public String toString()
     {
     return
       ToString.getBuilder( this)
-      .append( extra_.getLambda())
+      .append( extra_.getMean())
       .toString();
     }
 
-  private final Random random_;
+  private final RandomGenerator random_;
   private final Poisson extra_;
   }
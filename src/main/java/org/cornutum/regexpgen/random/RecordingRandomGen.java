@@ -0,0 +1,105 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.random;
+
+import org.cornutum.regexpgen.RandomGen;
+import org.cornutum.regexpgen.util.ToString;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A {@link RandomGen} that records the values drawn from another {@link RandomGen}.
+ * <P/>
+ * Each value is recorded as a variable-length offset from the minimum of its range, so a typical draw
+ * needs only one byte. Draws from a range with at most one value are not recorded, since their result is already known.
+ * Given the recorded {@link #getTape tape}, a {@link ReplayRandomGen} reproduces the same sequence of values,
+ * and therefore the same generated strings.
+ * <P/>
+ * For example, to capture the draws for each sample separately, {@link #clear} the tape before generating
+ * each sample and save the tape for any sample of interest.
+ */
+public class RecordingRandomGen implements RandomGen
+  {
+  /**
+   * Creates a new RecordingRandomGen instance.
+   */
+  public RecordingRandomGen( RandomGen random)
+    {
+    random_ = Objects.requireNonNull( random, "Random generator must be defined");
+    }
+
+  /**
+   * Returns a random integer between <CODE>min</CODE> (inclusive) and <CODE>max</CODE> (exclusive).
+   */
+  public int within( int min, int max)
+    {
+    int value = random_.within( min, max);
+    if( max - min > 1)
+      {
+      record( value - min);
+      }
+    return value;
+    }
+
+  /**
+   * Called before drawing the values for each new string generated.
+   */
+  public void startSample()
+    {
+    random_.startSample();
+    }
+
+  /**
+   * Discards all values recorded.
+   */
+  public void clear()
+    {
+    size_ = 0;
+    }
+
+  /**
+   * Returns the values recorded since this tape was last {@link #clear cleared}.
+   */
+  public byte[] getTape()
+    {
+    return Arrays.copyOf( tape_, size_);
+    }
+
+  /**
+   * Appends the given offset to the tape, using 7 bits per byte, low-order bits first.
+   */
+  private void record( int offset)
+    {
+    if( tape_.length - size_ < 5)
+      {
+      tape_ = Arrays.copyOf( tape_, tape_.length * 2);
+      }
+
+    int remaining = offset;
+    while( (remaining & ~0x7f) != 0)
+      {
+      tape_[ size_++] = (byte) ((remaining & 0x7f) | 0x80);
+      remaining >>>= 7;
+      }
+    tape_[ size_++] = (byte) remaining;
+    }
+
+  public String toString()
+    {
+    return
+      ToString.getBuilder( this)
+      .append( random_)
+      .append( "size", size_)
+      .toString();
+    }
+
+  private final RandomGen random_;
+  private byte[] tape_ = new byte[ 64];
+  private int size_;
+  }
@@ -0,0 +1,98 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.random;
+
+import org.cornutum.regexpgen.Bounds;
+import org.cornutum.regexpgen.RandomGen;
+import org.cornutum.regexpgen.util.ToString;
+
+/**
+ * A {@link RandomGen} that replays the values recorded by a {@link RecordingRandomGen}.
+ * <P/>
+ * Replaying a tape with the same generator and length bounds used when it was recorded reproduces the same
+ * generated string. An {@link IllegalStateException} is thrown if the tape does not fit the values requested.
+ */
+public class ReplayRandomGen implements RandomGen
+  {
+  /**
+   * Creates a new ReplayRandomGen instance.
+   */
+  public ReplayRandomGen( byte[] tape)
+    {
+    tape_ = tape.clone();
+    }
+
+  /**
+   * Returns a random integer between <CODE>min</CODE> (inclusive) and <CODE>max</CODE> (exclusive).
+   */
+  public int within( int min, int max)
+    {
+    if( max - min <= 1)
+      {
+      return min;
+      }
+
+    int offset = replay();
+    if( max < Bounds.UNBOUNDED && offset >= max - min)
+      {
+      throw
+        new IllegalStateException(
+          String.format( "Recorded offset=%s is outside range=[%s,%s) at position=%s", offset, min, max, position_));
+      }
+
+    return Bounds.sumOf( min, offset);
+    }
+
+  /**
+   * Returns true if all recorded values have been replayed.
+   */
+  public boolean isComplete()
+    {
+    return position_ == tape_.length;
+    }
+
+  /**
+   * Returns the next offset recorded on the tape.
+   */
+  private int replay()
+    {
+    int offset = 0;
+    int shift = 0;
+    byte next;
+    do
+      {
+      if( isComplete())
+        {
+        throw new IllegalStateException( String.format( "No more recorded values after position=%s", position_));
+        }
+      if( shift > 28)
+        {
+        throw new IllegalStateException( String.format( "Invalid recorded value at position=%s", position_));
+        }
+
+      next = tape_[ position_++];
+      offset |= (next & 0x7f) << shift;
+      shift += 7;
+      }
+    while( (next & 0x80) != 0);
+
+    return offset;
+    }
+
+  public String toString()
+    {
+    return
+      ToString.getBuilder( this)
+      .append( "position", position_)
+      .append( "size", tape_.length)
+      .toString();
+    }
+
+  private final byte[] tape_;
+  private int position_;
+  }
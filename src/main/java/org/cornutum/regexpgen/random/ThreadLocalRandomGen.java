@@ -0,0 +1,105 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.random;
+
+import org.cornutum.regexpgen.RandomGen;
+import org.cornutum.regexpgen.util.ToString;
+
+import java.util.SplittableRandom;
+
+/**
+ * A {@link RandomGen} that can be shared by many threads without contention.
+ * <P/>
+ * Each thread (including each virtual thread) draws from its own {@link RandomBoundsGen}, backed by an independent
+ * {@link SplittableRandom} stream that is split from a master generator when the thread first uses this instance.
+ * Given the same master seed, the <I>n</I>-th thread to use this instance always gets the same stream.
+ */
+public class ThreadLocalRandomGen implements RandomGen
+  {
+  /**
+   * Creates a new ThreadLocalRandomGen instance using a random master seed.
+   */
+  public ThreadLocalRandomGen()
+    {
+    this( new SplittableRandom(), 16);
+    }
+
+  /**
+   * Creates a new ThreadLocalRandomGen instance using the given master seed.
+   */
+  public ThreadLocalRandomGen( long seed)
+    {
+    this( seed, 16);
+    }
+
+  /**
+   * Creates a new ThreadLocalRandomGen instance using the given master seed. When no upper bound is defined,
+   * uses a Poisson distribution with the given lambda parameter.
+   */
+  public ThreadLocalRandomGen( long seed, double lambda)
+    {
+    this( new SplittableRandom( seed), lambda);
+    }
+
+  /**
+   * Creates a new ThreadLocalRandomGen instance.
+   */
+  private ThreadLocalRandomGen( SplittableRandom master, double lambda)
+    {
+    master_ = master;
+    lambda_ = lambda;
+    }
+
+  /**
+   * Returns a random integer between <CODE>min</CODE> (inclusive) and <CODE>max</CODE> (exclusive).
+   */
+  public int within( int min, int max)
+    {
+    return current().within( min, max);
+    }
+
+  /**
+   * Returns a random value between <CODE>0.0</CODE> (inclusive) and <CODE>1.0</CODE> (exclusive).
+   */
+  public double nextDouble()
+    {
+    return current().nextDouble();
+    }
+
+  /**
+   * Returns the {@link RandomGen} for the current thread. Code that stays on one thread can use this directly,
+   * avoiding a thread-local lookup on every draw.
+   */
+  public RandomGen current()
+    {
+    return local_.get();
+    }
+
+  /**
+   * Returns a new generator for a thread, using the next stream split from the master generator.
+   */
+  private RandomBoundsGen split()
+    {
+    synchronized( master_)
+      {
+      return new RandomBoundsGen( master_.split(), lambda_);
+      }
+    }
+
+  public String toString()
+    {
+    return
+      ToString.getBuilder( this)
+      .append( lambda_)
+      .toString();
+    }
+
+  private final SplittableRandom master_;
+  private final double lambda_;
+  private final ThreadLocal<RandomBoundsGen> local_ = ThreadLocal.withInitial( this::split);
+  }
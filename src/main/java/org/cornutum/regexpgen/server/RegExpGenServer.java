@@ -0,0 +1,345 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.server;
+
+import org.cornutum.regexpgen.Bounds;
+import org.cornutum.regexpgen.CachingProvider;
+import org.cornutum.regexpgen.RandomGen;
+import org.cornutum.regexpgen.RegExpGen;
+import org.cornutum.regexpgen.RegExpGenBuilder;
+import org.cornutum.regexpgen.js.Provider;
+import org.cornutum.regexpgen.random.RandomBoundsGen;
+import org.cornutum.regexpgen.util.ToString;
+import static org.cornutum.regexpgen.RegExpGenBuilder.generateRegExp;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Serves strings generated by a {@link RegExpGen} over HTTP.
+ * <P/>
+ * Supports the following requests.
+ * <UL>
+ * <LI> <CODE>GET /match?re=<I>regexp</I></CODE>: Returns strings that match the given regular expression</LI>
+ * <LI> <CODE>GET /notMatch?re=<I>regexp</I></CODE>: Returns strings that do not match the given regular expression</LI>
+ * </UL>
+ * <P/>
+ * Both requests accept the following optional query parameters.
+ * <UL>
+ * <LI> <CODE>count</CODE>: The number of strings to generate (default: 1)</LI>
+ * <LI> <CODE>seed</CODE>: The seed for random generation (default: a random seed)</LI>
+ * <LI> <CODE>algorithm</CODE>: The name of the {@link java.util.random.RandomGeneratorFactory random number generator algorithm}
+ * (default: <CODE>Random</CODE>)</LI>
+ * <LI> <CODE>minLength</CODE>, <CODE>maxLength</CODE>: The length bounds for generated strings</LI>
+ * <LI> <CODE>exactly</CODE>: If <CODE>true</CODE>, generate strings containing only matching characters</LI>
+ * <LI> <CODE>any</CODE>: The characters used to match the "." expression</LI>
+ * <LI> <CODE>space</CODE>: The characters used to match the "\s" expression</LI>
+ * </UL>
+ * <P/>
+ * Generated strings are streamed in <A href="https://github.com/ndjson/ndjson-spec">NDJSON</A> format, one JSON string
+ * per line. Requests are handled on virtual threads, and compiled generators are cached for reuse by later requests.
+ */
+public class RegExpGenServer
+  {
+  /**
+   * Creates a new RegExpGenServer instance that listens on the given address.
+   */
+  public RegExpGenServer( InetSocketAddress address)
+    {
+    this( address, 1024);
+    }
+
+  /**
+   * Creates a new RegExpGenServer instance that listens on the given address and caches at most
+   * the given number of compiled generators.
+   */
+  public RegExpGenServer( InetSocketAddress address, int cacheSize)
+    {
+    address_ = address;
+    generators_ = CachingProvider.caching( Provider.forEcmaScript(), cacheSize);
+    }
+
+  /**
+   * Starts this server.
+   */
+  public RegExpGenServer start() throws IOException
+    {
+    executor_ = Executors.newVirtualThreadPerTaskExecutor();
+    server_ = HttpServer.create( address_, 0);
+    server_.setExecutor( executor_);
+    server_.createContext( "/match", exchange -> handle( exchange, true));
+    server_.createContext( "/notMatch", exchange -> handle( exchange, false));
+    server_.start();
+    return this;
+    }
+
+  /**
+   * Stops this server.
+   */
+  public void stop()
+    {
+    if( server_ != null)
+      {
+      server_.stop( 0);
+      executor_.shutdown();
+      server_ = null;
+      }
+    }
+
+  /**
+   * Returns the address of this server.
+   */
+  public InetSocketAddress getAddress()
+    {
+    return
+      server_ == null
+      ? address_
+      : server_.getAddress();
+    }
+
+  /**
+   * Handles a generation request.
+   */
+  private void handle( HttpExchange exchange, boolean matching) throws IOException
+    {
+    try( exchange)
+      {
+      if( !"GET".equals( exchange.getRequestMethod()))
+        {
+        sendError( exchange, 405, String.format( "Method=%s not allowed", exchange.getRequestMethod()));
+        return;
+        }
+
+      Optional<RegExpGen> generator;
+      RandomGen random;
+      Bounds length;
+      int count;
+      try
+        {
+        Map<String,String> params = getParams( exchange);
+        String regexp =
+          Optional.ofNullable( params.get( "re"))
+          .orElseThrow( () -> new IllegalArgumentException( "No regular expression defined"));
+
+        count = getInt( params, "count", 1);
+        if( count < 0 || count > MAX_COUNT)
+          {
+          throw new IllegalArgumentException( String.format( "Count must be between 0 and %s", MAX_COUNT));
+          }
+
+        length = new Bounds( getInt( params, "minLength", null), getInt( params, "maxLength", null));
+
+        String algorithm = Optional.ofNullable( params.get( "algorithm")).orElse( "Random");
+        Long seed = getLong( params, "seed", null);
+        random =
+          seed == null
+          ? RandomBoundsGen.of( algorithm)
+          : RandomBoundsGen.of( algorithm, seed);
+
+        generator = getGenerator( matching, regexp, params);
+        if( generator.isPresent())
+          {
+          generator.get().effectiveLength( length);
+          }
+        }
+      catch( IllegalArgumentException e)
+        {
+        sendError( exchange, 400, e.getMessage());
+        return;
+        }
+
+      if( !generator.isPresent())
+        {
+        sendError( exchange, 422, "No string can fail to match this regular expression");
+        return;
+        }
+
+      exchange.getResponseHeaders().set( "Content-Type", NDJSON);
+      exchange.sendResponseHeaders( 200, 0);
+      try( Writer writer = new BufferedWriter( new OutputStreamWriter( exchange.getResponseBody(), UTF_8)))
+        {
+        for( int i = 0; i < count; i++)
+          {
+          writeJsonString( writer, generator.get().generate( random, length));
+          writer.write( '\n');
+          }
+        }
+      }
+    }
+
+  /**
+   * Returns the generator for the given request, reusing a cached generator if possible.
+   */
+  private Optional<RegExpGen> getGenerator( boolean matching, String regexp, Map<String,String> params)
+    {
+    boolean exactly = Boolean.parseBoolean( params.get( "exactly"));
+    String any = params.get( "any");
+    String space = params.get( "space");
+    RegExpGenBuilder builder = generateRegExp( generators_).exactly( exactly);
+    if( any != null)
+      {
+      builder.withAny( any);
+      }
+    if( space != null)
+      {
+      builder.withSpace( space);
+      }
+
+    return
+      matching
+      ? Optional.of( builder.matching( regexp))
+      : builder.notMatching( regexp);
+    }
+
+  /**
+   * Returns the query parameters for the given request.
+   */
+  private Map<String,String> getParams( HttpExchange exchange)
+    {
+    Map<String,String> params = new HashMap<String,String>();
+    String query = exchange.getRequestURI().getRawQuery();
+    if( query != null)
+      {
+      for( String param : query.split( "&"))
+        {
+        int eq = param.indexOf( '=');
+        params.put(
+          URLDecoder.decode( eq < 0? param : param.substring( 0, eq), UTF_8),
+          eq < 0? "" : URLDecoder.decode( param.substring( eq + 1), UTF_8));
+        }
+      }
+
+    return params;
+    }
+
+  /**
+   * Returns the value of the given integer query parameter.
+   */
+  private Integer getInt( Map<String,String> params, String name, Integer defaultValue)
+    {
+    try
+      {
+      return
+        Optional.ofNullable( params.get( name))
+        .map( Integer::valueOf)
+        .orElse( defaultValue);
+      }
+    catch( NumberFormatException e)
+      {
+      throw new IllegalArgumentException( String.format( "Invalid %s=%s", name, params.get( name)));
+      }
+    }
+
+  /**
+   * Returns the value of the given long integer query parameter.
+   */
+  private Long getLong( Map<String,String> params, String name, Long defaultValue)
+    {
+    try
+      {
+      return
+        Optional.ofNullable( params.get( name))
+        .map( Long::valueOf)
+        .orElse( defaultValue);
+      }
+    catch( NumberFormatException e)
+      {
+      throw new IllegalArgumentException( String.format( "Invalid %s=%s", name, params.get( name)));
+      }
+    }
+
+  /**
+   * Sends an error response.
+   */
+  private void sendError( HttpExchange exchange, int status, String reason) throws IOException
+    {
+    exchange.getResponseHeaders().set( "Content-Type", NDJSON);
+    exchange.sendResponseHeaders( status, 0);
+    try( Writer writer = new OutputStreamWriter( exchange.getResponseBody(), UTF_8))
+      {
+      writer.write( "{\"error\":");
+      writeJsonString( writer, reason);
+      writer.write( "}\n");
+      }
+    }
+
+  /**
+   * Writes the given value as a JSON string.
+   */
+  static void writeJsonString( Writer writer, String value) throws IOException
+    {
+    writer.write( '"');
+    for( int i = 0; i < value.length(); i++)
+      {
+      char c = value.charAt( i);
+      switch( c)
+        {
+        case '"': writer.write( "\\\""); break;
+        case '\\': writer.write( "\\\\"); break;
+        case '\b': writer.write( "\\b"); break;
+        case '\f': writer.write( "\\f"); break;
+        case '\n': writer.write( "\\n"); break;
+        case '\r': writer.write( "\\r"); break;
+        case '\t': writer.write( "\\t"); break;
+        default:
+          {
+          if( c < 0x20 || Character.isSurrogate( c))
+            {
+            writer.write( String.format( "\\u%04x", (int) c));
+            }
+          else
+            {
+            writer.write( c);
+            }
+          break;
+          }
+        }
+      }
+    writer.write( '"');
+    }
+
+  public String toString()
+    {
+    return
+      ToString.getBuilder( this)
+      .append( getAddress())
+      .toString();
+    }
+
+  /**
+   * Starts a server listening on the loopback address at the given port (default: 8080).
+   */
+  public static void main( String[] args) throws IOException
+    {
+    int port = args.length > 0? Integer.parseInt( args[0]) : 8080;
+    RegExpGenServer server = new RegExpGenServer( new InetSocketAddress( InetAddress.getLoopbackAddress(), port)).start();
+    System.out.println( String.format( "RegExpGenServer: listening at %s", server.getAddress()));
+    }
+
+  private final InetSocketAddress address_;
+  private final CachingProvider generators_;
+  private HttpServer server_;
+  private ExecutorService executor_;
+
+  private static final String NDJSON = "application/x-ndjson";
+  private static final int MAX_COUNT = 1000000;
+  }
@@ -0,0 +1,159 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.util;
+
+/**
+ * A compact, probabilistic set of strings.
+ * <P/>
+ * A BloomFilter never reports that a member string is absent, but it may falsely report that a new string
+ * is already present. The size of the filter is chosen so that, until the expected number of strings has
+ * been added, such false positives occur at no more than the specified rate.
+ */
+public class BloomFilter
+  {
+  /**
+   * Creates a new BloomFilter instance for the given expected number of strings and false positive rate.
+   */
+  public BloomFilter( long expectedCount, double falsePositiveRate)
+    {
+    if( expectedCount <= 0)
+      {
+      throw new IllegalArgumentException( "Expected count must be > 0");
+      }
+    if( !(falsePositiveRate > 0 && falsePositiveRate < 1))
+      {
+      throw new IllegalArgumentException( "False positive rate must be > 0 and < 1");
+      }
+
+    double ln2 = Math.log( 2);
+    long bits = (long) Math.ceil( -expectedCount * Math.log( falsePositiveRate) / (ln2 * ln2));
+    long words = Math.max( 1, (bits + 63) / 64);
+    if( words > Integer.MAX_VALUE)
+      {
+      throw new IllegalArgumentException( String.format( "Filter for expectedCount=%s is too large", expectedCount));
+      }
+
+    words_ = new long[ (int) words];
+    bitCount_ = words * 64;
+    hashCount_ = (int) Math.max( 1, Math.round( (double) bitCount_ / expectedCount * ln2));
+    }
+
+  /**
+   * Adds the given string to this filter. Returns false if the string may already have been added.
+   */
+  public boolean add( CharSequence value)
+    {
+    long h1 = hash( value, SEED_1);
+    long h2 = hash( value, SEED_2) | 1;
+
+    boolean added = false;
+    for( int i = 0; i < hashCount_; i++)
+      {
+      long bit = Long.remainderUnsigned( h1 + i * h2, bitCount_);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      if( (words_[ word] & mask) == 0)
+        {
+        words_[ word] |= mask;
+        added = true;
+        }
+      }
+
+    if( added)
+      {
+      count_++;
+      }
+
+    return added;
+    }
+
+  /**
+   * Returns true if the given string may have been added to this filter.
+   */
+  public boolean mightContain( CharSequence value)
+    {
+    long h1 = hash( value, SEED_1);
+    long h2 = hash( value, SEED_2) | 1;
+
+    boolean found = true;
+    for( int i = 0; found && i < hashCount_; i++)
+      {
+      long bit = Long.remainderUnsigned( h1 + i * h2, bitCount_);
+      found = (words_[ (int) (bit >>> 6)] & (1L << bit)) != 0;
+      }
+
+    return found;
+    }
+
+  /**
+   * Returns the number of strings added to this filter.
+   */
+  public long getCount()
+    {
+    return count_;
+    }
+
+  /**
+   * Returns the number of bits used by this filter.
+   */
+  public long getBitCount()
+    {
+    return bitCount_;
+    }
+
+  /**
+   * Returns the number of hash functions used by this filter.
+   */
+  public int getHashCount()
+    {
+    return hashCount_;
+    }
+
+  /**
+   * Returns the current probability that a new string is falsely reported as present.
+   */
+  public double getFalsePositiveRate()
+    {
+    return Math.pow( -Math.expm1( -(double) hashCount_ * count_ / bitCount_), hashCount_);
+    }
+
+  /**
+   * Returns a 64-bit hash of the given string.
+   */
+  private static long hash( CharSequence value, long seed)
+    {
+    long h = seed ^ value.length();
+    for( int i = 0; i < value.length(); i++)
+      {
+      h = (h ^ value.charAt( i)) * 0x100000001b3L;
+      }
+
+    // Apply the MurmurHash3 finalizer to spread the bits.
+    h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+    h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    return h ^ (h >>> 33);
+    }
+
+  public String toString()
+    {
+    return
+      ToString.getBuilder( this)
+      .append( "count", getCount())
+      .append( "bits", getBitCount())
+      .append( "hashes", getHashCount())
+      .toString();
+    }
+
+  private final long[] words_;
+  private final long bitCount_;
+  private final int hashCount_;
+  private long count_;
+
+  private static final long SEED_1 = 0xcbf29ce484222325L;
+  private static final long SEED_2 = 0x84222325cbf29ce4L;
+  }
@@ -0,0 +1,147 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen;
+
+import org.cornutum.regexpgen.random.RandomBoundsGen;
+import static org.cornutum.regexpgen.RegExpGenBuilder.generateRegExp;
+import static org.cornutum.regexpgen.random.LengthDistributions.uniform;
+
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs tests for {@link CachingProvider}.
+ */
+public class CachingProviderTest
+  {
+  @Test
+  public void whenCached()
+    {
+    // Given...
+    CachingProvider provider = CachingProvider.caching( org.cornutum.regexpgen.js.Provider.forEcmaScript(), 10);
+
+    // When...
+    RegExpGen matching = generateRegExp( provider).matching( "^[A-Z]{3}$");
+    RegExpGen matchingAgain = generateRegExp( provider).matching( "^[A-Z]{3}$");
+    RegExpGen matchingExact = generateRegExp( provider).exactly().matching( "^[A-Z]{3}$");
+    RegExpGen matchingAny = generateRegExp( provider).withAny( "xyz").matching( "^[A-Z]{3}$");
+    Optional<RegExpGen> notMatching = generateRegExp( provider).notMatching( "^[A-Z]{3}$");
+    Optional<RegExpGen> notMatchingAgain = generateRegExp( provider).notMatching( "^[A-Z]{3}$");
+    Optional<RegExpGen> notMatchingAll = generateRegExp( provider).notMatching( ".*");
+    Optional<RegExpGen> notMatchingAllAgain = generateRegExp( provider).notMatching( ".*");
+
+    // Then...
+    assertThat( "Matching", matchingAgain, is( sameInstance( matching)));
+    assertThat( "Exact", matchingExact, is( not( sameInstance( matching))));
+    assertThat( "Any", matchingAny, is( not( sameInstance( matching))));
+    assertThat( "Not matching", notMatchingAgain.get(), is( sameInstance( notMatching.get())));
+    assertThat( "Not matching all", notMatchingAll.isPresent(), is( false));
+    assertThat( "Not matching all again", notMatchingAllAgain.isPresent(), is( false));
+    assertThat( "Hits", provider.getHits(), is( 3L));
+    assertThat( "Misses", provider.getMisses(), is( 5L));
+    assertThat( "Size", provider.size(), is( 5));
+    }
+
+  @Test
+  public void whenEvicted()
+    {
+    // Given...
+    CachingProvider provider = CachingProvider.caching( org.cornutum.regexpgen.js.Provider.forEcmaScript(), 2);
+
+    // When...
+    RegExpGen a = generateRegExp( provider).matching( "a");
+    generateRegExp( provider).matching( "b");
+    generateRegExp( provider).matching( "a");
+    generateRegExp( provider).matching( "c");
+
+    // Then...
+    assertThat( "Evictions", provider.getEvictions(), is( 1L));
+    assertThat( "Size", provider.size(), is( 2));
+    assertThat( "Recently used", generateRegExp( provider).matching( "a"), is( sameInstance( a)));
+    assertThat( "Hits", provider.getHits(), is( 2L));
+
+    // When...
+    generateRegExp( provider).matching( "b");
+
+    // Then...
+    assertThat( "Least recently used", provider.getMisses(), is( 4L));
+    assertThat( "Evictions", provider.getEvictions(), is( 2L));
+    }
+
+  @Test
+  public void whenOptionsChanged()
+    {
+    // Given...
+    CachingProvider provider = CachingProvider.caching( org.cornutum.regexpgen.js.Provider.forEcmaScript(), 10);
+    RegExpGenBuilder builder = generateRegExp( provider);
+    RegExpGen matching = builder.matching( "^a*$");
+
+    // When...
+    builder.withLengths( uniform( 0));
+    RegExpGen cached = generateRegExp( provider).matching( "^a*$");
+
+    // Then...
+    assertThat( "Cached", cached, is( sameInstance( matching)));
+
+    RandomGen random = new RandomBoundsGen( new Random( 1234));
+    assertThat(
+      "Generated",
+      IntStream.range( 0, 100).mapToObj( i -> cached.generate( random)).anyMatch( generated -> !generated.isEmpty()),
+      is( true));
+    }
+
+  @Test
+  public void whenShared() throws Exception
+    {
+    // Given...
+    CachingProvider provider = CachingProvider.caching( org.cornutum.regexpgen.js.Provider.forEcmaScript(), 100);
+    ExecutorService executor = Executors.newFixedThreadPool( 8);
+    Callable<RegExpGen> task = () -> generateRegExp( provider).matching( "^(?<id>[a-z]{2,8})-[0-9]+$");
+
+    // When...
+    List<RegExpGen> generators;
+    try
+      {
+      List<Future<RegExpGen>> futures = executor.invokeAll( IntStream.range( 0, 100).mapToObj( i -> task).collect( toList()));
+      generators = futures.stream().map( this::getResult).collect( toList());
+      }
+    finally
+      {
+      executor.shutdown();
+      }
+
+    // Then...
+    RegExpGen cached = generateRegExp( provider).matching( "^(?<id>[a-z]{2,8})-[0-9]+$");
+    assertThat( "Size", provider.size(), is( 1));
+    assertThat( "Requests", provider.getHits() + provider.getMisses(), is( 101L));
+    assertThat( "Cached", generators.stream().filter( generator -> generator == cached).count(), is( 100L));
+    }
+
+  private RegExpGen getResult( Future<RegExpGen> future)
+    {
+    try
+      {
+      return future.get();
+      }
+    catch( Exception e)
+      {
+      throw new IllegalStateException( e);
+      }
+    }
+  }
@@ -0,0 +1,98 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen;
+
+import org.cornutum.regexpgen.js.Provider;
+import org.cornutum.regexpgen.random.RandomBoundsGen;
+import org.cornutum.regexpgen.util.BloomFilter;
+import static org.cornutum.regexpgen.RegExpGenBuilder.generateRegExp;
+
+import org.junit.Test;
+import static org.cornutum.hamcrest.ExpectedFailure.expectFailure;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Runs tests for {@link DistinctGen}.
+ */
+public class DistinctGenTest
+  {
+  @Test
+  public void whenDistinct()
+    {
+    // Given...
+    String regexp = "^[A-Z]{2}-[0-9]{4}$";
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    DistinctGen distinct = generator.distinct( new RandomBoundsGen( new Random( 1234))).withExpected( 10000);
+
+    // When...
+    List<String> generated = distinct.stream().limit( 10000).collect( toList());
+
+    // Then...
+    assertThat( "Generated", generated.size(), is( 10000));
+    assertThat( "Distinct", generated.stream().collect( toSet()).size(), is( 10000));
+    generated.forEach( s -> assertThat( s, Pattern.matches( regexp, s), is( true)));
+    assertThat( "Count", distinct.getCount(), is( 10000L));
+    assertThat( "Duplicate rate", distinct.getDuplicateRate(), lessThan( 0.1));
+
+    expectFailure( IllegalStateException.class)
+      .when( () -> distinct.withFalsePositiveRate( 0.01));
+    }
+
+  @Test
+  public void whenExhausted()
+    {
+    // Given...
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( "^[0-9]{2}$");
+    DistinctGen distinct = generator.distinct( new RandomBoundsGen( new Random( 1234))).withExpected( 100).withRetries( 1000);
+
+    // When...
+    List<String> generated = distinct.stream().limit( 90).collect( toList());
+
+    // Then...
+    assertThat( "Distinct", generated.stream().collect( toSet()).size(), is( 90));
+    assertThat( "Duplicate rate", distinct.getDuplicateRate(), greaterThan( 0.5));
+
+    expectFailure( IllegalStateException.class)
+      .when( () -> distinct.stream().limit( 100).collect( toList()))
+      .then( failure -> assertThat( failure.getMessage(), startsWith( "No new match for ^[0-9]{2}$ found after 1001 tries")));
+    }
+
+  @Test
+  public void whenBloomFilter()
+    {
+    // Given...
+    BloomFilter filter = new BloomFilter( 10000, 0.01);
+
+    // When...
+    int added = 0;
+    for( int i = 0; i < 10000; i++)
+      {
+      added += filter.add( "member-" + i)? 1 : 0;
+      }
+
+    int falsePositives = 0;
+    for( int i = 0; i < 10000; i++)
+      {
+      falsePositives += filter.mightContain( "other-" + i)? 1 : 0;
+      }
+
+    // Then...
+    assertThat( "Added", added, greaterThan( 9900));
+    assertThat( "Contains", filter.mightContain( "member-1234"), is( true));
+    assertThat( "Add again", filter.add( "member-1234"), is( false));
+    assertThat( "False positives", falsePositives, lessThan( 200));
+    assertThat( "False positive rate", filter.getFalsePositiveRate(), closeTo( 0.01, 0.002));
+    }
+  }
@@ -0,0 +1,144 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen;
+
+import org.cornutum.regexpgen.js.Provider;
+import org.cornutum.regexpgen.random.RandomBoundsGen;
+import static org.cornutum.regexpgen.RegExpGenBuilder.generateRegExp;
+
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.regex.Pattern;
+
+/**
+ * Runs tests for {@link MatchPublisher}.
+ */
+public class MatchPublisherTest
+  {
+  @Test
+  public void whenRequested()
+    {
+    // Given...
+    String regexp = "^(cat|dog|turtle)+$";
+    MatchPublisher publisher =
+      new MatchPublisher( generateRegExp( Provider.forEcmaScript()).matching( regexp), new RandomBoundsGen())
+      .withBatchSize( 2)
+      .withExecutor( Runnable::run);
+
+    TestSubscriber subscriber = new TestSubscriber();
+
+    // When...
+    publisher.subscribe( subscriber);
+
+    // Then...
+    assertThat( "Received", subscriber.received.size(), is( 0));
+
+    // When...
+    subscriber.subscription.request( 5);
+
+    // Then...
+    assertThat( "Received", subscriber.received.size(), is( 5));
+    subscriber.received.forEach( s -> assertThat( s, Pattern.matches( regexp, s), is( true)));
+
+    // When...
+    subscriber.subscription.request( 3);
+
+    // Then...
+    assertThat( "Received", subscriber.received.size(), is( 8));
+    assertThat( "Complete", subscriber.complete, is( false));
+
+    // When...
+    subscriber.subscription.cancel();
+    subscriber.subscription.request( 3);
+
+    // Then...
+    assertThat( "Received", subscriber.received.size(), is( 8));
+    }
+
+  @Test
+  public void whenCount()
+    {
+    // Given...
+    MatchPublisher publisher =
+      new MatchPublisher( generateRegExp( Provider.forEcmaScript()).matching( "[0-9]{3}"), new RandomBoundsGen())
+      .withCount( 10L)
+      .withExecutor( Runnable::run);
+
+    TestSubscriber subscriber = new TestSubscriber();
+    subscriber.requestOnNext = true;
+
+    // When...
+    publisher.subscribe( subscriber);
+    subscriber.subscription.request( 1);
+
+    // Then...
+    assertThat( "Received", subscriber.received.size(), is( 10));
+    assertThat( "Complete", subscriber.complete, is( true));
+    assertThat( "Failure", subscriber.failure, is( nullValue()));
+    }
+
+  @Test
+  public void whenRequestInvalid()
+    {
+    // Given...
+    MatchPublisher publisher =
+      new MatchPublisher( generateRegExp( Provider.forEcmaScript()).matching( "[0-9]{3}"), new RandomBoundsGen())
+      .withExecutor( Runnable::run);
+
+    TestSubscriber subscriber = new TestSubscriber();
+
+    // When...
+    publisher.subscribe( subscriber);
+    subscriber.subscription.request( 0);
+
+    // Then...
+    assertThat( "Received", subscriber.received.size(), is( 0));
+    assertThat( "Failure", subscriber.failure, instanceOf( IllegalArgumentException.class));
+    }
+
+  /**
+   * Records items received from a publisher.
+   */
+  private static class TestSubscriber implements Flow.Subscriber<String>
+    {
+    public void onSubscribe( Flow.Subscription subscription)
+      {
+      this.subscription = subscription;
+      }
+
+    public void onNext( String item)
+      {
+      received.add( item);
+      if( requestOnNext)
+        {
+        subscription.request( 1);
+        }
+      }
+
+    public void onError( Throwable throwable)
+      {
+      failure = throwable;
+      }
+
+    public void onComplete()
+      {
+      complete = true;
+      }
+
+    Flow.Subscription subscription;
+    List<String> received = new ArrayList<String>();
+    boolean requestOnNext;
+    boolean complete;
+    Throwable failure;
+    }
+  }
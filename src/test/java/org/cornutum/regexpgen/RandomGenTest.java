@@ -0,0 +1,91 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen;
+
+import org.cornutum.regexpgen.random.RandomBoundsGen;
+
+import org.junit.Test;
+import static org.cornutum.hamcrest.ExpectedFailure.expectFailure;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs tests for {@link RandomGen}.
+ */
+public class RandomGenTest
+  {
+  @Test
+  public void whenPickWhere()
+    {
+    // Given...
+    int n = 10;
+    int[] counts = new int[n];
+
+    // When...
+    IntStream.range( 0, 8000).forEach( i -> counts[ random_.pickWhere( j -> j % 3 == 1, n)]++);
+
+    // Then...
+    for( int i = 0; i < n; i++)
+      {
+      assertThat( "Index=" + i, counts[i], is( i % 3 == 1? both( greaterThan( 2400)).and( lessThan( 2900)) : equalTo( 0)));
+      }
+    assertThat( "None", random_.pickWhere( j -> false, n), is( -1));
+    assertThat( "Empty", random_.pickWhere( j -> true, 0), is( -1));
+    }
+
+  @Test
+  public void whenPermutation()
+    {
+    for( int n = 0; n <= 70; n++)
+      {
+      // When...
+      List<Integer> permutation = new ArrayList<Integer>();
+      random_.permutation( n).forEachRemaining( (int i) -> permutation.add( i));
+
+      // Then...
+      assertThat( "Size=" + n, permutation.stream().sorted().collect( toList()), is( IntStream.range( 0, n).boxed().collect( toList())));
+      }
+
+    // Given...
+    int n = 5;
+    int[] firstCounts = new int[n];
+
+    // When...
+    IntStream.range( 0, 5000).forEach( i -> firstCounts[ random_.permutation( n).nextInt()]++);
+
+    // Then...
+    for( int i = 0; i < n; i++)
+      {
+      assertThat( "First=" + i, firstCounts[i], is( both( greaterThan( 850)).and( lessThan( 1150))));
+      }
+
+    PrimitiveIterator.OfInt empty = random_.permutation( 0);
+    expectFailure( NoSuchElementException.class)
+      .when( () -> empty.nextInt());
+    }
+
+  @Test
+  public void whenNextDouble()
+    {
+    // Given...
+    RandomGen random = (min, max) -> max - 1;
+
+    // Then...
+    assertThat( "Max", random.nextDouble(), is( both( lessThan( 1.0)).and( greaterThan( 0.999999))));
+    }
+
+  private final RandomGen random_ = new RandomBoundsGen( new Random( 1234));
+  }
@@ -0,0 +1,147 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen;
+
+import org.cornutum.regexpgen.js.AbstractRegExpGen;
+import org.cornutum.regexpgen.js.Provider;
+import org.cornutum.regexpgen.js.SeqGen;
+import org.cornutum.regexpgen.random.RandomBoundsGen;
+import static org.cornutum.regexpgen.RegExpGenBuilder.generateRegExp;
+
+import org.apache.commons.collections4.IterableUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs tests for {@link RegExpGenLibrary}.
+ */
+public class RegExpGenLibraryTest
+  {
+  @Test
+  public void whenMatchingAll()
+    {
+    // Given...
+    List<String> regexps =
+      IntStream.range( 0, 1000)
+      .mapToObj( i -> String.format( "^[A-Z]{2}-%s(-[a-z]+)*$", i))
+      .collect( toList());
+    regexps.add( "^[A-Z]{2}-(x|y)(-[a-z]+)*$");
+    regexps.add( "^[A-Z]{2}-(x|y)(-[a-z]+)*$");
+
+    // When...
+    RegExpGenLibrary library = generateRegExp( Provider.forEcmaScript()).exactly().matchingAll( regexps);
+
+    // Then...
+    assertThat( "Failures", library.hasFailures(), is( false));
+    assertThat( "Generators", library.getGenerators().keySet(), contains( regexps.stream().distinct().toArray()));
+
+    RandomGen random = new RandomBoundsGen( new Random( 1234));
+    for( String regexp : library.getGenerators().keySet())
+      {
+      String generated = library.get( regexp).generate( random);
+      assertThat( regexp + " -> " + generated, Pattern.matches( regexp.substring( 1, regexp.length() - 1), generated), is( true));
+      }
+
+    List<AbstractRegExpGen> first = IterableUtils.toList( ((SeqGen) library.get( regexps.get(0))).getMembers());
+    List<AbstractRegExpGen> last = IterableUtils.toList( ((SeqGen) library.get( regexps.get(999))).getMembers());
+    assertThat( "Shared prefix", last.get(0), is( sameInstance( first.get(0))));
+    assertThat( "Shared suffix", last.get( last.size() - 1), is( sameInstance( first.get( first.size() - 1))));
+    }
+
+  @Test
+  public void whenFailures()
+    {
+    // Given...
+    List<String> regexps = Arrays.asList( "^abc$", "^(abc$", "x\\1", "[a-z]+", "[z");
+    ForkJoinPool pool = new ForkJoinPool( 2);
+
+    // When...
+    RegExpGenLibrary library;
+    try
+      {
+      library = generateRegExp( Provider.forEcmaScript()).matchingAll( regexps, pool);
+      }
+    finally
+      {
+      pool.shutdown();
+      }
+
+    // Then...
+    assertThat( "Generators", library.getGenerators().keySet(), contains( "^abc$", "[a-z]+"));
+    assertThat( "Failures", library.getFailures().keySet(), contains( "^(abc$", "x\\1", "[z"));
+    assertThat( "Failure", library.getFailures().get( "[z").getMessage(), is( "Missing ']' at position=2"));
+    assertThat( "Failed generator", library.get( "[z"), is( nullValue()));
+    }
+
+  @Test
+  public void whenNestedDeep()
+    {
+    // Given...
+    int depth = 20000;
+    String regexp = "^" + StringUtils.repeat( "(?:x", depth) + StringUtils.repeat( ")?", depth) + "$";
+
+    // When...
+    RegExpGenLibrary library = generateRegExp( Provider.forEcmaScript()).matchingAll( Arrays.asList( regexp, "^abc$"));
+
+    // Then...
+    assertThat( "Failures", library.hasFailures(), is( false));
+    assertThat( "Generators", library.getGenerators().keySet(), contains( regexp, "^abc$"));
+
+    String generated = library.get( regexp).generate( new RandomBoundsGen( new Random( 1234)));
+    assertThat( regexp + " -> " + generated, Pattern.matches( "x*", generated), is( true));
+    }
+
+  @Test
+  public void whenStackOverflow()
+    {
+    // Given...
+    List<String> regexps = Arrays.asList( "a+", "b+", "c+");
+    Function<String,RegExpGen> compiler =
+      regexp -> {
+      if( regexp.equals( "b+"))
+        {
+        throw new StackOverflowError();
+        }
+      return generateRegExp( Provider.forEcmaScript()).matching( regexp);
+      };
+
+    // When...
+    RegExpGenLibrary library = RegExpGenLibrary.compile( regexps, compiler, ForkJoinPool.commonPool());
+
+    // Then...
+    assertThat( "Generators", library.getGenerators().keySet(), contains( "a+", "c+"));
+    assertThat( "Failures", library.getFailures().keySet(), contains( "b+"));
+    assertThat( "Failure", library.getFailures().get( "b+").getMessage(), is( "b+: Regular expression nested too deeply"));
+    }
+
+  @Test
+  public void whenProvider()
+    {
+    // Given...
+    CachingProvider provider = CachingProvider.caching( Provider.forEcmaScript(), 10);
+
+    // When...
+    RegExpGenLibrary library = generateRegExp( provider).matchingAll( Arrays.asList( "a+", "b+", "(c"));
+
+    // Then...
+    assertThat( "Generators", library.getGenerators().keySet(), contains( "a+", "b+"));
+    assertThat( "Failures", library.getFailures().keySet(), contains( "(c"));
+    assertThat( "Cached", generateRegExp( provider).matching( "a+"), is( sameInstance( library.get( "a+"))));
+    }
+  }
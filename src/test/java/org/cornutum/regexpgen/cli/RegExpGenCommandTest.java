@@ -0,0 +1,163 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.cli;
+
+import org.cornutum.regexpgen.cli.RegExpGenCommand.Options;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.cornutum.hamcrest.ExpectedFailure.expectFailure;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs tests for {@link RegExpGenCommand}.
+ */
+public class RegExpGenCommandTest
+  {
+  @Test
+  public void whenPatterns() throws Exception
+    {
+    // Given...
+    Options options = new Options( new String[]{ "-c", "2500", "-r", "1234", "-t", "4", "-e", "^[a-z]{3}-[0-9]+$", "^(cat|dog)$"});
+
+    // When...
+    List<String> generated = run( options);
+
+    // Then...
+    assertThat( "Generated", generated.size(), is( 5000));
+    generated.subList( 0, 2500).forEach( s -> assertThat( s, Pattern.matches( "[a-z]{3}-[0-9]+", s), is( true)));
+    generated.subList( 2500, 5000).forEach( s -> assertThat( s, Pattern.matches( "cat|dog", s), is( true)));
+
+    // Given...
+    options.setThreads( 1);
+
+    // When...
+    List<String> repeated = run( options);
+
+    // Then...
+    assertThat( "Repeated", repeated, is( generated));
+    }
+
+  @Test
+  public void whenPatternFile() throws Exception
+    {
+    // Given...
+    File patternFile = temp_.newFile( "patterns.txt");
+    Files.write( patternFile.toPath(), Arrays.asList( "^[0-9]+$", "", "^[A-Z]+$"), UTF_8);
+
+    File outFile = new File( temp_.getRoot(), "corpus.txt");
+    Options options = new Options( new String[]{ "-n", "-e", "-a", "0A!", "-c", "10", "-o", outFile.getPath(), "-f", patternFile.getPath()});
+
+    // When...
+    List<String> generated = run( options);
+
+    // Then...
+    assertThat( "Standard output", generated.isEmpty(), is( true));
+
+    List<String> written = Files.readAllLines( outFile.toPath(), UTF_8);
+    assertThat( "Generated", written.size(), is( 20));
+    written.subList( 0, 10).forEach( s -> assertThat( s, Pattern.matches( "[0-9]+", s), is( false)));
+    written.subList( 10, 20).forEach( s -> assertThat( s, Pattern.matches( "[A-Z]+", s), is( false)));
+    }
+
+  @Test
+  public void whenLineTerminators() throws Exception
+    {
+    // Given...
+    Options options = new Options( new String[]{ "-c", "100", "-r", "1234", "-e", "^a[\\n\\r\\u2028\\\\]b$"});
+
+    // When...
+    List<String> generated = run( options);
+
+    // Then...
+    assertThat( "Generated", generated.size(), is( 100));
+    generated.forEach( s -> assertThat( s, Pattern.matches( "a(\\\\n|\\\\r|\\\\u2028|\\\\\\\\)b", s), is( true)));
+    }
+
+  @Test
+  public void whenNotMatchingImpossible() throws Exception
+    {
+    // Given...
+    Options options = new Options( new String[]{ "-n", "-c", "10", "^.*$", "^[0-9]+$"});
+    ByteArrayOutputStream stdOut = new ByteArrayOutputStream();
+    ByteArrayOutputStream stdErr = new ByteArrayOutputStream();
+
+    // When...
+    RegExpGenCommand.run( options, stdOut, new PrintStream( stdErr, true, UTF_8));
+
+    // Then...
+    assertThat( "Generated", new String( stdOut.toByteArray(), UTF_8).lines().count(), is( 10L));
+    assertThat( "Warning", new String( stdErr.toByteArray(), UTF_8), containsString( "Skipping pattern=^.*$: no non-matching strings possible"));
+    }
+
+  @Test
+  public void whenOptionsInvalid()
+    {
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> new Options( new String[]{ "-c", "2"}))
+      .then( failure -> assertThat( failure.getMessage(), is( "Either a pattern file or a list of patterns must be given")));
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> new Options( new String[]{ "-c", "many", "abc"}))
+      .then( failure -> assertThat( failure.getMessage(), is( "Invalid value=many for option=-c")));
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> new Options( new String[]{ "-x", "abc"}))
+      .then( failure -> assertThat( failure.getMessage(), is( "Unknown option=-x")));
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> new Options( new String[]{ "-t"}))
+      .then( failure -> assertThat( failure.getMessage(), is( "No value given for option=-t")));
+    }
+
+  @Test
+  public void whenLatencies()
+    {
+    // Given...
+    LatencyHistogram latencies = new LatencyHistogram();
+
+    // When...
+    for( long nanos = 1; nanos <= 100000; nanos++)
+      {
+      latencies.record( nanos);
+      }
+
+    // Then...
+    assertThat( "Count", latencies.getCount(), is( 100000L));
+    assertThat( "Max", latencies.getMax(), is( 100000L));
+    assertThat( "p50", (double) latencies.getPercentile( 50), closeTo( 50000, 50000 * 0.04));
+    assertThat( "p99", (double) latencies.getPercentile( 99), closeTo( 99000, 99000 * 0.04));
+    assertThat( "p100", latencies.getPercentile( 100), is( 100000L));
+    }
+
+  private List<String> run( Options options) throws Exception
+    {
+    ByteArrayOutputStream stdOut = new ByteArrayOutputStream();
+    ByteArrayOutputStream stdErr = new ByteArrayOutputStream();
+    RegExpGenCommand.run( options, stdOut, new PrintStream( stdErr, true, UTF_8));
+
+    assertThat( "Statistics", new String( stdErr.toByteArray(), UTF_8), containsString( "Latency (usec): p50="));
+
+    return new String( stdOut.toByteArray(), UTF_8).lines().collect( toList());
+    }
+
+  @Rule
+  public TemporaryFolder temp_ = new TemporaryFolder();
+  }
@@ -11,10 +11,13 @@ import org.cornutum.regexpgen.Bounds;
 import org.cornutum.regexpgen.MatchOptions;
 import org.cornutum.regexpgen.RandomGen;
 import org.cornutum.regexpgen.RegExpGen;
+import org.cornutum.regexpgen.RegExpGenBuilder;
 import org.cornutum.regexpgen.random.RandomBoundsGen;
+import org.cornutum.regexpgen.random.ThreadLocalRandomGen;
 import org.cornutum.regexpgen.util.CharUtils;
 import static org.cornutum.regexpgen.MatchOptionsBuilder.options;
 import static org.cornutum.regexpgen.RegExpGenBuilder.generateRegExp;
+import static org.cornutum.regexpgen.random.LengthDistributions.uniform;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
@@ -25,6 +28,8 @@ import static org.cornutum.hamcrest.ExpectedFailure.expectFailure;
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
@@ -32,6 +37,7 @@ import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.regex.Pattern;
 import java.util.stream.IntStream;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singleton;
 import static java.util.stream.Collectors.toList;
 
@@ -72,6 +78,27 @@ public class GenerateTest
     verifyNotMatchesFor( "^\\((Copyright[-: ]+2020)?[\\\\\\d\\t]? K(?=ornutum\\))|@Copyright|@Trademark");
     }
 
+  @Test
+  public void whenLiteral()
+    {
+    verifyMatchesFor( "https://api\\.example\\.com/v1/(users|groups)/\\d+");
+    verifyMatchesFor( "^(?:abc){2,3}(xyz)?$");
+    verifyMatchesFor( "^caf\u00e9 \u00fcber$");
+
+    verifyNotMatchesFor( "https://api\\.example\\.com/v1/(users|groups)/\\d+");
+    verifyNotMatchesFor( "^(?:abc){2,3}(xyz)?$");
+    verifyNotMatchesFor( "^caf\u00e9 \u00fcber$");
+    }
+
+  @Test
+  public void whenLiteralAnchoredGroup()
+    {
+    verifyMatchesFor( "(^x)y");
+    verifyMatchesFor( "a(b$)");
+    verifyMatchesFor( "((^a))b");
+    verifyMatchesFor( "(?:(^a)b)c");
+    }
+
   @Test
   public void whenLookBehind()
     {
@@ -326,6 +353,155 @@ public class GenerateTest
     verifyNotMatchesForSpaceChars( "^[^\\s]+$", spaceChars);
     }
 
+  @Test
+  public void whenUtf8()
+    {
+    verifyUtf8MatchesFor( "^(Allô|Ñandú|\\u20ac[\\u0100-\\u017f]{2,4}), world!$");
+    verifyUtf8MatchesFor( "(cat|dog|turtle)+");
+    verifyUtf8MatchesFor( "[^a-f\\d]+");
+    }
+
+  @Test
+  public void whenUtf8Astral()
+    {
+    verifyUtf8MatchesFor( "^\ud83d\ude00+$");
+    verifyUtf8MatchesFor( "^(\ud83d\ude00|\ud83c\udf89)+x?$");
+    verifyUtf8MatchesFor( "[\ud83d\ude00\ud83c\udf89a]{2,8}");
+    verifyUtf8MatchesFor( "^[\ud800-\udbff]?[\udc00-\udfff]*(\ud83d\ude00)*$");
+    }
+
+  @Test
+  public void whenUtf8BufferOverflow()
+    {
+    // Given...
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).exactly().matching( "\\u20ac{4}");
+    ByteBuffer buffer = ByteBuffer.allocate( 11);
+
+    expectFailure( BufferOverflowException.class)
+      .when( () -> generator.generateUtf8( getRandomGen(), new Bounds(), buffer));
+    }
+
+  @Test
+  public void whenNestedDeep()
+    {
+    // Given...
+    int depth = 10000;
+    String regexp = "^" + StringUtils.repeat( "(?:", depth) + "x" + StringUtils.repeat( "|y)z?", depth) + "$";
+
+    // When...
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+
+    // Then...
+    RandomGen random = getRandomGen();
+    for( int i = 0; i < 10; i++)
+      {
+      String generated = generator.generate( random);
+      assertThat( "Generated", Pattern.matches( "[xy]z{0," + depth + "}", generated), is( true));
+      }
+    }
+
+  @Test
+  public void whenSeqLong()
+    {
+    // Given...
+    int length = 100000;
+    String regexp = "^" + StringUtils.repeat( "[a-z]", length) + "\\d?$";
+
+    // When...
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+
+    // Then...
+    RandomGen random = getRandomGen();
+    for( int i = 0; i < 10; i++)
+      {
+      String generated = generator.generate( random);
+      assertThat( "Generated", Pattern.matches( "[a-z]{" + length + "}\\d?", generated), is( true));
+      }
+    }
+
+  @Test
+  public void whenFrozen()
+    {
+    // Given...
+    String regexp = "^(?:cat|[dog]+)\\d{2}[^a-z]?$";
+
+    // When...
+    AbstractRegExpGen generator = (AbstractRegExpGen) generateRegExp( Provider.forEcmaScript()).matching( regexp);
+
+    // Then...
+    assertThat( "Frozen", generator.isFrozen(), is( true));
+    SeqGen seq = (SeqGen) generator;
+    seq.getMembers().forEach( member -> assertThat( "Member frozen", member.isFrozen(), is( true)));
+
+    expectFailure( IllegalStateException.class)
+      .when( () -> generator.setOccurrences( 2, 3))
+      .then( failure -> {
+        assertThat( "Failure", failure.getMessage(), containsString( "Can't change a frozen generator"));
+        });
+
+    expectFailure( IllegalStateException.class)
+      .when( () -> seq.add( "x"));
+
+    expectFailure( UnsupportedOperationException.class)
+      .when( () -> ((List<AbstractRegExpGen>) seq.getMembers()).clear());
+    }
+
+  @Test
+  public void whenFrozenOptions()
+    {
+    // Given...
+    RegExpGenBuilder builder = generateRegExp( Provider.forEcmaScript()).withAny( "ab").withLengths( uniform( 3));
+    RegExpGen generator = builder.matching( "^.*$");
+
+    // When...
+    builder.withAny( "xyz").withLengths( uniform( 10));
+
+    // Then...
+    RandomGen random = getRandomGen();
+    for( int i = 0; i < 100; i++)
+      {
+      assertThat( "Generated", generator.generate( random), matchesPattern( "[ab]{0,3}"));
+      }
+    }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void whenFrozenAnyPrintableChanged()
+    {
+    // Given...
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).exactly().matching( "^[^\\d\\s]{8,32}.$");
+
+    // When...
+    generator.getOptions().setAnyPrintableChars( "1001 Anagrams!");
+
+    // Then...
+    RandomGen random = getRandomGen();
+    for( int i = 0; i < 100; i++)
+      {
+      assertThat( "Generated", generator.generate( random), matchesPattern( "[Anagrms!]{8,32}[01 Anagrms!]"));
+      }
+    }
+
+  @Test
+  public void whenFrozenConcurrent()
+    {
+    // Given...
+    String regexp = "^(Allô|Ñandú|[^a-f\\d]{2,4})( world)+!$";
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RandomGen random = new ThreadLocalRandomGen( 1234);
+
+    // When...
+    List<String> generated =
+      IntStream.range( 0, 10000)
+      .parallel()
+      .mapToObj( i -> generator.generate( random))
+      .collect( toList());
+
+    // Then...
+    Pattern pattern = Pattern.compile( regexp);
+    generated.forEach( matching -> assertThat( "Generated", pattern.matcher( matching).matches(), is( true)));
+    }
+
   private void verifyMatchesFor( String regexp)
     {
     verifyMatchesFor( regexp, (Integer) null);
@@ -524,6 +700,40 @@ public class GenerateTest
       is( Optional.empty()));
     }
 
+  private void verifyUtf8MatchesFor( String regexp)
+    {
+    verifyUtf8MatchesFor( regexp, options().exactly( false).build());
+    verifyUtf8MatchesFor( regexp, options().exactly( true).build());
+    }
+
+  private void verifyUtf8MatchesFor( String regexp, MatchOptions options)
+    {
+    // Given...
+    RegExpGen generator = Provider.forEcmaScript().matching( regexp, options);
+    RandomGen stringRandom = getRandomGen();
+    RandomGen bytesRandom = getRandomGen();
+    RandomGen bufferRandom = getRandomGen();
+    Bounds length = new Bounds( 0, 32);
+    ByteBuffer buffer = ByteBuffer.allocate( 256);
+
+    IntStream.range( 0, getGeneratorCount())
+      .forEach( i -> {
+        // When...
+        String matching = generator.generate( stringRandom, length);
+        byte[] bytes = generator.generateUtf8( bytesRandom, length);
+
+        buffer.clear();
+        generator.generateUtf8( bufferRandom, length, buffer).flip();
+        byte[] buffered = new byte[ buffer.remaining()];
+        buffer.get( buffered);
+        
+        // Then...
+        byte[] expected = matching.getBytes( UTF_8);
+        assertThat( String.format( "[%s] %s -> %s, bytes", i, regexp, matching), bytes, is( expected));
+        assertThat( String.format( "[%s] %s -> %s, buffered", i, regexp, matching), buffered, is( expected));
+        });
+    }
+
   private void verifyMatchesForSpaceChars( String regexp, String spaceChars)
     {
     verifyMatchesFor( regexp, options().withSpace( spaceChars).build(), 0, null, this::matchesJavaScript);
@@ -0,0 +1,27 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.js;
+
+import org.cornutum.hamcrest.ClassCompositeMatcher;
+import org.hamcrest.Matchers;
+
+/**
+ * A composite matcher for {@link LiteralGen} objects.
+ */
+public class LiteralGenMatcher extends ClassCompositeMatcher<LiteralGen>
+  {
+  /**
+   * Creates a new LiteralGenMatcher instance.
+   */
+  public LiteralGenMatcher( LiteralGen expected)
+    {
+    super( LiteralGen.class, expected);
+    expectThat( valueOf( "chars", LiteralGen::getChars).matches( Matchers::equalTo));
+    expectThat( matches( AbstractRegExpGenMatcher::new));
+    }
+  }
@@ -0,0 +1,268 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.js;
+
+import org.cornutum.regexpgen.MatchOptions;
+import org.cornutum.regexpgen.RandomGen;
+import org.cornutum.regexpgen.RegExpGen;
+import org.cornutum.regexpgen.random.RandomBoundsGen;
+import static org.cornutum.regexpgen.MatchOptionsBuilder.options;
+import static org.cornutum.regexpgen.RegExpGenBuilder.generateRegExp;
+
+import org.apache.commons.collections4.IterableUtils;
+import org.junit.Test;
+import static org.cornutum.hamcrest.Composites.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * Runs tests for {@link Optimizer}.
+ */
+public class OptimizerTest
+  {
+  @Test
+  public void whenSeqNested()
+    {
+    // Given...
+    String regexp = "cat(?:fish)";
+    MatchOptions options = options().build();
+
+    // When...
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+
+    // Then...
+    AbstractRegExpGen expected =
+      SeqGen.builder( options)
+      .add( new AnyPrintableGen( options, 0, null))
+      .add( LiteralGen.builder( options).add( "catfish").build())
+      .add( new AnyPrintableGen( options, 0, null))
+      .build();
+
+    assertThat( (AbstractRegExpGen) generator, matches( new RegExpGenMatcher( expected)));
+    assertThat( "Source", generator.getSource(), is( regexp));
+    }
+
+  @Test
+  public void whenSeqQuantified()
+    {
+    // Given...
+    String regexp = "^cat(?:fish)+$";
+    MatchOptions options = options().build();
+
+    // When...
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+
+    // Then...
+    AbstractRegExpGen expected =
+      SeqGen.builder( options)
+      .add( "c")
+      .add( LiteralGen.builder( options).add( "at").build())
+      .add( LiteralGen.builder( options).add( "fish").occurs( 1, null).build())
+      .build();
+
+    assertThat( (AbstractRegExpGen) generator, matches( new RegExpGenMatcher( expected)));
+    }
+
+  @Test
+  public void whenCharClassRepeated()
+    {
+    // Given...
+    String regexp = "^<\\d\\d{2}[0-9]*aa?>$";
+    MatchOptions options = options().build();
+
+    // When...
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+
+    // Then...
+    AbstractRegExpGen expected =
+      SeqGen.builder( options)
+      .add( "<")
+      .add( AnyOfGen.builder( options).digit().occurs( 3, null).build())
+      .add( AnyOfGen.builder( options).add( 'a').occurs( 1, 2).build())
+      .add( ">")
+      .build();
+
+    assertThat( (AbstractRegExpGen) generator, matches( new RegExpGenMatcher( expected)));
+    assertThat( "Source", IterableUtils.get( ((SeqGen) generator).getMembers(), 1).getSource(), is( "\\d\\d{2}[0-9]*"));
+    }
+
+  @Test
+  public void whenAlternativeChars()
+    {
+    // Given...
+    String regexp = "^(a|b|[cd]|e)x(?:[ab]|[cd])+(a|[bc])$";
+    MatchOptions options = options().build();
+
+    // When...
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+
+    // Then...
+    AbstractRegExpGen expected =
+      SeqGen.builder( options)
+      .add(
+        AlternativeGen.builder( options)
+        .add( AnyOfGen.builder( options).add( 'a').build())
+        .add( AnyOfGen.builder( options).add( 'b').build())
+        .add( AnyOfGen.builder( options).addAll( "cd").build())
+        .add( AnyOfGen.builder( options).add( 'e').build())
+        .build())
+      .add( "x")
+      .add( AnyOfGen.builder( options).addAll( "abcd").occurs( 1, null).build())
+      .add(
+        AlternativeGen.builder( options)
+        .add( AnyOfGen.builder( options).add( 'a').build())
+        .add( AnyOfGen.builder( options).addAll( "bc").build())
+        .build())
+      .build();
+
+    assertThat( (AbstractRegExpGen) generator, matches( new RegExpGenMatcher( expected)));
+    }
+
+  @Test
+  public void whenAnchored()
+    {
+    // Given...
+    String regexp = "(?:a|^b)c";
+    MatchOptions options = options().exactly().build();
+
+    // When...
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).exactly().matching( regexp);
+
+    // Then...
+    AbstractRegExpGen expected =
+      SeqGen.builder( options)
+      .add(
+        AlternativeGen.builder( options)
+        .add( AnyOfGen.builder( options).add( 'a').build())
+        .add( AnyOfGen.builder( options).add( 'b').build())
+        .build())
+      .add( "c")
+      .build();
+
+    assertThat( (AbstractRegExpGen) generator, matches( new RegExpGenMatcher( expected)));
+    }
+
+  @Test
+  public void whenNotOptimized()
+    {
+    // Given...
+    String regexp = "^(a|b)(?:cc)d$";
+
+    // When...
+    RegExpGen optimized = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen unoptimized = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
+
+    // Then...
+    assertThat( "Optimized", nodesOf( (AbstractRegExpGen) optimized), is( 4));
+    assertThat( "Literal", IterableUtils.get( ((SeqGen) optimized).getMembers(), 1), is( instanceOf( LiteralGen.class)));
+    assertThat( "Unoptimized", nodesOf( (AbstractRegExpGen) unoptimized), is( 8));
+    assertThat( "Unoptimized", unoptimized, is( new Parser( regexp, options().optimized( false).build()).parse()));
+    }
+
+  @Test
+  public void whenCorpus()
+    {
+    // Given...
+    String[] corpus =
+      {
+      "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$",
+      "^\\d{4}-[01]\\d-[0-3]\\dT[0-2]\\d:[0-5]\\d:[0-5]\\d(\\.\\d+)?(Z|[+-][0-2]\\d:[0-5]\\d)$",
+      "^(https?|ftp)://[^\\s/$.?#].[^\\s]*$",
+      "^(?:25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)(?:\\.(?:25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)){3}$",
+      "^#?([0-9a-fA-F]{3}|[0-9a-fA-F]{6})$",
+      "^[\\w\\-]{1,64}\\.(json|yaml|yml|xml)$",
+      "^(Mon|Tue|Wed|Thu|Fri|Sat|Sun), \\d{2} (Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec) \\d{4}$",
+      "^(a|b|c)+x(y|z)+0001$",
+      "https://api\\.example\\.com/v1/",
+      };
+    int count = 1000;
+    RandomGen random = new RandomBoundsGen( new Random( 1234));
+
+    int nodesBefore = 0;
+    int nodesAfter = 0;
+    long elapsedBefore = 0;
+    long elapsedAfter = 0;
+    for( String regexp : corpus)
+      {
+      // When...
+      AbstractRegExpGen unoptimized = (AbstractRegExpGen) generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
+      AbstractRegExpGen optimized = (AbstractRegExpGen) generateRegExp( Provider.forEcmaScript()).matching( regexp);
+
+      // Then...
+      nodesBefore += nodesOf( unoptimized);
+      nodesAfter += nodesOf( optimized);
+      assertThat( regexp, nodesOf( optimized), is( lessThanOrEqualTo( nodesOf( unoptimized))));
+      assertThat( "Source", optimized.getSource(), is( regexp));
+
+      Pattern pattern = Pattern.compile( regexp);
+      long start = System.nanoTime();
+      for( int i = 0; i < count; i++)
+        {
+        unoptimized.generate( random);
+        }
+      elapsedBefore += System.nanoTime() - start;
+
+      start = System.nanoTime();
+      for( int i = 0; i < count; i++)
+        {
+        String generated = optimized.generate( random);
+        assertThat( regexp + " -> " + generated, pattern.matcher( generated).find(), is( true));
+        }
+      elapsedAfter += System.nanoTime() - start;
+      }
+
+    assertThat( "Nodes", nodesAfter, is( lessThan( nodesBefore)));
+    if( printResults())
+      {
+      System.out.println(
+        String.format(
+          "Optimizer: nodes %s -> %s, generated %s matches in %s ms -> %s ms",
+          nodesBefore,
+          nodesAfter,
+          count * corpus.length,
+          elapsedBefore / 1000000,
+          elapsedAfter / 1000000));
+      }
+    }
+
+  /**
+   * Returns the number of subexpressions in the given generator.
+   */
+  private int nodesOf( AbstractRegExpGen regExpGen)
+    {
+    int nodes = 0;
+    Deque<AbstractRegExpGen> pending = new ArrayDeque<AbstractRegExpGen>();
+    pending.push( regExpGen);
+    while( !pending.isEmpty())
+      {
+      AbstractRegExpGen next = pending.pop();
+      nodes++;
+      if( next instanceof SeqGen)
+        {
+        ((SeqGen) next).getMembers().forEach( pending::push);
+        }
+      else if( next instanceof AlternativeGen)
+        {
+        ((AlternativeGen) next).getMembers().forEach( pending::push);
+        }
+      }
+
+    return nodes;
+    }
+
+  private boolean printResults()
+    {
+    return Optional.ofNullable( System.getProperty( "printResults")).map( Boolean::valueOf).orElse( false);
+    }
+  }
@@ -12,12 +12,22 @@ import org.cornutum.regexpgen.RegExpGen;
 import static org.cornutum.regexpgen.RegExpGenBuilder.generateRegExp;
 import static org.cornutum.regexpgen.MatchOptionsBuilder.options;
 
+import org.cornutum.regexpgen.random.RandomBoundsGen;
+
+import org.apache.commons.collections4.IterableUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 import static org.cornutum.hamcrest.Composites.*;
 import static org.cornutum.hamcrest.ExpectedFailure.expectFailure;
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Optional;
+import java.util.Random;
+
 /**
  * Runs tests for {@link Parser}.
  */
@@ -62,7 +72,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
 
     // Then...
     AbstractRegExpGen expected =
@@ -165,7 +175,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
 
     // Then...
     AbstractRegExpGen expected =
@@ -251,7 +261,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
 
     // Then...
     AbstractRegExpGen expected =
@@ -307,7 +317,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
 
     // Then...
     AbstractRegExpGen expected =
@@ -405,7 +415,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
 
     // Then...
     AbstractRegExpGen expected =
@@ -458,7 +468,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
 
     // Then...
     AbstractRegExpGen expected =
@@ -533,7 +543,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
 
     // Then...
     AbstractRegExpGen expected =
@@ -599,7 +609,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
 
     // Then...
     AbstractRegExpGen expected =
@@ -690,7 +700,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
 
     // Then...
     AbstractRegExpGen expected =
@@ -745,7 +755,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
 
     // Then...
     AbstractRegExpGen expected =
@@ -831,7 +841,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
 
     // Then...
     AbstractRegExpGen expected =
@@ -888,7 +898,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
 
     // Then...
     AbstractRegExpGen expected =
@@ -976,7 +986,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
 
     // Then...
     AbstractRegExpGen expected =
@@ -1050,7 +1060,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
 
     // Then...
     AbstractRegExpGen expected =
@@ -1117,7 +1127,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
 
     // Then...
     AbstractRegExpGen expected =
@@ -1179,7 +1189,7 @@ public class ParserTest
     String regexp = "";
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp);
 
     // Then...
     AbstractRegExpGen expected = null;
@@ -1194,7 +1204,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( detachedStart);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( detachedStart);
 
     // Then...
     AbstractRegExpGen expected =
@@ -1230,7 +1240,7 @@ public class ParserTest
     String detachedEnd = "^Cats are bad( company |$| pets )";
     
     // When...
-    generator = generateRegExp( Provider.forEcmaScript()).matching( detachedEnd);
+    generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( detachedEnd);
 
     // Then...
     expected =
@@ -1266,7 +1276,7 @@ public class ParserTest
     String empty = "^$";
     
     // When...
-    generator = generateRegExp( Provider.forEcmaScript()).matching( empty);
+    generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( empty);
 
     // Then...
     expected = AnyOfGen.builder( options).anyPrintable().occurs(0).build();
@@ -1282,7 +1292,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).exactly().matching( regexp);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).exactly().matching( regexp);
 
     // Then...
     AbstractRegExpGen expected =
@@ -1316,7 +1326,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( unanchored);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( unanchored);
 
     // Then...
     AbstractRegExpGen expected =
@@ -1341,7 +1351,7 @@ public class ParserTest
     String startAnchored = "^(cat|dog|turtle)+";
     
     // When...
-    generator = generateRegExp( Provider.forEcmaScript()).matching( startAnchored);
+    generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( startAnchored);
 
     // Then...
     expected =
@@ -1362,7 +1372,7 @@ public class ParserTest
     String endAnchored = "(cat|dog|turtle)+$";
     
     // When...
-    generator = generateRegExp( Provider.forEcmaScript()).matching( endAnchored);
+    generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( endAnchored);
 
     // Then...
     expected =
@@ -1388,7 +1398,7 @@ public class ParserTest
     MatchOptions options = options().build();
     
     // When...
-    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( unanchored);
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( unanchored);
 
     // Then...
     AbstractRegExpGen expected =
@@ -1413,7 +1423,7 @@ public class ParserTest
     String startAnchored = "^(Digit=[\\d],){2}";
     
     // When...
-    generator = generateRegExp( Provider.forEcmaScript()).matching( startAnchored);
+    generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( startAnchored);
 
     // Then...
     expected =
@@ -1434,7 +1444,7 @@ public class ParserTest
     String endAnchored = "(Digit=[\\d],){2}$";
     
     // When...
-    generator = generateRegExp( Provider.forEcmaScript()).matching( endAnchored);
+    generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( endAnchored);
 
     // Then...
     expected =
@@ -1459,7 +1469,7 @@ public class ParserTest
     String regexp = "A||C";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Alternative missing", 2)));
         });
@@ -1472,7 +1482,7 @@ public class ParserTest
     String regexp = "^A(B|^C)";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Start-anchored expression can be matched at most once", 8)));
         });
@@ -1485,7 +1495,7 @@ public class ParserTest
     String regexp = "(ABC$)(DEF)";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Extra expressions not allowed after $ anchor", 11)));
         });
@@ -1498,7 +1508,7 @@ public class ParserTest
     String regexp = "Matchy (\\bMatchy)";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Unsupported word boundary assertion", 8)));
         });
@@ -1511,7 +1521,7 @@ public class ParserTest
     String regexp = "Matchy\\B Matchy";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Unsupported word boundary assertion", 6)));
         });
@@ -1524,7 +1534,7 @@ public class ParserTest
     String regexp = "(?<!ABC)D";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Unsupported negative look-behind assertion", 0)));
         });
@@ -1537,7 +1547,7 @@ public class ParserTest
     String regexp = "(?<=)ABC";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Missing look-behind expression", 4)));
         });
@@ -1550,7 +1560,7 @@ public class ParserTest
     String regexp = "(?<=XYZ";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Missing ')'", 7)));
         });
@@ -1563,7 +1573,7 @@ public class ParserTest
     String regexp = "(?<=A)^Z";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Start assertion is inconsistent with look-behind assertion", 7)));
         });
@@ -1576,7 +1586,7 @@ public class ParserTest
     String regexp = "A(?<=B)";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Missing regular expression for look-behind assertion", 7)));
         });
@@ -1589,7 +1599,7 @@ public class ParserTest
     String regexp = "ABC(?!D)";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Unsupported negative look-ahead assertion", 3)));
         });
@@ -1602,7 +1612,7 @@ public class ParserTest
     String regexp = "(ABC)(?=)Z";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Missing look-ahead expression", 8)));
         });
@@ -1615,7 +1625,7 @@ public class ParserTest
     String regexp = "ABC(?=DEF";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Missing ')'", 9)));
         });
@@ -1628,7 +1638,7 @@ public class ParserTest
     String regexp = "ABC$(?=DEF)";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "End assertion is inconsistent with look-ahead assertion", 11)));
         });
@@ -1641,7 +1651,7 @@ public class ParserTest
     String regexp = "(ABC$)+";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "End-anchored expression can be matched at most once", 7)));
         });
@@ -1654,7 +1664,7 @@ public class ParserTest
     String regexp = "(A|^B|C)+";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Start-anchored expression can be matched at most once", 9)));
         });
@@ -1667,7 +1677,7 @@ public class ParserTest
     String regexp = "X{}";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Missing number", 2)));
         });
@@ -1680,7 +1690,7 @@ public class ParserTest
     String regexp = "A{1,2BC";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Missing '}'", 5)));
         });
@@ -1693,7 +1703,7 @@ public class ParserTest
     String regexp = "A()B";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Incomplete group expression", 2)));
         });
@@ -1706,7 +1716,7 @@ public class ParserTest
     String regexp = "(A|B";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Missing ')'", 4)));
         });
@@ -1719,7 +1729,7 @@ public class ParserTest
     String regexp = "[\\w-Z]";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Character range must begin with a specific character", 5)));
         });
@@ -1732,7 +1742,7 @@ public class ParserTest
     String regexp = "[d-\\S]";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Character range must end with a specific character", 5)));
         });
@@ -1745,7 +1755,7 @@ public class ParserTest
     String regexp = "AB[CD";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Missing ']'", 5)));
         });
@@ -1758,7 +1768,7 @@ public class ParserTest
     String regexp = "A[^]Z";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Empty character class", 3)));
         });
@@ -1771,7 +1781,7 @@ public class ParserTest
     String regexp = "\\c9";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Invalid control escape character='9'", 2)));
         });
@@ -1784,7 +1794,7 @@ public class ParserTest
     String regexp = "\\x1G";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Invalid hex character='1G'", 2)));
         });
@@ -1797,7 +1807,7 @@ public class ParserTest
     String incomplete = "\\u123";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( incomplete))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( incomplete))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Invalid Unicode character='123'", 2)));
         });
@@ -1805,7 +1815,7 @@ public class ParserTest
     String nonHex = "\\u123X";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( nonHex))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( nonHex))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Invalid Unicode character='123X'", 2)));
         }); 
@@ -1818,7 +1828,7 @@ public class ParserTest
     String regexp = "ABC^DEF";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Extra expressions not allowed preceding ^ anchor", 5)));
         });
@@ -1831,7 +1841,7 @@ public class ParserTest
     String regexp = "<([a-z]+)>(.*?)</\\1>";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Unsupported back reference to capturing group", 18)));
         });
@@ -1844,12 +1854,194 @@ public class ParserTest
     String regexp = "<([a-z]+)>(?<tag>.*?)</\\k<tag>>";
 
     expectFailure( IllegalArgumentException.class)
-      .when( () -> generateRegExp( Provider.forEcmaScript()).matching( regexp))
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
       .then( failure -> {
         assertThat( "Failure", failure.getMessage(), is( errorAt( "Unsupported back reference to named group", 24)));
         });
     }
 
+  @Test
+  public void whenGroupNameUnterminated()
+    {
+    // Given...
+    String regexp = "(?<name";
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> generateRegExp( Provider.forEcmaScript()).optimized( false).matching( regexp))
+      .then( failure -> {
+        assertThat( "Failure", failure.getMessage(), is( errorAt( "Incomplete group expression", 7)));
+        });
+    }
+
+  @Test
+  public void whenNestedDeep()
+    {
+    // Given...
+    int depth = 10000;
+    String regexp = StringUtils.repeat( "(", depth) + "^x" + StringUtils.repeat( ")y", depth);
+
+    // When...
+    AbstractRegExpGen parsed = new Parser( regexp, options().build()).parse();
+
+    // Then...
+    assertThat( "Anchored start", parsed.isAnchoredStart(), is( true));
+    assertThat( "Anchored end", parsed.isAnchoredEnd(), is( false));
+    assertThat( "Min length", parsed.getMinLength(), is( depth + 1));
+    }
+
+  @Test
+  public void whenThroughput()
+    {
+    // Given...
+    String[] corpus =
+      {
+      "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$",
+      "^\\d{4}-\\d{2}-\\d{2}$",
+      "^\\d{4}-[01]\\d-[0-3]\\dT[0-2]\\d:[0-5]\\d:[0-5]\\d(\\.\\d+)?(Z|[+-][0-2]\\d:[0-5]\\d)$",
+      "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[1-5][0-9a-fA-F]{3}-[89abAB][0-9a-fA-F]{3}-[0-9a-fA-F]{12}$",
+      "^(https?|ftp)://[^\\s/$.?#].[^\\s]*$",
+      "^\\+?[1-9]\\d{1,14}$",
+      "^[A-Z]{2}\\d{2}[A-Z0-9]{11,30}$",
+      "^(?:25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)(?:\\.(?:25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)){3}$",
+      "^[a-z][a-z0-9_]{2,31}$",
+      "^#?([0-9a-fA-F]{3}|[0-9a-fA-F]{6})$",
+      "^\\d{5}(-\\d{4})?$",
+      "^[A-Z][a-z]+(?: [A-Z][a-z]+)*$",
+      "^(?<major>0|[1-9]\\d*)\\.(?<minor>0|[1-9]\\d*)\\.(?<patch>0|[1-9]\\d*)(?:-[\\w.-]+)?$",
+      "^[\\w\\-]{1,64}\\.(json|yaml|yml|xml)$",
+      "^\\$?\\d{1,3}(,\\d{3})*(\\.\\d{2})?$",
+      "^[\\x20-\\x7E]{0,255}$",
+      "^[\\u0400-\\u04FF\\s]+$",
+      "^(?:[A-Za-z\\d@$!%*?&]){8,64}$",
+      "^[^<>&\"']*$",
+      "^(Mon|Tue|Wed|Thu|Fri|Sat|Sun), \\d{2} (Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec) \\d{4}$",
+      };
+    int repeat = 1000;
+    MatchOptions options = options().build();
+
+    // When...
+    long start = System.nanoTime();
+    int parsed = 0;
+    for( int i = 0; i < repeat; i++)
+      {
+      for( String regexp : corpus)
+        {
+        parsed += new Parser( regexp, options).parse() == null? 0 : 1;
+        }
+      }
+    long elapsed = System.nanoTime() - start;
+
+    // Then...
+    assertThat( "Parsed", parsed, is( repeat * corpus.length));
+    if( printResults())
+      {
+      System.out.println(
+        String.format(
+          "Parser: %s patterns in %s ms, %.0f patterns/sec",
+          parsed,
+          elapsed / 1000000,
+          parsed * 1e9 / elapsed));
+      }
+    }
+
+  @Test
+  public void whenReader() throws Exception
+    {
+    // Given...
+    String[] regexps =
+      {
+      "^\\d{4}-[01]\\d-[0-3]\\dT[0-2]\\d:[0-5]\\d:[0-5]\\d(\\.\\d+)?(Z|[+-][0-2]\\d:[0-5]\\d)$",
+      "^(?<major>0|[1-9]\\d*)\\.(?<minor>0|[1-9]\\d*)(?:-[\\w.-]+)?$",
+      "(?<=^(?<group>A|B))[\\x20-\\x7E\\u0400-\\u04FF]{0,255}(?=Z$|D)",
+      "\\cJ\\0[^<>&\"']*?.{12,}",
+      };
+    MatchOptions options = options().build();
+
+    for( String regexp : regexps)
+      {
+      // When...
+      AbstractRegExpGen parsed = new Parser( new OneCharReader( regexp), options).parse();
+
+      // Then...
+      assertThat( regexp, parsed, is( new Parser( regexp, options).parse()));
+      assertThat( "Source", parsed.getSource(), is( nullValue()));
+      }
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> new Parser( new OneCharReader( "^[a-z]{12345678901}$"), options).parse())
+      .then( failure -> {
+        assertThat( "Failure", failure.getMessage(), is( errorAt( "Invalid decimal string=12345678901", 18)));
+        });
+    }
+
+  @Test
+  public void whenReaderDictionary() throws Exception
+    {
+    // Given...
+    int words = 100000;
+    Reader dictionary =
+      new Reader()
+        {
+        public int read( char[] buffer, int offset, int length)
+          {
+          int read;
+          for( read = 0; read < length && next_ < chars_.length(); read++)
+            {
+            buffer[ offset + read] = chars_.charAt( next_++);
+            if( next_ == chars_.length())
+              {
+              word_++;
+              chars_ = word_ < words ? String.format( "|w%s", word_) : word_ == words ? ")$" : "";
+              next_ = 0;
+              }
+            }
+          return read == 0 && length > 0? -1 : read;
+          }
+
+        public void close()
+          {
+          }
+
+        private int word_ = 0;
+        private String chars_ = "^(w0";
+        private int next_ = 0;
+        };
+
+    // When...
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).optimized( false).matching( dictionary);
+
+    // Then...
+    assertThat( "Alternatives", IterableUtils.size( ((AlternativeGen) generator).getMembers()), is( words));
+
+    RandomBoundsGen random = new RandomBoundsGen( new Random( 1234));
+    for( int i = 0; i < 10; i++)
+      {
+      String generated = generator.generate( random);
+      assertThat( generated, generated.matches( "w(0|[1-9]\\d{0,4})"), is( true));
+      }
+    }
+
+  /**
+   * Reads a string one character at a time.
+   */
+  private static class OneCharReader extends StringReader
+    {
+    public OneCharReader( String chars)
+      {
+      super( chars);
+      }
+
+    public int read( char[] buffer, int offset, int length) throws IOException
+      {
+      return super.read( buffer, offset, Math.min( length, 1));
+      }
+    }
+
+  private boolean printResults()
+    {
+    return Optional.ofNullable( System.getProperty( "printResults")).map( Boolean::valueOf).orElse( false);
+    }
+
   private String errorAt( String message, int position)
     {
     return String.format( "%s at position=%s", message, position);
@@ -97,6 +97,11 @@ public class RegExpGenMatcher extends BaseMatcher<AbstractRegExpGen>
       matcher_ = new CharClassGenMatcher( AnyPrintableGen.class, regExpGen);
       }
 
+    public void visit( LiteralGen regExpGen)
+      {
+      matcher_ = new LiteralGenMatcher( regExpGen);
+      }
+
     private Matcher<?> matcher_;
     }
 
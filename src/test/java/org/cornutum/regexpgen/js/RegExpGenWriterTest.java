@@ -0,0 +1,256 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.js;
+
+import org.cornutum.regexpgen.RandomGen;
+import org.cornutum.regexpgen.RegExpGen;
+import org.cornutum.regexpgen.RegExpGenLibrary;
+import org.cornutum.regexpgen.random.RandomBoundsGen;
+import static org.cornutum.regexpgen.RegExpGenBuilder.generateRegExp;
+
+import org.apache.commons.collections4.IterableUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.cornutum.hamcrest.ExpectedFailure.expectFailure;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs tests for {@link RegExpGenWriter} and {@link RegExpGenReader}.
+ */
+public class RegExpGenWriterTest
+  {
+  @Test
+  public void whenGenerator()
+    {
+    String[] corpus =
+      {
+      "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$",
+      "^\\d{4}-[01]\\d-[0-3]\\dT[0-2]\\d:[0-5]\\d:[0-5]\\d(\\.\\d+)?(Z|[+-][0-2]\\d:[0-5]\\d)$",
+      "^(https?|ftp)://[^\\s/$.?#].[^\\s]*$",
+      "^(Mon|Tue|Wed|Thu|Fri|Sat|Sun), \\d{2} (Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec) \\d{4}$",
+      "^(Allô|Ñandú|\\u20ac[\\u0100-\\u017f]{2,4}), world!$",
+      "^<\\d\\d{2}[0-9]*aa?>$",
+      "[^a-f\\d]+",
+      "^[qa\\u2028z]{3}\\S\\s.$",
+      };
+
+    for( String regexp : corpus)
+      {
+      verifyReadFor( generateRegExp( Provider.forEcmaScript()).matching( regexp));
+      verifyReadFor( generateRegExp( Provider.forEcmaScript()).exactly().matching( regexp));
+      }
+
+    verifyReadFor( generateRegExp( Provider.forEcmaScript()).optimized( false).withAny( "abcxyz").withSpace( " \t").matching( "^.\\s[^a]{2}\\S+$"));
+    verifyReadFor( generateRegExp( Provider.forEcmaScript()).notMatching( "^ab+c$").get());
+    }
+
+  @Test
+  public void whenLibrary() throws Exception
+    {
+    // Given...
+    List<String> regexps =
+      IntStream.range( 0, 1000)
+      .mapToObj( i -> String.format( "^[A-Z]{2}-%s(-[a-z]+)*$", i))
+      .collect( toList());
+    RegExpGenLibrary library = generateRegExp( Provider.forEcmaScript()).exactly().matchingAll( regexps);
+
+    File file = temp_.newFile( "library.rxg");
+    try( OutputStream out = Files.newOutputStream( file.toPath()))
+      {
+      RegExpGenWriter.write( library, out);
+      }
+
+    // When...
+    long start = System.nanoTime();
+    RegExpGenLibrary read = RegExpGenReader.readLibrary( file.toPath());
+    long elapsedRead = System.nanoTime() - start;
+
+    // Then...
+    assertThat( "Generators", read.getGenerators().keySet(), contains( regexps.toArray()));
+    for( String regexp : regexps)
+      {
+      assertThat( regexp, read.get( regexp), is( library.get( regexp)));
+      assertThat( "Source", read.get( regexp).getSource(), is( regexp));
+      }
+
+    List<AbstractRegExpGen> first = IterableUtils.toList( ((SeqGen) read.get( regexps.get(0))).getMembers());
+    List<AbstractRegExpGen> last = IterableUtils.toList( ((SeqGen) read.get( regexps.get(999))).getMembers());
+    assertThat( "Shared prefix", last.get(0), is( sameInstance( first.get(0))));
+    assertThat( "Shared suffix", last.get( last.size() - 1), is( sameInstance( first.get( first.size() - 1))));
+
+    start = System.nanoTime();
+    regexps.forEach( regexp -> generateRegExp( Provider.forEcmaScript()).exactly().matching( regexp));
+    long elapsedParse = System.nanoTime() - start;
+
+    if( printResults())
+      {
+      System.out.println(
+        String.format(
+          "RegExpGenReader: read %s generators (%s bytes) in %s ms, parsed in %s ms",
+          regexps.size(),
+          file.length(),
+          elapsedRead / 1000000,
+          elapsedParse / 1000000));
+      }
+    }
+
+  @Test
+  public void whenNestedDeep()
+    {
+    // Given...
+    int depth = 10000;
+    String regexp = "^" + StringUtils.repeat( "(?:", depth) + "x" + StringUtils.repeat( "|y)z?", depth) + "$";
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( regexp);
+
+    // When...
+    RegExpGen read = RegExpGenReader.read( ByteBuffer.wrap( bytesOf( generator)));
+
+    // Then...
+    assertThat( "Source", read.getSource(), is( regexp));
+    verifyGenerated( generator, read);
+    }
+
+  @Test
+  public void whenVersionUnsupported()
+    {
+    // Given...
+    byte[] bytes = bytesOf( generateRegExp( Provider.forEcmaScript()).matching( "abc"));
+    bytes[4] = 99;
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> RegExpGenReader.read( ByteBuffer.wrap( bytes)))
+      .then( failure -> {
+        assertThat( "Failure", failure.getMessage(), is( "Unsupported generator input version=99"));
+        });
+    }
+
+  @Test
+  public void whenIncomplete()
+    {
+    // Given...
+    byte[] bytes = bytesOf( generateRegExp( Provider.forEcmaScript()).matching( "abc"));
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> RegExpGenReader.read( ByteBuffer.wrap( Arrays.copyOf( bytes, bytes.length - 1))))
+      .then( failure -> {
+        assertThat( "Failure", failure.getMessage(), is( "Incomplete generator input"));
+        });
+    }
+
+  @Test
+  public void whenCorrupted()
+    {
+    // Given...
+    byte[] bytes = bytesOf( generateRegExp( Provider.forEcmaScript()).matching( "^(abc|[x-z]+)$"));
+    bytes[ bytes.length - 4] ^= 0x10;
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> RegExpGenReader.read( ByteBuffer.wrap( bytes)))
+      .then( failure -> {
+        assertThat( "Failure", failure.getMessage(), startsWith( "Invalid generator input at position="));
+        assertThat( "Failure", failure.getMessage(), endsWith( ": checksum mismatch"));
+        });
+    }
+
+  @Test
+  public void whenTrailing()
+    {
+    // Given...
+    byte[] bytes = bytesOf( generateRegExp( Provider.forEcmaScript()).matching( "abc"));
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> RegExpGenReader.read( ByteBuffer.wrap( Arrays.copyOf( bytes, bytes.length + 2))))
+      .then( failure -> {
+        assertThat( "Failure", failure.getMessage(), endsWith( ": 2 bytes remaining"));
+        });
+    }
+
+  /**
+   * Verifies that the generator read is the same as the given generator.
+   */
+  private void verifyReadFor( RegExpGen generator)
+    {
+    // When...
+    RegExpGen read = RegExpGenReader.read( ByteBuffer.wrap( bytesOf( generator)));
+
+    // Then...
+    assertThat( "Read", read, is( generator));
+    assertThat( "Source", read.getSource(), is( generator.getSource()));
+    assertThat( "Frozen", ((AbstractRegExpGen) read).isFrozen(), is( true));
+
+    List<AbstractRegExpGen> members =
+      generator instanceof SeqGen
+      ? IterableUtils.toList( ((SeqGen) generator).getMembers())
+      : Arrays.asList();
+    List<AbstractRegExpGen> membersRead =
+      read instanceof SeqGen
+      ? IterableUtils.toList( ((SeqGen) read).getMembers())
+      : Arrays.asList();
+    for( int i = 0; i < members.size(); i++)
+      {
+      assertThat( "Member source", membersRead.get(i).getSource(), is( members.get(i).getSource()));
+      }
+
+    verifyGenerated( generator, read);
+    }
+
+  /**
+   * Verifies that both generators generate the same strings.
+   */
+  private void verifyGenerated( RegExpGen generator, RegExpGen read)
+    {
+    RandomGen random = new RandomBoundsGen( new Random( 1234));
+    RandomGen randomRead = new RandomBoundsGen( new Random( 1234));
+    for( int i = 0; i < 1000; i++)
+      {
+      assertThat( generator.getSource(), read.generate( randomRead), is( generator.generate( random)));
+      }
+    }
+
+  /**
+   * Returns the binary form of the given generator.
+   */
+  private byte[] bytesOf( RegExpGen generator)
+    {
+    try
+      {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      RegExpGenWriter.write( generator, out);
+      return out.toByteArray();
+      }
+    catch( IOException e)
+      {
+      throw new UncheckedIOException( e);
+      }
+    }
+
+  private boolean printResults()
+    {
+    return Optional.ofNullable( System.getProperty( "printResults")).map( Boolean::valueOf).orElse( false);
+    }
+
+  @Rule
+  public TemporaryFolder temp_ = new TemporaryFolder();
+  }
@@ -0,0 +1,102 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.random;
+
+import org.cornutum.regexpgen.Bounds;
+
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Runs tests for {@link BufferedBoundsGen}.
+ */
+public class BufferedBoundsGenTest
+  {
+  @Test
+  public void whenBounded()
+    {
+    for( int bound : new int[]{ 2, 3, 5, 10, 62, 256, 257, 1000})
+      {
+      // Given...
+      BufferedBoundsGen random = new BufferedBoundsGen( new SplittableRandom( 1234));
+      int samples = bound * 200;
+      int[] counts = new int[ bound];
+
+      // When...
+      IntStream.range( 0, samples).forEach( i -> counts[ random.within( 7, 7 + bound) - 7]++);
+
+      // Then...
+      double expected = (double) samples / bound;
+      double chiSquare = 0;
+      for( int count : counts)
+        {
+        chiSquare += (count - expected) * (count - expected) / expected;
+        }
+
+      // Compare to a generous critical value for bound-1 degrees of freedom.
+      double critical = (bound - 1) + 5 * Math.sqrt( 2 * (bound - 1));
+      assertThat( "Bound=" + bound + ", chi-square", chiSquare, lessThan( critical));
+      }
+    }
+
+  @Test
+  public void whenBuffered()
+    {
+    // Given...
+    CountingRandom counting = new CountingRandom();
+    BufferedBoundsGen random = new BufferedBoundsGen( counting);
+
+    // When...
+    IntStream.range( 0, 1000).forEach( i -> random.below( 10));
+
+    // Then...
+    assertThat( "Words used", counting.count, is( both( greaterThanOrEqualTo( 250)).and( lessThan( 260))));
+
+    // When...
+    counting.count = 0;
+    IntStream.range( 0, 1000).forEach( i -> random.below( 1000));
+
+    // Then...
+    assertThat( "Words used", counting.count, is( both( greaterThanOrEqualTo( 500)).and( lessThan( 510))));
+    }
+
+  @Test
+  public void whenUnbounded()
+    {
+    // Given...
+    BufferedBoundsGen random = new BufferedBoundsGen( new SplittableRandom( 1234), 8);
+
+    // When...
+    double mean = IntStream.range( 0, 10000).map( i -> random.within( 3, Bounds.UNBOUNDED)).average().orElse( 0);
+
+    // Then...
+    assertThat( "Mean", mean, closeTo( 11, 0.2));
+    assertThat( "Empty range", random.within( 5, 5), is( 5));
+    assertThat( "Singleton range", random.below( 1), is( 0));
+    }
+
+  /**
+   * Counts the number of random words generated.
+   */
+  private static class CountingRandom implements RandomGenerator
+    {
+    public long nextLong()
+      {
+      count++;
+      return random_.nextLong();
+      }
+
+    int count;
+    private final SplittableRandom random_ = new SplittableRandom( 1234);
+    }
+  }
@@ -0,0 +1,73 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.random;
+
+import org.cornutum.regexpgen.RegExpGen;
+import org.cornutum.regexpgen.js.Provider;
+import static org.cornutum.regexpgen.RegExpGenBuilder.generateRegExp;
+
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.List;
+import java.util.stream.LongStream;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Runs tests for {@link CounterBoundsGen}.
+ */
+public class CounterBoundsGenTest
+  {
+  @Test
+  public void whenSample()
+    {
+    // Given...
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( "^[A-Z]{3}-[0-9]{4,8}(-[a-z]+)*$");
+    CounterBoundsGen random = new CounterBoundsGen( 1234);
+
+    // When...
+    List<String> sequential =
+      LongStream.range( 0, 1000)
+      .mapToObj( i -> generator.generate( random.atSample( i)))
+      .collect( toList());
+
+    // Then...
+    assertThat( "Distinct", sequential.stream().collect( toSet()).size(), is( 1000));
+    for( long sample : new long[]{ 999, 0, 500, 73})
+      {
+      assertThat(
+        "Sample=" + sample,
+        generator.generate( CounterBoundsGen.forSample( 1234, sample)),
+        is( sequential.get( (int) sample)));
+      }
+
+    // When...
+    random.atSample( 500);
+    random.below( 10);
+
+    // Then...
+    assertThat( "Restarted", generator.generate( random.atSample( 500)), is( sequential.get( 500)));
+    assertThat( "Sample", random.getSample(), is( 500L));
+    }
+
+  @Test
+  public void whenSeed()
+    {
+    // Given...
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( "^[0-9]{12}$");
+
+    // When...
+    List<String> seed1 = LongStream.range( 0, 100).mapToObj( i -> generator.generate( CounterBoundsGen.forSample( 1, i))).collect( toList());
+    List<String> seed2 = LongStream.range( 0, 100).mapToObj( i -> generator.generate( CounterBoundsGen.forSample( 2, i))).collect( toList());
+
+    // Then...
+    assertThat( "Different seeds", seed1.stream().filter( seed2::contains).count(), is( 0L));
+    }
+  }
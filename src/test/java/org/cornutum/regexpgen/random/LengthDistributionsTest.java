@@ -0,0 +1,171 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.random;
+
+import org.cornutum.regexpgen.LengthDistribution;
+import org.cornutum.regexpgen.RandomGen;
+import org.cornutum.regexpgen.RegExpGen;
+import org.cornutum.regexpgen.js.Provider;
+import static org.cornutum.regexpgen.RegExpGenBuilder.generateRegExp;
+
+import org.junit.Test;
+import static org.cornutum.hamcrest.ExpectedFailure.expectFailure;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Runs tests for {@link LengthDistributions}.
+ */
+public class LengthDistributionsTest
+  {
+  @Test
+  public void whenUniform()
+    {
+    // Given...
+    RegExpGen generator =
+      generateRegExp( Provider.forEcmaScript())
+      .withLengths( LengthDistributions.uniform( 3))
+      .matching( "^a*$");
+
+    // When...
+    int[] counts = new int[5];
+    IntStream.range( 0, 4000).forEach( i -> counts[ Math.min( 4, generator.generate( random_).length())]++);
+
+    // Then...
+    for( int length = 0; length <= 3; length++)
+      {
+      assertThat( "Length=" + length, counts[ length], is( both( greaterThan( 850)).and( lessThan( 1150))));
+      }
+    assertThat( "Length > 3", counts[4], is( 0));
+    }
+
+  @Test
+  public void whenGeometric()
+    {
+    // Given...
+    RegExpGen generator =
+      generateRegExp( Provider.forEcmaScript())
+      .withLengths( LengthDistributions.geometric( 4))
+      .matching( "^(ab){2,}$");
+
+    // When...
+    double meanOccurrences =
+      IntStream.range( 0, 10000)
+      .map( i -> generator.generate( random_).length() / 2)
+      .average()
+      .orElse( 0);
+
+    // Then...
+    assertThat( "Mean occurrences", meanOccurrences, closeTo( 6.0, 0.2));
+    }
+
+  @Test
+  public void whenEmpirical()
+    {
+    // Given...
+    LengthDistribution lengths = LengthDistributions.empirical( new double[]{ 0, 1, 0, 3});
+    RegExpGen generator =
+      generateRegExp( Provider.forEcmaScript())
+      .withLengths( lengths)
+      .matching( "^[0-9]+$");
+
+    // When...
+    int[] counts = new int[5];
+    IntStream.range( 0, 4000).forEach( i -> counts[ generator.generate( random_).length()]++);
+
+    // Then...
+    assertThat( "Length=1", counts[1], is( 0));
+    assertThat( "Length=2", counts[2], is( both( greaterThan( 850)).and( lessThan( 1150))));
+    assertThat( "Length=3", counts[3], is( 0));
+    assertThat( "Length=4", counts[4], is( both( greaterThan( 2850)).and( lessThan( 3150))));
+    }
+
+  @Test
+  public void whenZipf()
+    {
+    // Given...
+    LengthDistribution lengths = LengthDistributions.zipf( 9, 1.0);
+
+    // When...
+    int[] counts = new int[10];
+    IntStream.range( 0, 30000).forEach( i -> counts[ lengths.next( random_)]++);
+
+    // Then...
+    double harmonic = IntStream.rangeClosed( 1, 10).mapToDouble( k -> 1.0 / k).sum();
+    for( int k = 0; k < counts.length; k++)
+      {
+      double expected = 30000 / ((k + 1) * harmonic);
+      assertThat( "Length=" + k, (double) counts[k], closeTo( expected, 5 * Math.sqrt( expected)));
+      }
+    }
+
+  @Test
+  public void whenBounded()
+    {
+    // Given...
+    RegExpGen generator =
+      generateRegExp( Provider.forEcmaScript())
+      .withLengths( LengthDistributions.uniform( 100))
+      .matching( "^a{2,5}$");
+
+    // When...
+    int[] counts = new int[6];
+    IntStream.range( 0, 4000).forEach( i -> counts[ generator.generate( random_).length()]++);
+
+    // Then...
+    for( int length = 2; length <= 5; length++)
+      {
+      assertThat( "Length=" + length, counts[ length], is( both( greaterThan( 850)).and( lessThan( 1150))));
+      }
+    }
+
+  @Test
+  public void whenMemberLengths()
+    {
+    // Given...
+    RegExpGen generator =
+      generateRegExp( Provider.forEcmaScript())
+      .withLengths( LengthDistributions.uniform( 0))
+      .matching( "^(a*b)+$");
+
+    // When...
+    double meanLength =
+      IntStream.range( 0, 1000)
+      .map( i -> {
+        String generated = generator.generate( random_);
+        assertThat( "Occurrences", generated, matchesPattern( "a*b"));
+        return generated.length();
+        })
+      .average()
+      .orElse( 0);
+
+    // Then...
+    assertThat( "Mean length", meanLength, greaterThan( 2.0));
+    }
+
+  @Test
+  public void whenInvalid()
+    {
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> LengthDistributions.geometric( 0));
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> LengthDistributions.uniform( -1));
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> LengthDistributions.empirical( new double[]{ 0, 0}));
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> LengthDistributions.empirical( new double[]{ 1, -1}));
+    }
+
+  private final RandomGen random_ = new RandomBoundsGen( new Random( 1234));
+  }
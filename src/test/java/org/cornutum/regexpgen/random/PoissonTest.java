@@ -9,9 +9,11 @@ package org.cornutum.regexpgen.random;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
+import static org.cornutum.hamcrest.ExpectedFailure.expectFailure;
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -61,6 +63,88 @@ public class PoissonTest
       }
     }
 
+  @Test
+  public void whenLambdaLarge()
+    {
+    for( double lambda : new double[]{ 10, 745, 5000, 1.0e6})
+      {
+      // Given...
+      Poisson values = new Poisson( new Random( randomSeed_), lambda);
+      int count = 10000;
+
+      // When...
+      double[] generated =
+        IntStream.range( 0, count)
+        .mapToDouble( i -> values.next())
+        .toArray();
+
+      // Then...
+      assertMoments( lambda, generated);
+      }
+    }
+
+  @Test
+  public void whenLambdaFractional()
+    {
+    for( double lambda : new double[]{ 0.25, 2.5, 12.75})
+      {
+      // Given...
+      Poisson values = new Poisson( new Random( randomSeed_), lambda);
+      int count = 10000;
+
+      // When...
+      double[] generated =
+        IntStream.range( 0, count)
+        .mapToDouble( i -> values.next())
+        .toArray();
+
+      // Then...
+      assertMoments( lambda, generated);
+      }
+    }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void getLambda()
+    {
+    assertThat( "Lambda", new Poisson( new Random(), 16).getLambda(), is( 16));
+    assertThat( "Lambda", new Poisson( new Random(), 2.5).getLambda(), is( 3));
+    assertThat( "Mean", new Poisson( new Random(), 2.5).getMean(), is( 2.5));
+    }
+
+  @Test
+  public void whenLambdaInvalid()
+    {
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> new Poisson( new Random(), 0));
+
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> new Poisson( new Random(), Double.POSITIVE_INFINITY));
+    }
+
+  @Test
+  public void logGamma()
+    {
+    assertThat( "logGamma(1)", Poisson.logGamma( 1), is( 0.0));
+    assertThat( "logGamma(3)", Poisson.logGamma( 3), closeTo( Math.log( 2), 1e-12));
+    assertThat( "logGamma(11)", Poisson.logGamma( 11), closeTo( Math.log( 3628800), 1e-10));
+    assertThat( "logGamma(0.5)", Poisson.logGamma( 0.5), closeTo( Math.log( Math.sqrt( Math.PI)), 1e-10));
+    }
+
+  /**
+   * Reports a failure if the mean and variance of the given values differ from the given lambda
+   * by more than 5 standard errors.
+   */
+  private void assertMoments( double lambda, double[] values)
+    {
+    int n = values.length;
+    double mean = Arrays.stream( values).average().orElse( 0);
+    double variance = Arrays.stream( values).map( v -> (v - mean) * (v - mean)).sum() / (n - 1);
+
+    assertThat( String.format( "Lambda=%s, mean", lambda), mean, closeTo( lambda, 5 * Math.sqrt( lambda / n)));
+    assertThat( String.format( "Lambda=%s, variance", lambda), variance, closeTo( lambda, 5 * lambda * Math.sqrt( (2 + 1 / lambda) / n)));
+    }
+
   /**
    * Returns true if printing results.
    */
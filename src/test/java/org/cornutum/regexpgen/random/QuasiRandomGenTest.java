@@ -0,0 +1,169 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.random;
+
+import org.cornutum.regexpgen.Bounds;
+import org.cornutum.regexpgen.RandomGen;
+import org.cornutum.regexpgen.RegExpGen;
+import org.cornutum.regexpgen.js.Provider;
+import static org.cornutum.regexpgen.RegExpGenBuilder.generateRegExp;
+
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Runs tests for {@link QuasiRandomGen}.
+ */
+public class QuasiRandomGenTest
+  {
+  @Test
+  public void whenAlternatives()
+    {
+    // Given...
+    RegExpGen generator =
+      generateRegExp( Provider.forEcmaScript())
+      .matching( IntStream.range( 0, 50).mapToObj( i -> "x" + i).collect( joining( "|", "^(", ")$")));
+
+    // When...
+    int quasiSamples = samplesToCover( generator, 50, new QuasiRandomGen( 1234));
+    int uniformSamples = samplesToCoverUniform( generator, 50, new RandomBoundsGen( new Random( 1234)));
+
+    // Then...
+    assertThat( "Samples to cover", quasiSamples, lessThanOrEqualTo( 100));
+    assertThat( "Samples to cover", quasiSamples, lessThan( uniformSamples));
+    }
+
+  @Test
+  public void whenRepetitions()
+    {
+    // Given...
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( "^x{1,8}$");
+
+    for( long seed = 0; seed < 10; seed++)
+      {
+      // When...
+      int quasiSamples = samplesToCover( generator, 8, new QuasiRandomGen( seed));
+
+      // Then...
+      assertThat( "Samples to cover", quasiSamples, is( 8));
+      }
+    }
+
+  @Test
+  public void whenStream()
+    {
+    // Given...
+    RegExpGen generator = generateRegExp( Provider.forEcmaScript()).matching( "^x{1,8}$");
+    QuasiRandomGen random = new QuasiRandomGen( 1234);
+
+    // When...
+    Set<String> generated = generator.stream( random).limit( 8).collect( toSet());
+
+    // Then...
+    assertThat( "Generated", generated.size(), is( 8));
+    assertThat( "Samples", random.getSample(), is( 7L));
+    }
+
+  @Test
+  public void whenStratified()
+    {
+    // Given...
+    QuasiRandomGen random = new QuasiRandomGen( 1234);
+    int[][] counts = new int[3][10];
+
+    // When...
+    for( int i = 0; i < 1000; i++)
+      {
+      random.nextSample();
+      for( int dimension = 0; dimension < counts.length; dimension++)
+        {
+        counts[ dimension][ random.below( 10)]++;
+        }
+      }
+
+    // Then...
+    for( int dimension = 0; dimension < counts.length; dimension++)
+      {
+      for( int i = 0; i < 10; i++)
+        {
+        assertThat( "Dimension=" + dimension + ", value=" + i, counts[ dimension][i], is( both( greaterThanOrEqualTo( 97)).and( lessThanOrEqualTo( 103))));
+        }
+      }
+    }
+
+  @Test
+  public void whenIndependentDimensions()
+    {
+    // Given...
+    QuasiRandomGen random = new QuasiRandomGen( 1234);
+    Set<Integer> pairs = new HashSet<Integer>();
+
+    // When...
+    for( int i = 0; i < 64; i++)
+      {
+      random.nextSample();
+      pairs.add( random.below( 4) * 4 + random.below( 4));
+      }
+
+    // Then...
+    assertThat( "Pairs covered", pairs.size(), greaterThan( 12));
+    }
+
+  @Test
+  public void whenUnbounded()
+    {
+    // Given...
+    QuasiRandomGen random = new QuasiRandomGen( 1234, 8);
+
+    // When...
+    double mean = IntStream.range( 0, 10000).map( i -> random.within( 0, Bounds.UNBOUNDED)).average().orElse( 0);
+
+    // Then...
+    assertThat( "Mean", mean, closeTo( 8, 0.2));
+    }
+
+  /**
+   * Returns the number of samples needed to generate the given number of distinct strings.
+   */
+  private int samplesToCover( RegExpGen generator, int distinct, QuasiRandomGen random)
+    {
+    Set<String> generated = new HashSet<String>();
+    int samples;
+    for( samples = 0; generated.size() < distinct; samples++)
+      {
+      random.nextSample();
+      generated.add( generator.generate( random));
+      }
+
+    return samples;
+    }
+
+  /**
+   * For comparison, returns the number of samples needed to generate the given number of distinct strings
+   * using independent uniform draws.
+   */
+  private int samplesToCoverUniform( RegExpGen generator, int distinct, RandomGen random)
+    {
+    Set<String> generated = new HashSet<String>();
+    int samples;
+    for( samples = 0; generated.size() < distinct; samples++)
+      {
+      generated.add( generator.generate( random));
+      }
+
+    return samples;
+    }
+  }
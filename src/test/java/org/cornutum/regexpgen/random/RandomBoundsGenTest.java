@@ -0,0 +1,70 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.random;
+
+import org.cornutum.regexpgen.Bounds;
+
+import org.junit.Test;
+import static org.cornutum.hamcrest.ExpectedFailure.expectFailure;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.averagingInt;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs tests for {@link RandomBoundsGen}.
+ */
+public class RandomBoundsGenTest
+  {
+  @Test
+  public void whenAlgorithm()
+    {
+    for( String algorithm : Arrays.asList( "Random", "SplittableRandom", "L64X128MixRandom", "Xoshiro256PlusPlus"))
+      {
+      // Given...
+      RandomBoundsGen random = RandomBoundsGen.of( algorithm, 1234);
+      RandomBoundsGen repeated = RandomBoundsGen.of( algorithm, 1234);
+
+      // When...
+      List<Integer> bounded = IntStream.range( 0, 1000).mapToObj( i -> random.within( 10, 20)).collect( toList());
+      List<Integer> unbounded = IntStream.range( 0, 1000).mapToObj( i -> random.within( 0, Bounds.UNBOUNDED)).collect( toList());
+
+      // Then...
+      bounded.forEach( i -> assertThat( algorithm, i, allOf( greaterThanOrEqualTo( 10), lessThan( 20))));
+      assertThat( algorithm, (int) Math.round( unbounded.stream().collect( averagingInt( Integer::intValue))), is( 16));
+      assertThat(
+        algorithm,
+        IntStream.range( 0, 1000).mapToObj( i -> repeated.within( 10, 20)).collect( toList()),
+        is( bounded));
+      }
+    }
+
+  @Test
+  public void whenRandomGenerator()
+    {
+    // Given...
+    RandomBoundsGen random = new RandomBoundsGen( new SplittableRandom( 1234), 4);
+    RandomBoundsGen repeated = RandomBoundsGen.of( "SplittableRandom", 1234);
+
+    // Then...
+    assertThat( "Same sequence", random.within( 0, 1000000), is( repeated.within( 0, 1000000)));
+    assertThat( "Lambda", random.toString(), is( "RandomBoundsGen[4.0]"));
+    }
+
+  @Test
+  public void whenAlgorithmUnknown()
+    {
+    expectFailure( IllegalArgumentException.class)
+      .when( () -> RandomBoundsGen.of( "NoSuchRandom"));
+    }
+  }
@@ -0,0 +1,97 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.random;
+
+import org.cornutum.regexpgen.Bounds;
+import org.cornutum.regexpgen.RegExpGen;
+import org.cornutum.regexpgen.js.Provider;
+import static org.cornutum.regexpgen.RegExpGenBuilder.generateRegExp;
+
+import org.junit.Test;
+import static org.cornutum.hamcrest.ExpectedFailure.expectFailure;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Runs tests for {@link RecordingRandomGen} and {@link ReplayRandomGen}.
+ */
+public class RecordingRandomGenTest
+  {
+  @Test
+  public void whenReplayed()
+    {
+    // Given...
+    RegExpGen generator =
+      generateRegExp( Provider.forEcmaScript())
+      .matching( "^(?<user>[a-z][a-z0-9._]{2,15})@(mail|example|test)\\.(com|org|[a-z]{2})(/\\w*)?$");
+
+    RecordingRandomGen recording = new RecordingRandomGen( new RandomBoundsGen( new Random( 1234)));
+    List<String> generated = new ArrayList<String>();
+    List<byte[]> tapes = new ArrayList<byte[]>();
+
+    // When...
+    for( int i = 0; i < 1000; i++)
+      {
+      recording.clear();
+      generated.add( generator.generate( recording));
+      tapes.add( recording.getTape());
+      }
+
+    // Then...
+    for( int i = 0; i < generated.size(); i++)
+      {
+      ReplayRandomGen replay = new ReplayRandomGen( tapes.get(i));
+      assertThat( "Sample=" + i, generator.generate( replay), is( generated.get(i)));
+      assertThat( "Sample=" + i + ", complete", replay.isComplete(), is( true));
+      assertThat( "Sample=" + i + ", tape size", tapes.get(i).length, lessThan( 3 * generated.get(i).length() + 16));
+      }
+    }
+
+  @Test
+  public void whenUnbounded()
+    {
+    // Given...
+    RecordingRandomGen recording = new RecordingRandomGen( new RandomBoundsGen( new Random( 1234), 1000000));
+
+    // When...
+    int value = recording.within( 5, Bounds.UNBOUNDED);
+    int empty = recording.within( 5, 5);
+    int single = recording.within( 5, 6);
+    byte[] tape = recording.getTape();
+    ReplayRandomGen replay = new ReplayRandomGen( tape);
+
+    // Then...
+    assertThat( "Replayed", replay.within( 5, Bounds.UNBOUNDED), is( value));
+    assertThat( "Empty", replay.within( 5, 5), is( empty));
+    assertThat( "Single", replay.within( 5, 6), is( single));
+    assertThat( "Complete", replay.isComplete(), is( true));
+    assertThat( "Tape size", tape.length, is( 3));
+    }
+
+  @Test
+  public void whenMismatched()
+    {
+    // Given...
+    RecordingRandomGen recording = new RecordingRandomGen( (min, max) -> max - 1);
+    recording.within( 0, 10);
+    ReplayRandomGen replay = new ReplayRandomGen( recording.getTape());
+
+    // Then...
+    expectFailure( IllegalStateException.class)
+      .when( () -> replay.within( 0, 5))
+      .then( failure -> assertThat( failure.getMessage(), is( "Recorded offset=9 is outside range=[0,5) at position=1")));
+
+    expectFailure( IllegalStateException.class)
+      .when( () -> replay.within( 0, 5))
+      .then( failure -> assertThat( failure.getMessage(), is( "No more recorded values after position=1")));
+    }
+  }
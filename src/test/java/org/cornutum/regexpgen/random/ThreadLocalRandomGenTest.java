@@ -0,0 +1,98 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.random;
+
+import org.cornutum.regexpgen.RandomGen;
+
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Runs tests for {@link ThreadLocalRandomGen}.
+ */
+public class ThreadLocalRandomGenTest
+  {
+  @Test
+  public void whenThreadsSequential() throws Exception
+    {
+    // Given...
+    ThreadLocalRandomGen random = new ThreadLocalRandomGen( 1234);
+    ThreadLocalRandomGen repeated = new ThreadLocalRandomGen( 1234);
+
+    // When...
+    List<List<Integer>> draws = drawSequentially( random, 4);
+    List<List<Integer>> repeatedDraws = drawSequentially( repeated, 4);
+
+    // Then...
+    assertThat( "Repeated", repeatedDraws, is( draws));
+    assertThat( "Independent", draws.stream().collect( toSet()).size(), is( 4));
+    }
+
+  @Test
+  public void whenThreadsConcurrent() throws Exception
+    {
+    // Given...
+    ThreadLocalRandomGen random = new ThreadLocalRandomGen( 1234);
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // When...
+    List<Future<List<Integer>>> futures = new ArrayList<Future<List<Integer>>>();
+    for( int i = 0; i < 200; i++)
+      {
+      futures.add( executor.submit( () -> draw( random)));
+      }
+
+    List<List<Integer>> draws = new ArrayList<List<Integer>>();
+    for( Future<List<Integer>> future : futures)
+      {
+      draws.add( future.get());
+      }
+    executor.shutdown();
+
+    // Then...
+    assertThat( "Independent", draws.stream().collect( toSet()).size(), is( 200));
+    draws.forEach( values -> values.forEach( i -> assertThat( i, allOf( greaterThanOrEqualTo( 0), lessThan( 1000000)))));
+    }
+
+  @Test
+  public void whenCurrent()
+    {
+    // Given...
+    ThreadLocalRandomGen random = new ThreadLocalRandomGen( 1234);
+
+    // Then...
+    assertThat( "Same thread", random.current(), is( sameInstance( random.current())));
+    }
+
+  private List<List<Integer>> drawSequentially( RandomGen random, int threads) throws Exception
+    {
+    List<List<Integer>> draws = Collections.synchronizedList( new ArrayList<List<Integer>>());
+    for( int i = 0; i < threads; i++)
+      {
+      Thread thread = Thread.ofVirtual().start( () -> draws.add( draw( random)));
+      thread.join();
+      }
+    return draws;
+    }
+
+  private List<Integer> draw( RandomGen random)
+    {
+    return IntStream.range( 0, 100).mapToObj( i -> random.below( 1000000)).collect( toList());
+    }
+  }
@@ -0,0 +1,153 @@
+//////////////////////////////////////////////////////////////////////////////
+//
+//                    Copyright 2026, Cornutum Project
+//                             www.cornutum.org
+//
+//////////////////////////////////////////////////////////////////////////////
+
+package org.cornutum.regexpgen.server;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs tests for {@link RegExpGenServer}.
+ */
+public class RegExpGenServerTest
+  {
+  @Before
+  public void startServer() throws Exception
+    {
+    server_ = new RegExpGenServer( new InetSocketAddress( InetAddress.getLoopbackAddress(), 0)).start();
+    client_ = HttpClient.newHttpClient();
+    }
+
+  @After
+  public void stopServer()
+    {
+    server_.stop();
+    }
+
+  @Test
+  public void whenMatch() throws Exception
+    {
+    // Given...
+    String regexp = "^(cat|dog|turtle)+ [0-9]{2}$";
+
+    // When...
+    HttpResponse<String> response = get( "/match?re=%s&count=10&seed=123", encoded( regexp));
+
+    // Then...
+    assertThat( "Status", response.statusCode(), is( 200));
+    assertThat( "Content-Type", response.headers().firstValue( "Content-Type").orElse( null), is( "application/x-ndjson"));
+
+    List<String> lines = lines( response);
+    assertThat( "Lines", lines.size(), is( 10));
+    lines.forEach( line -> assertThat( line, Pattern.matches( "\"" + regexp.substring( 1, regexp.length() - 1) + "\"", line), is( true)));
+
+    // When...
+    HttpResponse<String> repeated = get( "/match?re=%s&count=10&seed=123", encoded( regexp));
+
+    // Then...
+    assertThat( "Repeated", lines( repeated), is( lines));
+    }
+
+  @Test
+  public void whenNotMatch() throws Exception
+    {
+    // Given...
+    String regexp = "^[0-9]+$";
+
+    // When...
+    HttpResponse<String> response = get( "/notMatch?re=%s&count=10&exactly=true&any=%s", encoded( regexp), encoded( "abc123"));
+
+    // Then...
+    assertThat( "Status", response.statusCode(), is( 200));
+    List<String> lines = lines( response);
+    assertThat( "Lines", lines.size(), is( 10));
+    lines.forEach( line -> assertThat( line, Pattern.matches( "\"[0-9]+\"", line), is( false)));
+    }
+
+  @Test
+  public void whenNotMatchNone() throws Exception
+    {
+    // When...
+    HttpResponse<String> response = get( "/notMatch?re=%s", encoded( ".*"));
+
+    // Then...
+    assertThat( "Status", response.statusCode(), is( 422));
+    }
+
+  @Test
+  public void whenInvalid() throws Exception
+    {
+    // When...
+    HttpResponse<String> response = get( "/match?re=%s", encoded( "(cat|dog"));
+
+    // Then...
+    assertThat( "Status", response.statusCode(), is( 400));
+    assertThat( "Error", response.body(), is( "{\"error\":\"Missing ')' at position=8\"}\n"));
+
+    // When...
+    response = get( "/match?re=%s&maxLength=2", encoded( "^[0-9]{3}$"));
+
+    // Then...
+    assertThat( "Status", response.statusCode(), is( 400));
+
+    // When...
+    response = get( "/match");
+
+    // Then...
+    assertThat( "Status", response.statusCode(), is( 400));
+    }
+
+  @Test
+  public void writeJsonString() throws Exception
+    {
+    // Given...
+    StringWriter writer = new StringWriter();
+
+    // When...
+    RegExpGenServer.writeJsonString( writer, "\"Tab\t\\Quote\u0001\"é");
+
+    // Then...
+    assertThat( "JSON", writer.toString(), is( "\"\\\"Tab\\t\\\\Quote\\u0001\\\"é\""));
+    }
+
+  private HttpResponse<String> get( String path, Object... args) throws Exception
+    {
+    InetSocketAddress address = server_.getAddress();
+    URI uri = new URI( String.format( "http://%s:%s%s", address.getHostString(), address.getPort(), String.format( path, args)));
+    return client_.send( HttpRequest.newBuilder( uri).build(), HttpResponse.BodyHandlers.ofString( UTF_8));
+    }
+
+  private String encoded( String value)
+    {
+    return URLEncoder.encode( value, UTF_8);
+    }
+
+  private List<String> lines( HttpResponse<String> response)
+    {
+    return Arrays.stream( response.body().split( "\n")).filter( line -> !line.isEmpty()).collect( toList());
+    }
+
+  private RegExpGenServer server_;
+  private HttpClient client_;
+  }